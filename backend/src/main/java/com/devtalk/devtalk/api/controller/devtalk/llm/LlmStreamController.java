@@ -1,14 +1,18 @@
 package com.devtalk.devtalk.api.controller.devtalk.llm;
 
 import com.devtalk.devtalk.service.llm.AiStreamService;
+import com.devtalk.devtalk.service.llm.stream.StreamResume;
 import java.time.Duration;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.publisher.Flux;
 
 @RestController
 @RequestMapping(("/api/devtalk/sessions"))
@@ -19,11 +23,39 @@ public class LlmStreamController {
         this.aiStreamService = aiStreamService;
     }
 
+    // coalesce=false: delta를 모으지 않고 바로 전송 (지연에 민감한 클라이언트용)
+    // generationId(+ Last-Event-ID 헤더): 끊긴 생성에 다시 붙어서 못 받은 delta만 받음 (새 생성 X)
+    // Last-Event-ID만 있으면(EventSource 자동 재연결) 같은 질문의 진행 중 생성에 그 다음 delta부터 붙음
+    // replyToUserMessageId: 프론트(EventSource)가 쓰는 replyTo의 다른 이름
     @GetMapping(value = "/{sessionId}/ai/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public SseEmitter stream(@PathVariable String sessionId, @RequestParam(required = false) String replyTo) {
+    public SseEmitter stream(
+        @PathVariable String sessionId,
+        @RequestParam(required = false) String replyTo,
+        @RequestParam(required = false) String replyToUserMessageId,
+        @RequestParam(defaultValue = "true") boolean coalesce,
+        @RequestParam(required = false) String generationId,
+        @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
         // 3분 타임아웃(프론트가 끊기면 자동 종료됨)
         SseEmitter emitter = new SseEmitter(Duration.ofMinutes(3).toMillis());
-        aiStreamService.streamAi(sessionId, replyTo, emitter);
+        aiStreamService.streamAi(sessionId, replyTo(replyTo, replyToUserMessageId), coalesce, StreamResume.of(generationId, lastEventId), emitter);
         return emitter;
     }
+
+    // 리액티브 모드: 스트림마다 ai-stream 풀 스레드를 점유하지 않음
+    @GetMapping(value = "/{sessionId}/ai/stream/reactive", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> streamReactive(
+        @PathVariable String sessionId,
+        @RequestParam(required = false) String replyTo,
+        @RequestParam(required = false) String replyToUserMessageId,
+        @RequestParam(defaultValue = "true") boolean coalesce,
+        @RequestParam(required = false) String generationId,
+        @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        return aiStreamService.streamAiReactive(sessionId, replyTo(replyTo, replyToUserMessageId), coalesce, StreamResume.of(generationId, lastEventId));
+    }
+
+    private static String replyTo(String replyTo, String replyToUserMessageId) {
+        return (replyTo != null && !replyTo.isBlank()) ? replyTo : replyToUserMessageId;
+    }
 }
@@ -1,6 +1,7 @@
 package com.devtalk.devtalk.api.controller.devtalk.message;
 
 import com.devtalk.devtalk.api.dto.request.SendMessageRequest;
+import com.devtalk.devtalk.api.dto.response.MessagePageResponse;
 import com.devtalk.devtalk.api.dto.response.MessageResponse;
 import com.devtalk.devtalk.service.message.MessageService;
 import java.util.List;
@@ -10,6 +11,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -30,4 +32,15 @@ public class MessageController {
     public ResponseEntity<List<MessageResponse>> getAllMessage(@PathVariable("sessionId")String sessionId){
         return ResponseEntity.ok(messageService.getAll(sessionId));
     }
+
+    // limit 파라미터가 있으면 커서 페이지 조회 (?limit=50&cursor=...&direction=older|newer)
+    @GetMapping(value = "/{sessionId}/messages", params = "limit")
+    public ResponseEntity<MessagePageResponse> getMessagePage(
+        @PathVariable("sessionId")String sessionId,
+        @RequestParam("limit") int limit,
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @RequestParam(value = "direction", required = false) String direction
+    ){
+        return ResponseEntity.ok(messageService.getPage(sessionId, cursor, limit, direction));
+    }
 }
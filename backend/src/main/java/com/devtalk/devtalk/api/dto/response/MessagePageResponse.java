@@ -0,0 +1,19 @@
+package com.devtalk.devtalk.api.dto.response;
+
+import com.devtalk.devtalk.domain.message.MessagePage;
+import java.util.List;
+
+public record MessagePageResponse(
+    List<MessageResponse> messages,
+    String nextCursor,
+    boolean hasMore
+) {
+
+    public static MessagePageResponse from(MessagePage page){
+        return new MessagePageResponse(
+            page.messages().stream().map(MessageResponse::from).toList(),
+            (page.nextCursor() != null) ? page.nextCursor().encode() : null,
+            page.hasMore()
+        );
+    }
+}
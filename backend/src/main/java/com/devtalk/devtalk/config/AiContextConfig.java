@@ -1,29 +1,106 @@
 package com.devtalk.devtalk.config;
 
+import com.devtalk.devtalk.service.llm.context.ContextSnapshotService;
+import com.devtalk.devtalk.service.llm.context.HierarchicalSummarizer;
 import com.devtalk.devtalk.service.llm.context.LlmPromptComposer;
-import com.devtalk.devtalk.domain.llm.context.DefaultTailSelector;
+import com.devtalk.devtalk.service.llm.context.SessionSummaryService;
+import com.devtalk.devtalk.service.llm.context.SummaryScheduler;
+import com.devtalk.devtalk.service.llm.context.TokenEstimatorCalibrator;
+import com.devtalk.devtalk.domain.llm.LlmClient;
+import com.devtalk.devtalk.domain.llm.context.HierarchicalSummaryPolicy;
+import com.devtalk.devtalk.domain.llm.context.RecentTailSelector;
+import com.devtalk.devtalk.domain.llm.context.ScriptTokenEstimator;
 import com.devtalk.devtalk.domain.llm.context.SessionSummaryStore;
+import com.devtalk.devtalk.domain.llm.context.SummaryChunkStore;
 import com.devtalk.devtalk.domain.llm.context.SummaryPolicy;
-import com.devtalk.devtalk.domain.llm.context.TailSelector;
 import com.devtalk.devtalk.domain.llm.context.TailSelectorPolicy;
+import com.devtalk.devtalk.domain.llm.context.TokenEstimator;
+import com.devtalk.devtalk.domain.message.MessageRepository;
+import com.devtalk.devtalk.infra.persistence.CachingSessionSummaryStore;
+import com.devtalk.devtalk.infra.persistence.JdbcSessionSummaryStore;
+import com.devtalk.devtalk.infra.persistence.JdbcTokenCalibrationSamples;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 @Configuration
 public class AiContextConfig {
+    // 오프라인 토큰 추정기 (문자 종류별 가중치, 저장된 실제 토큰 수로 주기 보정)
     @Bean
-    public TailSelectorPolicy tailSelectorPolicy() {
-        return TailSelectorPolicy.defaultPolicy();
+    public ScriptTokenEstimator tokenEstimator() {
+        return new ScriptTokenEstimator();
     }
 
     @Bean
-    public TailSelector tailSelector(TailSelectorPolicy policy) {
-        return new DefaultTailSelector(policy);
+    @ConditionalOnProperty(name = "devtalk.token-estimator.calibration.enabled", havingValue = "true", matchIfMissing = true)
+    public TokenEstimatorCalibrator tokenEstimatorCalibrator(
+        ScriptTokenEstimator tokenEstimator,
+        JdbcTokenCalibrationSamples samples,
+        @Value("${devtalk.token-estimator.calibration.sample-size:500}") int sampleSize,
+        @Value("${devtalk.token-estimator.calibration.interval-ms:3600000}") long intervalMs,
+        MeterRegistry meterRegistry
+    ) {
+        return new TokenEstimatorCalibrator(tokenEstimator, samples, sampleSize, Duration.ofMillis(intervalMs), meterRegistry);
     }
 
+    // max-tokens > 0 이면 글자 수 예산과 함께 추정 토큰 예산도 적용
     @Bean
-    public SummaryPolicy summaryPolicy() {
-        return SummaryPolicy.defaults();
+    public TailSelectorPolicy tailSelectorPolicy(
+        @Value("${devtalk.context.tail.max-messages:12}") int maxMessages,
+        @Value("${devtalk.context.tail.max-chars:6000}") int maxChars,
+        @Value("${devtalk.context.tail.max-tokens:0}") int maxTokens
+    ) {
+        return new TailSelectorPolicy(maxMessages, maxChars, maxTokens);
+    }
+
+    // 최신 메시지부터 예산만큼만 읽는 구현 (히스토리 전체를 받는 selectTail도 그대로 지원)
+    // ContextSnapshotService가 저장소 스캔 메서드를 쓰므로 구체 타입으로 노출
+    @Bean
+    public RecentTailSelector tailSelector(TailSelectorPolicy policy, TokenEstimator tokenEstimator, MessageRepository messageRepository) {
+        return new RecentTailSelector(policy, tokenEstimator, messageRepository);
+    }
+
+    @Bean
+    public SummaryPolicy summaryPolicy(
+        @Value("${devtalk.summary.hard-max-tokens:0}") int hardMaxTokens
+    ) {
+        SummaryPolicy d = SummaryPolicy.defaults();
+        return new SummaryPolicy(d.promptMaxChars(), d.hardMaxChars(), d.keepTailMessages(), d.minDeltaMessages(), hardMaxTokens);
+    }
+
+    @Bean
+    public HierarchicalSummaryPolicy hierarchicalSummaryPolicy(
+        @Value("${devtalk.summary.hierarchical.enabled:false}") boolean enabled,
+        @Value("${devtalk.summary.hierarchical.chunk-messages:40}") int chunkMessages,
+        @Value("${devtalk.summary.hierarchical.fanout:4}") int fanout,
+        @Value("${devtalk.summary.hierarchical.parallelism:2}") int parallelism
+    ) {
+        return new HierarchicalSummaryPolicy(enabled, chunkMessages, fanout, parallelism);
+    }
+
+    /**
+     * chunk 요약 전용 executor (동시에 나가는 chunk 요약 LLM 호출 수 = parallelism)
+     * 세션 단위 실행은 SummaryScheduler가 나누고, 여기서는 한 세션의 chunk들만 병렬로 처리
+     */
+    @Bean
+    public HierarchicalSummarizer hierarchicalSummarizer(
+        MessageRepository messageRepository,
+        LlmClient llmClient,
+        SummaryChunkStore summaryChunkStore,
+        HierarchicalSummaryPolicy policy,
+        SummaryPolicy summaryPolicy
+    ) {
+        ThreadPoolTaskExecutor ex = new ThreadPoolTaskExecutor();
+        ex.setCorePoolSize(policy.parallelism());
+        ex.setMaxPoolSize(policy.parallelism());
+        ex.setThreadNamePrefix("summary-chunk-");
+        ex.initialize();
+        return new HierarchicalSummarizer(messageRepository, llmClient, summaryChunkStore, policy, summaryPolicy.promptMaxChars(), ex);
     }
 
 //    @Bean
@@ -31,8 +108,53 @@ public class AiContextConfig {
 //        return new InMemorySessionSummaryStore();
 //    }
 
+    // 요약 상태 조회를 메모리에서 (다른 노드가 쓴 상태는 ttl 안에 반영)
+    @Bean
+    @Primary
+    public SessionSummaryStore cachingSessionSummaryStore(
+        JdbcSessionSummaryStore jdbcSessionSummaryStore,
+        @Value("${devtalk.persistence.summary-cache.ttl-ms:30000}") long ttlMs,
+        @Value("${devtalk.persistence.summary-cache.max-entries:10000}") int maxEntries,
+        MeterRegistry meterRegistry
+    ) {
+        return new CachingSessionSummaryStore(jdbcSessionSummaryStore, Duration.ofMillis(ttlMs), maxEntries, meterRegistry);
+    }
+
+    /**
+     * 요약 갱신 전용 executor (응답 생성 풀과 분리, 큐가 차면 요청을 버림)
+     */
+    @Bean
+    public SummaryScheduler summaryScheduler(
+        SessionSummaryService sessionSummaryService,
+        @Value("${devtalk.summary.executor.core-size:1}") int coreSize,
+        @Value("${devtalk.summary.executor.max-size:2}") int maxSize,
+        @Value("${devtalk.summary.executor.queue-capacity:256}") int queueCapacity,
+        MeterRegistry meterRegistry
+    ) {
+        ThreadPoolTaskExecutor ex = new ThreadPoolTaskExecutor();
+        ex.setCorePoolSize(coreSize);
+        ex.setMaxPoolSize(maxSize);
+        ex.setQueueCapacity(queueCapacity);
+        ex.setThreadNamePrefix("summary-");
+        ex.initialize();
+        return new SummaryScheduler(sessionSummaryService, ex, meterRegistry);
+    }
+
     @Bean
     public LlmPromptComposer llmPromptComposer() {
         return new LlmPromptComposer();
     }
+
+    // 세션별 컨텍스트 스냅샷 (메시지 추가/요약 변경 시 증분 갱신)
+    @Bean
+    public ContextSnapshotService contextSnapshotService(
+        MessageRepository messageRepository,
+        RecentTailSelector tailSelector,
+        SessionSummaryStore sessionSummaryStore,
+        LlmPromptComposer llmPromptComposer,
+        @Value("${devtalk.context.snapshot.max-entries:10000}") int maxEntries,
+        MeterRegistry meterRegistry
+    ) {
+        return new ContextSnapshotService(messageRepository, tailSelector, sessionSummaryStore, llmPromptComposer, maxEntries, meterRegistry);
+    }
 }
@@ -1,54 +1,312 @@
 package com.devtalk.devtalk.config;
 
+import com.devtalk.devtalk.infra.llm.AdaptiveLlmLimiter;
+import com.devtalk.devtalk.infra.llm.CachingLlmClient;
+import com.devtalk.devtalk.infra.llm.CircuitBreakingLlmClient;
+import com.devtalk.devtalk.infra.llm.CircuitBreakingLlmStreamClient;
 import com.devtalk.devtalk.infra.llm.GeminiHttpClient;
 import com.devtalk.devtalk.infra.llm.GeminiStreamClient;
+import com.devtalk.devtalk.infra.llm.HedgingLlmClient;
+import com.devtalk.devtalk.infra.llm.LimitedLlmClient;
+import com.devtalk.devtalk.infra.llm.LimitedLlmStreamClient;
+import com.devtalk.devtalk.infra.llm.LlmBackendSelector;
+import com.devtalk.devtalk.infra.llm.LlmCircuitBreaker;
+import com.devtalk.devtalk.infra.llm.LlmConnectionPoolMetrics;
+import com.devtalk.devtalk.infra.llm.LlmRouterSettings;
 import com.devtalk.devtalk.infra.llm.MockLlmClient;
+import com.devtalk.devtalk.infra.llm.RoutingLlmClient;
+import com.devtalk.devtalk.infra.llm.RoutingLlmStreamClient;
+import com.devtalk.devtalk.infra.persistence.JdbcLlmResponseStore;
 import com.devtalk.devtalk.domain.llm.LlmClient;
+import com.devtalk.devtalk.domain.llm.LlmFailureCode;
+import com.devtalk.devtalk.domain.llm.LlmOptions;
+import com.devtalk.devtalk.domain.llm.LlmResponseStore;
 import com.devtalk.devtalk.domain.llm.LlmStreamClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 import tools.jackson.databind.ObjectMapper;
 
 @Configuration
 public class LlmConfig {
 
+    /**
+     * Gemini 호출 공용 커넥션 풀 (블로킹 생성/요약 RestClient + 스트리밍 WebClient가 같이 사용)
+     * - max-connections: 원격 주소당 최대 커넥션, 다 쓰면 pending-acquire-max까지 대기
+     * - max-idle-ms: 이만큼 쓰이지 않은 커넥션은 닫음 (서버/LB가 먼저 끊기 전에 정리)
+     * - max-life-ms: 커넥션 최대 수명 (DNS 변경 반영)
+     * - evict-interval-ms: 백그라운드에서 idle/수명 초과 커넥션 정리 주기
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider geminiConnectionProvider(
+        @Value("${llm.gemini.pool.max-connections:100}") int maxConnections,
+        @Value("${llm.gemini.pool.pending-acquire-max:500}") int pendingAcquireMax,
+        @Value("${llm.gemini.pool.pending-acquire-timeout-ms:3000}") long pendingAcquireTimeoutMs,
+        @Value("${llm.gemini.pool.max-idle-ms:30000}") long maxIdleMs,
+        @Value("${llm.gemini.pool.max-life-ms:300000}") long maxLifeMs,
+        @Value("${llm.gemini.pool.evict-interval-ms:10000}") long evictIntervalMs,
+        MeterRegistry meterRegistry
+    ) {
+        LlmConnectionPoolMetrics metrics = new LlmConnectionPoolMetrics(meterRegistry);
+        return ConnectionProvider.builder("gemini")
+            .maxConnections(maxConnections)
+            .pendingAcquireMaxCount(pendingAcquireMax)
+            .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+            .maxIdleTime(Duration.ofMillis(maxIdleMs))
+            .maxLifeTime(Duration.ofMillis(maxLifeMs))
+            .evictInBackground(Duration.ofMillis(evictIntervalMs))
+            .metrics(true, () -> metrics)
+            .build();
+    }
+
+    /**
+     * http2=true: TLS ALPN으로 HTTP/2를 협상하고 안 되면 HTTP/1.1 (base-url이 https일 때만)
+     * 응답 타임아웃은 용도별로 다르므로 여기서 걸지 않음 (RestClient read-timeout / WebClient stream-response-timeout)
+     */
+    @Bean
+    public HttpClient geminiHttpClient(
+        ConnectionProvider geminiConnectionProvider,
+        @Value("${llm.gemini.connect-timeout-ms:3000}") int connectTimeoutMs,
+        @Value("${llm.gemini.http2:false}") boolean http2
+    ) {
+        HttpClient httpClient = HttpClient.create(geminiConnectionProvider)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+            .keepAlive(true);
+
+        if (http2) {
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11).secure();
+        }
+        return httpClient;
+    }
+
+    /**
+     * llm.gemini.http-client
+     * - pooled(기본): geminiHttpClient 풀 공유 (keep-alive로 TLS 핸드셰이크 재사용)
+     * - simple: HttpURLConnection 기반 (이전 동작)
+     */
     @Bean
     public RestClient geminiRestClient(
+        HttpClient geminiHttpClient,
+        @Value("${llm.gemini.http-client:pooled}") String httpClientMode,
         @Value("${llm.gemini.base-url:https://generativelanguage.googleapis.com}") String baseUrl,
         @Value("${llm.gemini.connect-timeout-ms:3000}") long connectTimeoutMs,
         @Value("${llm.gemini.read-timeout-ms:15000}") long readTimeoutMs
     ) {
-        return GeminiHttpClient.buildRestClient(
-            baseUrl,
-            Duration.ofMillis(connectTimeoutMs),
-            Duration.ofMillis(readTimeoutMs)
-        );
+        if ("simple".equalsIgnoreCase(httpClientMode)) {
+            return GeminiHttpClient.buildRestClient(
+                baseUrl,
+                Duration.ofMillis(connectTimeoutMs),
+                Duration.ofMillis(readTimeoutMs)
+            );
+        }
+        return GeminiHttpClient.buildRestClient(baseUrl, geminiHttpClient, Duration.ofMillis(readTimeoutMs));
+    }
+
+    /**
+     * llm.limiter: 블로킹/스트리밍 LLM 호출이 공유하는 적응형 동시 실행/요청 속도 제한
+     * - limit: 동시 실행 상한 (initial에서 시작, 429/지연 증가 시 감소, 성공 시 min~max 안에서 증가)
+     * - rate: 초당 요청 수 (429 시 감소, 성공 시 증가)
+     * - background-share: 요약 등 BACKGROUND 호출이 쓸 수 있는 limit 비율
+     * - *-max-wait-ms: 자리가 날 때까지 기다리는 최대 시간 (넘으면 RATE_LIMIT 실패)
+     */
+    @Bean
+    @ConditionalOnProperty(name = "llm.limiter.enabled", havingValue = "true", matchIfMissing = true)
+    public AdaptiveLlmLimiter llmLimiter(
+        @Value("${llm.limiter.initial-limit:8}") int initialLimit,
+        @Value("${llm.limiter.min-limit:1}") int minLimit,
+        @Value("${llm.limiter.max-limit:64}") int maxLimit,
+        @Value("${llm.limiter.background-share:0.5}") double backgroundShare,
+        @Value("${llm.limiter.initial-rate:5}") double initialRate,
+        @Value("${llm.limiter.min-rate:0.5}") double minRate,
+        @Value("${llm.limiter.max-rate:50}") double maxRate,
+        @Value("${llm.limiter.backoff-ratio:0.5}") double backoffRatio,
+        @Value("${llm.limiter.latency-tolerance:2.0}") double latencyTolerance,
+        @Value("${llm.limiter.decrease-cooldown-ms:1000}") long decreaseCooldownMs,
+        @Value("${llm.limiter.interactive-max-wait-ms:5000}") long interactiveMaxWaitMs,
+        @Value("${llm.limiter.background-max-wait-ms:30000}") long backgroundMaxWaitMs,
+        @Value("${llm.limiter.max-queue:1000}") int maxQueue,
+        MeterRegistry meterRegistry
+    ) {
+        return new AdaptiveLlmLimiter(new AdaptiveLlmLimiter.Settings(
+            initialLimit, minLimit, maxLimit, backgroundShare,
+            initialRate, minRate, maxRate,
+            backoffRatio, latencyTolerance, Duration.ofMillis(decreaseCooldownMs),
+            Duration.ofMillis(interactiveMaxWaitMs), Duration.ofMillis(backgroundMaxWaitMs), maxQueue
+        ), meterRegistry);
     }
 
+    /**
+     * llm.circuit-breaker: 블로킹/스트리밍 LLM 호출이 공유하는 circuit breaker
+     * - 최근 sliding-window개 호출 중 failure-codes 비율이 failure-rate-threshold 이상이면 open-duration-ms 동안 바로 실패
+     * - 이후 half-open-calls개 시험 호출이 모두 성공하면 다시 닫힘
+     */
+    @Bean
+    @ConditionalOnProperty(name = "llm.circuit-breaker.enabled", havingValue = "true", matchIfMissing = true)
+    public LlmCircuitBreaker llmCircuitBreaker(
+        @Value("${llm.circuit-breaker.failure-rate-threshold:0.5}") double failureRateThreshold,
+        @Value("${llm.circuit-breaker.sliding-window:20}") int slidingWindow,
+        @Value("${llm.circuit-breaker.minimum-calls:10}") int minimumCalls,
+        @Value("${llm.circuit-breaker.open-duration-ms:30000}") long openDurationMs,
+        @Value("${llm.circuit-breaker.half-open-calls:3}") int halfOpenCalls,
+        @Value("${llm.circuit-breaker.failure-codes:NETWORK_ERROR,TIMEOUT,PROVIDER_ERROR}") List<LlmFailureCode> failureCodes,
+        MeterRegistry meterRegistry
+    ) {
+        return new LlmCircuitBreaker(new LlmCircuitBreaker.Settings(
+            failureRateThreshold, slidingWindow, minimumCalls,
+            Duration.ofMillis(openDurationMs), halfOpenCalls,
+            Set.copyOf(failureCodes)
+        ), meterRegistry);
+    }
+
+    /**
+     * llm.router: 여러 Gemini 백엔드(모델/키/Gemini 호환 서버)로 요청을 나눔 (llm.mode=gemini일 때만 사용)
+     * - backends: 백엔드 이름 목록, 각 백엔드는 llm.router.backend.<name>.*
+     *   - model (필수), api-key (기본 llm.gemini.api-key), base-url (기본 llm.gemini.base-url)
+     *   - routes: 담당할 LlmOptions.route 목록 (기본 default, 요약은 summary)
+     * - 지연/오류율 EWMA가 좋은 백엔드로 보내고, retryable 실패면 다음 백엔드로 (max-attempts까지)
+     */
+    @Bean
+    @ConditionalOnProperty(name = "llm.router.enabled", havingValue = "true")
+    public LlmRouterSettings llmRouterSettings(
+        Environment environment,
+        @Value("${llm.router.backends:}") List<String> backendNames,
+        @Value("${llm.router.max-attempts:2}") int maxAttempts,
+        @Value("${llm.router.explore-ratio:0.05}") double exploreRatio,
+        @Value("${llm.gemini.api-key:}") String defaultApiKey
+    ) {
+        List<LlmRouterSettings.Backend> backends = new ArrayList<>();
+        for (String raw : backendNames) {
+            String name = raw.trim();
+            if (name.isEmpty()) continue;
+            String prefix = "llm.router.backend." + name + ".";
+            String[] routes = environment.getProperty(prefix + "routes", String[].class, new String[]{LlmOptions.ROUTE_DEFAULT});
+            Set<String> routeSet = new LinkedHashSet<>();
+            for (String r : routes) if (!r.isBlank()) routeSet.add(r.trim());
+            backends.add(new LlmRouterSettings.Backend(
+                name,
+                environment.getProperty(prefix + "model"),
+                environment.getProperty(prefix + "api-key", defaultApiKey),
+                environment.getProperty(prefix + "base-url"),
+                routeSet
+            ));
+        }
+        return new LlmRouterSettings(backends, maxAttempts, exploreRatio);
+    }
+
+    /**
+     * 호출 순서: 캐시 -> hedge -> circuit breaker -> 제한 -> Gemini
+     * - 캐시 적중은 limiter 자리를 쓰지 않음, hedge 요청도 breaker/limiter를 거쳐야 나감
+     * - breaker가 열려 있으면 limiter 대기 없이 바로 실패
+     * - llm.router가 켜져 있으면 Gemini 자리에 백엔드 라우터 (limiter/breaker는 전체 백엔드 합계 기준)
+     * llm.cache: options.cacheable()로 표시한 요청(요약/재압축)의 응답 캐시
+     * - ttl-ms / max-bytes: 메모리 계층
+     * - persistent.enabled: llm_response_cache 테이블에도 저장 (재시작 후 재사용)
+     * llm.hedge: 첫 시도가 최근 지연의 quantile을 넘기면 같은 요청을 한 번 더 보내고 먼저 성공한 쪽 사용
+     * - budget-ratio: 전체 요청 대비 추가 호출 상한
+     * - min-samples / window-ms: delay 계산에 쓰는 최근 성공 지연 샘플 (window 두 개 분량)
+     */
     @Bean
     public LlmClient llmClient(
         RestClient geminiRestClient,
+        JdbcLlmResponseStore jdbcLlmResponseStore,
+        ObjectProvider<AdaptiveLlmLimiter> llmLimiter,
+        ObjectProvider<LlmCircuitBreaker> llmCircuitBreaker,
+        ObjectProvider<LlmRouterSettings> llmRouterSettings,
+        MeterRegistry meterRegistry,
         @Value("${llm.mode:mock}") String mode,
         @Value("${llm.gemini.api-key:}") String apiKey,
         @Value("${llm.gemini.model:}") String model,
-        @Value("${llm.mock.always-fail:false}") boolean mockAlwaysFail
+        @Value("${llm.mock.always-fail:false}") boolean mockAlwaysFail,
+        @Value("${llm.cache.enabled:true}") boolean cacheEnabled,
+        @Value("${llm.cache.ttl-ms:86400000}") long cacheTtlMs,
+        @Value("${llm.cache.max-bytes:16777216}") long cacheMaxBytes,
+        @Value("${llm.cache.persistent.enabled:false}") boolean persistentCache,
+        @Value("${llm.hedge.enabled:false}") boolean hedgeEnabled,
+        @Value("${llm.hedge.quantile:0.95}") double hedgeQuantile,
+        @Value("${llm.hedge.min-delay-ms:500}") long hedgeMinDelayMs,
+        @Value("${llm.hedge.max-delay-ms:10000}") long hedgeMaxDelayMs,
+        @Value("${llm.hedge.budget-ratio:0.05}") double hedgeBudgetRatio,
+        @Value("${llm.hedge.min-samples:50}") int hedgeMinSamples,
+        @Value("${llm.hedge.window-ms:60000}") long hedgeWindowMs
     ) {
-        if ("gemini".equalsIgnoreCase(mode)) {
-            return new GeminiHttpClient(geminiRestClient, apiKey, model);
+        boolean gemini = "gemini".equalsIgnoreCase(mode);
+        LlmRouterSettings router = gemini ? llmRouterSettings.getIfAvailable() : null;
+        LlmClient client;
+        String cacheModel;
+        if (!gemini) {
+            client = new MockLlmClient(mockAlwaysFail);
+            cacheModel = "mock";
+        } else if (router != null) {
+            List<LlmBackendSelector.Backend<LlmClient>> backends = new ArrayList<>();
+            for (LlmRouterSettings.Backend b : router.backends()) {
+                RestClient rest = (b.baseUrl() == null) ? geminiRestClient : geminiRestClient.mutate().baseUrl(b.baseUrl()).build();
+                backends.add(new LlmBackendSelector.Backend<>(b.name(), b.routes(), new GeminiHttpClient(rest, b.apiKey(), b.model())));
+            }
+            client = new RoutingLlmClient(new LlmBackendSelector<>(backends, router.exploreRatio(), "blocking", meterRegistry), router.maxAttempts());
+            cacheModel = router.cacheModel();
+        } else {
+            client = new GeminiHttpClient(geminiRestClient, apiKey, model);
+            cacheModel = model;
+        }
+
+        AdaptiveLlmLimiter limiter = llmLimiter.getIfAvailable();
+        if (limiter != null) client = new LimitedLlmClient(client, limiter);
+        LlmCircuitBreaker breaker = llmCircuitBreaker.getIfAvailable();
+        if (breaker != null) client = new CircuitBreakingLlmClient(client, breaker);
+        if (hedgeEnabled) {
+            client = new HedgingLlmClient(
+                client, hedgeQuantile,
+                Duration.ofMillis(hedgeMinDelayMs), Duration.ofMillis(hedgeMaxDelayMs),
+                hedgeBudgetRatio, hedgeMinSamples, Duration.ofMillis(hedgeWindowMs),
+                meterRegistry
+            );
         }
-        return new MockLlmClient(mockAlwaysFail);
+        if (!cacheEnabled) return client;
+
+        LlmResponseStore store = persistentCache ? jdbcLlmResponseStore : LlmResponseStore.none();
+        return new CachingLlmClient(client, cacheModel, Duration.ofMillis(cacheTtlMs), cacheMaxBytes, store, meterRegistry);
     }
     @Bean
     public LlmStreamClient llmStreamClient(
         WebClient geminiWebClient,
         ObjectMapper objectMapper,
+        ObjectProvider<AdaptiveLlmLimiter> llmLimiter,
+        ObjectProvider<LlmCircuitBreaker> llmCircuitBreaker,
+        ObjectProvider<LlmRouterSettings> llmRouterSettings,
+        MeterRegistry meterRegistry,
         @Value("${LLM_GEMINI_API_KEY}") String apiKey,
         @Value("${LLM_GEMINI_MODEL}") String model
     ) {
-        return new GeminiStreamClient(geminiWebClient, objectMapper ,apiKey, model);
+        LlmRouterSettings router = llmRouterSettings.getIfAvailable();
+        LlmStreamClient client;
+        if (router != null) {
+            List<LlmBackendSelector.Backend<LlmStreamClient>> backends = new ArrayList<>();
+            for (LlmRouterSettings.Backend b : router.backends()) {
+                WebClient web = (b.baseUrl() == null) ? geminiWebClient : geminiWebClient.mutate().baseUrl(b.baseUrl()).build();
+                backends.add(new LlmBackendSelector.Backend<>(b.name(), b.routes(), new GeminiStreamClient(web, objectMapper, b.apiKey(), b.model())));
+            }
+            client = new RoutingLlmStreamClient(new LlmBackendSelector<>(backends, router.exploreRatio(), "stream", meterRegistry), router.maxAttempts());
+        } else {
+            client = new GeminiStreamClient(geminiWebClient, objectMapper ,apiKey, model);
+        }
+        AdaptiveLlmLimiter limiter = llmLimiter.getIfAvailable();
+        if (limiter != null) client = new LimitedLlmStreamClient(client, limiter);
+        LlmCircuitBreaker breaker = llmCircuitBreaker.getIfAvailable();
+        return (breaker != null) ? new CircuitBreakingLlmStreamClient(client, breaker) : client;
     }
 }
@@ -2,8 +2,15 @@ package com.devtalk.devtalk.config;
 
 import com.devtalk.devtalk.domain.message.MessageRepository;
 import com.devtalk.devtalk.domain.session.SessionRepository;
+import com.devtalk.devtalk.infra.persistence.CachingMessageRepository;
+import com.devtalk.devtalk.infra.persistence.JdbcMessageRepository;
+import com.devtalk.devtalk.infra.persistence.WriteBehindMessageRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 
 @Configuration
 public class PersistenceConfig {
@@ -12,9 +19,31 @@ public class PersistenceConfig {
 //    public SessionRepository sessionRepository() {
 //        return new InMemorySessionRepository();
 //    }
-//
-//    @Bean
-//    public MessageRepository messageRepository() {
-//        return new InMemoryMessageRepository();
-//    }
+
+    /**
+     * 서비스가 쓰는 MessageRepository: [cache] -> [write-behind] -> JDBC
+     * - write-behind.enabled: INSERT를 모아서 group commit (종료 시 close()로 남은 행 기록)
+     * - cache.enabled: 세션별 최근 메시지를 메모리에서 읽음 (write-behind의 미커밋 행도 그대로 보임)
+     */
+    @Bean
+    @Primary
+    public MessageRepository messageRepository(
+        JdbcMessageRepository jdbcMessageRepository,
+        @Value("${devtalk.persistence.write-behind.enabled:false}") boolean enabled,
+        @Value("${devtalk.persistence.write-behind.capacity:10000}") int capacity,
+        @Value("${devtalk.persistence.write-behind.batch-size:100}") int batchSize,
+        @Value("${devtalk.persistence.write-behind.flush-interval-ms:20}") long flushIntervalMs,
+        @Value("${devtalk.persistence.write-behind.seq-block-size:32}") int seqBlockSize,
+        @Value("${devtalk.persistence.cache.enabled:true}") boolean cacheEnabled,
+        @Value("${devtalk.persistence.cache.max-bytes:67108864}") long cacheMaxBytes,
+        @Value("${devtalk.persistence.cache.max-session-bytes:4194304}") long cacheMaxSessionBytes,
+        @Value("${devtalk.persistence.cache.load-rows:200}") int cacheLoadRows,
+        MeterRegistry meterRegistry
+    ) {
+        MessageRepository repository = enabled
+            ? new WriteBehindMessageRepository(jdbcMessageRepository, capacity, batchSize, Duration.ofMillis(flushIntervalMs), seqBlockSize, meterRegistry)
+            : jdbcMessageRepository;
+        if (!cacheEnabled) return repository;
+        return new CachingMessageRepository(repository, cacheMaxBytes, cacheMaxSessionBytes, cacheLoadRows, meterRegistry);
+    }
 }
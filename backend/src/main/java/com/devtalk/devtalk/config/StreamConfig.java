@@ -1,9 +1,21 @@
 package com.devtalk.devtalk.config;
 
+import com.devtalk.devtalk.infra.concurrent.AdmissionLimitedTaskExecutor;
+import com.devtalk.devtalk.infra.concurrent.AdmissionLimiter;
+import com.devtalk.devtalk.infra.concurrent.VirtualThreadPinnedMonitor;
+import com.devtalk.devtalk.service.llm.SessionGenerationGuard;
+import com.devtalk.devtalk.service.llm.stream.DeltaCoalescerFactory;
+import com.devtalk.devtalk.service.llm.stream.GenerationCancelPolicy;
+import com.devtalk.devtalk.service.llm.stream.GenerationReplayRegistry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -12,19 +24,68 @@ import reactor.netty.http.client.HttpClient;
 @Configuration
 public class StreamConfig {
 
+    // 커넥션 풀은 geminiRestClient와 공유 (LlmConfig.geminiHttpClient), 응답 타임아웃만 스트리밍용으로 따로
     @Bean
-    public WebClient geminiWebClient() {
-        HttpClient httpClient = HttpClient.create()
-            .responseTimeout(Duration.ofSeconds(60)); // read-timeout 성격
+    public WebClient geminiWebClient(
+        HttpClient geminiHttpClient,
+        @Value("${llm.gemini.base-url:https://generativelanguage.googleapis.com}") String baseUrl,
+        @Value("${llm.gemini.stream-response-timeout-ms:60000}") long responseTimeoutMs
+    ) {
+        HttpClient httpClient = geminiHttpClient
+            .responseTimeout(Duration.ofMillis(responseTimeoutMs)); // read-timeout 성격
 
         return WebClient.builder()
-            .baseUrl("https://generativelanguage.googleapis.com")
+            .baseUrl(baseUrl)
             .clientConnector(new ReactorClientHttpConnector(httpClient))
             .build();
     }
 
+    /**
+     * AI 생성 동시 실행 상한
+     * - virtual 모드: 스트리밍(doStream) + 블로킹 생성(generateAndSave) 모두 이 상한을 공유
+     * - platform 모드: 스트리밍은 풀 크기(8)가 상한, 블로킹 생성만 이 상한 적용
+     */
     @Bean
-    public TaskExecutor taskExecutor() {
+    public AdmissionLimiter aiAdmissionLimiter(
+        @Value("${devtalk.ai.executor.max-concurrent:200}") int maxConcurrent,
+        MeterRegistry meterRegistry
+    ) {
+        AdmissionLimiter limiter = new AdmissionLimiter(maxConcurrent);
+        Gauge.builder("devtalk.ai.executor.in-flight", limiter, AdmissionLimiter::inFlight)
+            .description("AI generations currently admitted")
+            .register(meterRegistry);
+        return limiter;
+    }
+
+    /**
+     * 세션당 AI 생성 1건 (블로킹/스트리밍 공통). 중복 요청은 진행 중인 생성에 합류하거나 409
+     */
+    @Bean
+    public SessionGenerationGuard sessionGenerationGuard(MeterRegistry meterRegistry) {
+        return new SessionGenerationGuard(meterRegistry);
+    }
+
+    /**
+     * devtalk.ai.executor.mode
+     * - platform(기본): 고정 스레드 풀 (core 4, max 8, queue 100)
+     * - virtual: 작업마다 가상 스레드 + 세마포어 입장 제한
+     *
+     * virtual 모드에서 블로킹 구간 점검 결과
+     * - CountDownLatch.await: AQS(LockSupport.park) 기반이라 캐리어를 고정하지 않음
+     * - JdbcTemplate + HikariCP: 커넥션 획득/반납 경로에 synchronized 없음
+     * - MySQL Connector/J 9.x: 내부 synchronized가 ReentrantLock으로 교체됨
+     * - 재전송 버퍼/delta 병합/래치 대기 경로는 VirtualThreadPinningBenchmarkTest가 JFR로 고정 0건을 확인
+     * 그 외 라이브러리의 synchronized 구간은 devtalk.vthread.pinned 메트릭과 고정 위치 WARN 로그로 감시
+     */
+    @Bean
+    public TaskExecutor taskExecutor(
+        @Value("${devtalk.ai.executor.mode:platform}") String mode,
+        AdmissionLimiter aiAdmissionLimiter
+    ) {
+        if ("virtual".equalsIgnoreCase(mode)) {
+            return new AdmissionLimitedTaskExecutor(new VirtualThreadTaskExecutor("ai-vt-"), aiAdmissionLimiter);
+        }
+
         ThreadPoolTaskExecutor ex = new ThreadPoolTaskExecutor();
         ex.setCorePoolSize(4);
         ex.setMaxPoolSize(8);
@@ -34,4 +95,57 @@ public class StreamConfig {
         return ex;
     }
 
+    /**
+     * SSE delta 병합: max-bytes 이상 모이거나 max-delay-ms가 지나면 flush (먼저 오는 쪽)
+     * 둘 중 하나라도 0 이하면 비활성화
+     */
+    @Bean
+    public DeltaCoalescerFactory deltaCoalescerFactory(
+        @Value("${devtalk.stream.coalesce.max-bytes:512}") int maxBytes,
+        @Value("${devtalk.stream.coalesce.max-delay-ms:30}") long maxDelayMs,
+        MeterRegistry meterRegistry
+    ) {
+        return new DeltaCoalescerFactory(maxBytes, maxDelayMs, meterRegistry);
+    }
+
+    /**
+     * 모든 SSE 연결이 끊긴 생성 처리
+     * - on-disconnect=finish(기본): 끝까지 생성해서 저장 (기존 동작)
+     * - on-disconnect=cancel: grace-ms 동안 재연결이 없으면 Gemini 스트림까지 취소, 저장하지 않음 (명시적으로 켤 때만)
+     */
+    @Bean
+    public GenerationCancelPolicy generationCancelPolicy(
+        @Value("${devtalk.stream.on-disconnect:finish}") String mode,
+        @Value("${devtalk.stream.cancel-grace-ms:10000}") long graceMs,
+        MeterRegistry meterRegistry
+    ) {
+        return new GenerationCancelPolicy(GenerationCancelPolicy.parseMode(mode), Duration.ofMillis(graceMs), meterRegistry);
+    }
+
+    /**
+     * 재연결(Last-Event-ID)용 생성별 delta 보관
+     * - ttl-seconds: 완료 후 보관 시간
+     * - max-total-bytes: 전체 보관 바이트 상한 (넘으면 오래된 생성부터 제거)
+     * - max-events-per-generation: 생성 1건당 보관 delta 개수 상한
+     */
+    @Bean
+    public GenerationReplayRegistry generationReplayRegistry(
+        @Value("${devtalk.stream.replay.ttl-seconds:120}") long ttlSeconds,
+        @Value("${devtalk.stream.replay.max-total-bytes:67108864}") long maxTotalBytes,
+        @Value("${devtalk.stream.replay.max-events-per-generation:20000}") int maxEventsPerGeneration,
+        GenerationCancelPolicy generationCancelPolicy,
+        MeterRegistry meterRegistry
+    ) {
+        return new GenerationReplayRegistry(Duration.ofSeconds(ttlSeconds), maxTotalBytes, maxEventsPerGeneration, generationCancelPolicy, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "devtalk.ai.executor.mode", havingValue = "virtual")
+    public VirtualThreadPinnedMonitor virtualThreadPinnedMonitor(
+        MeterRegistry meterRegistry,
+        @Value("${devtalk.ai.executor.pinned-threshold-ms:20}") long thresholdMs
+    ) {
+        return new VirtualThreadPinnedMonitor(meterRegistry, Duration.ofMillis(thresholdMs));
+    }
+
 }
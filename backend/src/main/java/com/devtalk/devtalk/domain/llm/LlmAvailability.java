@@ -0,0 +1,15 @@
+package com.devtalk.devtalk.domain.llm;
+
+/**
+ * LLM 제공자를 지금 호출해도 되는지 (circuit breaker가 열려 있으면 false)
+ * - 미뤄도 되는 작업(요약 등)은 호출 전에 확인하고 건너뜀
+ */
+public interface LlmAvailability {
+
+    boolean acceptingCalls();
+
+    // circuit breaker 없이 항상 호출
+    static LlmAvailability always() {
+        return () -> true;
+    }
+}
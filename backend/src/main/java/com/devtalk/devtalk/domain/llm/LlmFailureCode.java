@@ -7,5 +7,6 @@ public enum LlmFailureCode {
     INVALID_REQUEST, // 잘못된 요청, 비어있는 프롬프트
     PROVIDER_ERROR,  // Google 오류 등등
     TIMEOUT,         // 응답시간 초과
+    CIRCUIT_OPEN,    // 제공자 장애로 circuit breaker가 열려 호출하지 않음
     UNKNOWN          // 위의 상황을 제외한 경우
 }
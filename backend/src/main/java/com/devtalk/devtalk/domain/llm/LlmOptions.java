@@ -22,9 +22,61 @@ public record LlmOptions(
      * - 로그로 남기기에 적절한 크기 유지
      *
      */
-    Integer maxTokens
+    Integer maxTokens,
+    /**
+     * cacheable
+     *
+     * 같은 요청(모델, 시스템 프롬프트, 메시지, temperature/maxTokens)이면 저장된 응답을 재사용해도 되는지
+     *
+     * - 호출하는 쪽에서 명시적으로 켬 (요약/재압축처럼 재시도 시 같은 요청이 다시 나가는 경우)
+     * - 사용자 답변 생성은 끔 (재생성 요청은 새 응답을 기대)
+     */
+    boolean cacheable,
+    /**
+     * priority
+     *
+     * 클라이언트 측 동시 실행 제한에서의 우선순위
+     *
+     * - INTERACTIVE(기본): 사용자가 기다리는 요청, 먼저 처리
+     * - BACKGROUND: 요약 등, 남는 자리에서만 실행하고 더 오래 기다릴 수 있음
+     */
+    LlmPriority priority,
+    /**
+     * route
+     *
+     * 여러 LLM 백엔드를 쓸 때 이 요청을 보낼 백엔드 묶음 이름 (llm.router.backend.<name>.routes)
+     *
+     * - ROUTE_DEFAULT(기본): 사용자 답변 생성 (큰 모델)
+     * - ROUTE_SUMMARY: 요약/재압축 (작고 빠른 모델)
+     * - 백엔드가 하나뿐이면 무시됨
+     */
+    String route
 ) {
+    public static final String ROUTE_DEFAULT = "default";
+    public static final String ROUTE_SUMMARY = "summary";
+
+    public LlmOptions {
+        if (priority == null) priority = LlmPriority.INTERACTIVE;
+        if (route == null || route.isBlank()) route = ROUTE_DEFAULT;
+    }
+
+    public LlmOptions(Double temperature, Integer maxTokens) {
+        this(temperature, maxTokens, false, LlmPriority.INTERACTIVE, ROUTE_DEFAULT);
+    }
+
     public static LlmOptions defaults() {
         return new LlmOptions(0.2, 65536);
     }
+
+    public LlmOptions withCache() {
+        return new LlmOptions(temperature, maxTokens, true, priority, route);
+    }
+
+    public LlmOptions inBackground() {
+        return new LlmOptions(temperature, maxTokens, cacheable, LlmPriority.BACKGROUND, route);
+    }
+
+    public LlmOptions routedTo(String route) {
+        return new LlmOptions(temperature, maxTokens, cacheable, priority, route);
+    }
 }
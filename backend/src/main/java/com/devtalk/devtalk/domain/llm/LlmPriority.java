@@ -0,0 +1,7 @@
+package com.devtalk.devtalk.domain.llm;
+
+// LLM 호출 우선순위 (클라이언트 측 동시 실행 제한에서 대기 순서/허용량 결정)
+public enum LlmPriority {
+    INTERACTIVE, // 사용자가 기다리는 답변 생성/스트리밍
+    BACKGROUND   // 세션 요약 등 응답 경로 밖 작업
+}
@@ -0,0 +1,29 @@
+package com.devtalk.devtalk.domain.llm;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * LLM 응답 캐시의 영속 계층 (재시작 후에도 남는 캐시)
+ * - key: 요청 내용의 해시 (CachingLlmClient가 계산)
+ */
+public interface LlmResponseStore {
+
+    Optional<LlmResult.Success> find(String key, Instant now);
+
+    void save(String key, LlmResult.Success result, Instant expiresAt);
+
+    // 영속 계층 없이 메모리 캐시만 사용할 때
+    static LlmResponseStore none() {
+        return new LlmResponseStore() {
+            @Override
+            public Optional<LlmResult.Success> find(String key, Instant now) {
+                return Optional.empty();
+            }
+
+            @Override
+            public void save(String key, LlmResult.Success result, Instant expiresAt) {
+            }
+        };
+    }
+}
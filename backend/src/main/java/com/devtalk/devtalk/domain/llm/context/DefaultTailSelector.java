@@ -10,10 +10,16 @@ import java.util.Objects;
 
 public class DefaultTailSelector implements TailSelector {
 
-    private final TailSelectorPolicy policy;
+    protected final TailSelectorPolicy policy;
+    protected final TokenEstimator tokenEstimator;
 
     public DefaultTailSelector(TailSelectorPolicy policy) {
+        this(policy, new ScriptTokenEstimator());
+    }
+
+    public DefaultTailSelector(TailSelectorPolicy policy, TokenEstimator tokenEstimator) {
         this.policy = Objects.requireNonNull(policy, "policy must not be null");
+        this.tokenEstimator = Objects.requireNonNull(tokenEstimator, "tokenEstimator must not be null");
     }
 
     @Override
@@ -21,29 +27,61 @@ public class DefaultTailSelector implements TailSelector {
         Objects.requireNonNull(historyInOrder, "historyInOrder must not be null");
         Objects.requireNonNull(latestUser, "latestUser must not be null");
 
-        int usedChars = 0;
-        int usedMessages = 0;
-
-        Deque<Message> selected = new ArrayDeque<>();
+        TailBudget budget = new TailBudget(policy, tokenEstimator, latestUser);
 
         for (int i = historyInOrder.size() - 1; i >= 0; i--) {
-            Message m = historyInOrder.get(i);
-            if (!shouldInclude(m, latestUser)) continue;
+            if (!budget.offer(historyInOrder.get(i))) break;
+        }
+
+        return budget.selected();
+    }
+
+    /**
+     * 최신 -> 오래된 순으로 메시지를 받아 예산(개수/글자 수/추정 토큰 수) 안에서 tail을 채움
+     */
+    static final class TailBudget {
+        private final TailSelectorPolicy policy;
+        private final TokenEstimator tokenEstimator;
+        private final Message latestUser;
+        private final Deque<Message> selected = new ArrayDeque<>();
+        private int usedChars = 0;
+        private int usedTokens = 0;
+        private int usedMessages = 0;
+
+        TailBudget(TailSelectorPolicy policy, TokenEstimator tokenEstimator, Message latestUser) {
+            this.policy = policy;
+            this.tokenEstimator = tokenEstimator;
+            this.latestUser = latestUser;
+        }
+
+        // false면 예산 초과 -> 더 오래된 메시지는 볼 필요 없음
+        boolean offer(Message m) {
+            if (!shouldInclude(m, latestUser)) return true;
 
             int add = estimateChars(m);
 
-            if (usedMessages + 1 > policy.maxMessages()) break;
-            if (usedChars + add > policy.maxChars()) break;
+            if (usedMessages + 1 > policy.maxMessages()) return false;
+            if (usedChars + add > policy.maxChars()) return false;
+
+            int tokens = 0;
+            if (policy.maxTokens() > 0) {
+                tokens = tokenEstimator.estimate(m.getContent()) + TokenEstimator.MESSAGE_OVERHEAD_TOKENS;
+                if (usedTokens + tokens > policy.maxTokens()) return false;
+            }
 
             selected.addFirst(m);
             usedMessages++;
             usedChars += add;
+            usedTokens += tokens;
+            return true;
         }
 
-        return List.copyOf(selected);
+        List<Message> selected() {
+            return List.copyOf(selected);
+        }
     }
 
-    private boolean shouldInclude(Message m, Message latestUser) {
+    private static boolean shouldInclude(Message m, Message latestUser) {
         if (m.getRole() == MessageRole.SYSTEM) return false;                // SYSTEM 제외
         if (m.getStatus() != MessageStatus.SUCCESS) return false;           // FAILED 제외
         if (m.getMessageId().equals(latestUser.getMessageId())) return false;  // latestUser 제외
@@ -51,7 +89,7 @@ public class DefaultTailSelector implements TailSelector {
     }
 
     // 컨텍스트 여유 공간 확보
-    private int estimateChars(Message m) {
+    private static int estimateChars(Message m) {
         String content = (m.getContent() == null) ? "" : m.getContent();
         return content.length() + 32;
     }
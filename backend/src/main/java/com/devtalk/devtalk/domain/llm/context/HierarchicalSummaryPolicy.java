@@ -0,0 +1,18 @@
+package com.devtalk.devtalk.domain.llm.context;
+
+public record HierarchicalSummaryPolicy(
+    boolean enabled,      // false면 기존 방식 (기존 요약 + 새 구간 전체를 한 번에)
+    int chunkMessages,    // leaf 하나에 들어가는 메시지 수
+    int fanout,           // 이만큼 모이면 상위 노드 하나로 합침
+    int parallelism       // 동시에 실행하는 chunk 요약 LLM 호출 수 (전체 세션 공유)
+) {
+    public HierarchicalSummaryPolicy {
+        if (chunkMessages < 1) throw new IllegalArgumentException("chunkMessages must be positive");
+        if (fanout < 2) throw new IllegalArgumentException("fanout must be at least 2");
+        if (parallelism < 1) throw new IllegalArgumentException("parallelism must be positive");
+    }
+
+    public static HierarchicalSummaryPolicy disabled() {
+        return new HierarchicalSummaryPolicy(false, 40, 4, 2);
+    }
+}
@@ -0,0 +1,38 @@
+package com.devtalk.devtalk.domain.llm.context;
+
+import com.devtalk.devtalk.domain.message.Message;
+import com.devtalk.devtalk.domain.message.MessageRepository;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 저장소에서 최신 컨텍스트 후보만 역순으로 읽어 tail을 고르는 TailSelector
+ * - 선택 규칙/예산은 DefaultTailSelector와 동일
+ * - 읽는 행 수는 최대 maxMessages + 1 (latestUser 자리), 예산이 차면 그 전에 멈춤
+ *   => 비용이 세션 길이가 아니라 tail 예산에 비례
+ */
+public class RecentTailSelector extends DefaultTailSelector {
+
+    private final MessageRepository messageRepository;
+
+    public RecentTailSelector(TailSelectorPolicy policy, MessageRepository messageRepository) {
+        this(policy, new ScriptTokenEstimator(), messageRepository);
+    }
+
+    public RecentTailSelector(TailSelectorPolicy policy, TokenEstimator tokenEstimator, MessageRepository messageRepository) {
+        super(policy, tokenEstimator);
+        this.messageRepository = Objects.requireNonNull(messageRepository, "messageRepository must not be null");
+    }
+
+    /**
+     * 전체 히스토리 없이 세션의 최신 메시지부터 읽어서 선택
+     */
+    public List<Message> selectTail(String sessionId, Message latestUser) {
+        Objects.requireNonNull(sessionId, "sessionId must not be null");
+        Objects.requireNonNull(latestUser, "latestUser must not be null");
+
+        TailBudget budget = new TailBudget(policy, tokenEstimator, latestUser);
+        messageRepository.scanRecentContext(sessionId, policy.maxMessages() + 1, budget::offer);
+        return budget.selected();
+    }
+}
@@ -0,0 +1,256 @@
+package com.devtalk.devtalk.domain.llm.context;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 문자 종류(스크립트)별 가중치로 토큰 수를 추정하는 TokenEstimator
+ * - 한 번 훑으면서 특성을 셈: 한글 음절, 라틴 단어/글자, 숫자, 기호, 코드 블록(```) 안의 단어/기호, 줄바꿈/들여쓰기, 그 외(한자/이모지 등)
+ * - 추정값 = Σ 가중치 × 특성 수
+ * - calibrate: 실제 토큰 수가 있는 샘플로 가중치를 다시 맞춤 (기본값 쪽으로 당기는 ridge 회귀)
+ *   검증용으로 떼어 둔 샘플에서 오차가 줄어들 때만 교체
+ */
+public final class ScriptTokenEstimator implements TokenEstimator {
+
+    enum Feature {
+        HANGUL(0.6),
+        LATIN_WORD(0.6),
+        LATIN_LETTER(0.15),
+        DIGIT(0.5),
+        SYMBOL(0.9),
+        CODE_WORD(0.8),
+        CODE_SYMBOL(1.0),
+        BREAK(0.5),
+        OTHER(1.0);
+
+        final double defaultWeight;
+
+        Feature(double defaultWeight) {
+            this.defaultWeight = defaultWeight;
+        }
+    }
+
+    private static final int N = Feature.values().length;
+    private static final double RIDGE = 0.1;
+    private static final double MIN_FACTOR = 0.25;   // 가중치는 기본값의 1/4 ~ 4배 안에서만 조정
+    private static final double MAX_FACTOR = 4.0;
+    private static final int HOLDOUT_EVERY = 5;      // 5개 중 1개는 검증용
+
+    /**
+     * 보정 샘플 (텍스트, 실제 토큰 수)
+     */
+    public record Sample(String text, int tokens) {
+        public Sample {
+            Objects.requireNonNull(text, "text must not be null");
+            if (tokens < 1) throw new IllegalArgumentException("tokens must be positive");
+        }
+    }
+
+    /**
+     * 보정 결과: 평균 상대 오차 |추정 - 실제| / 실제 (검증 샘플 기준)
+     */
+    public record Calibration(int samples, double errorBefore, double errorAfter, boolean applied) {}
+
+    private volatile double[] weights;
+
+    public ScriptTokenEstimator() {
+        this.weights = defaultWeights();
+    }
+
+    @Override
+    public int estimate(String text) {
+        if (text == null || text.isEmpty()) return 0;
+        return estimate(features(text), weights);
+    }
+
+    public Calibration calibrate(List<Sample> samples) {
+        Objects.requireNonNull(samples, "samples must not be null");
+
+        List<double[]> trainX = new ArrayList<>();
+        List<Integer> trainY = new ArrayList<>();
+        List<double[]> testX = new ArrayList<>();
+        List<Integer> testY = new ArrayList<>();
+        for (int i = 0; i < samples.size(); i++) {
+            Sample s = samples.get(i);
+            boolean holdout = (i % HOLDOUT_EVERY == HOLDOUT_EVERY - 1);
+            (holdout ? testX : trainX).add(features(s.text()));
+            (holdout ? testY : trainY).add(s.tokens());
+        }
+
+        double[] current = weights;
+        if (trainX.size() < N || testX.isEmpty()) {   // 샘플이 너무 적으면 그대로
+            double err = error(samples);
+            return new Calibration(samples.size(), err, err, false);
+        }
+
+        double[] fitted = fit(trainX, trainY);
+        double before = error(testX, testY, current);
+        if (fitted == null) return new Calibration(samples.size(), before, before, false);
+
+        double after = error(testX, testY, fitted);
+        if (after >= before) return new Calibration(samples.size(), before, before, false);
+
+        this.weights = fitted;
+        return new Calibration(samples.size(), before, after, true);
+    }
+
+    /**
+     * 현재 가중치 기준 평균 상대 오차
+     */
+    public double error(List<Sample> samples) {
+        List<double[]> xs = new ArrayList<>(samples.size());
+        List<Integer> ys = new ArrayList<>(samples.size());
+        for (Sample s : samples) {
+            xs.add(features(s.text()));
+            ys.add(s.tokens());
+        }
+        return error(xs, ys, weights);
+    }
+
+    static double[] features(String text) {
+        double[] f = new double[N];
+        boolean inCode = false;
+        boolean inWord = false;
+        boolean lineStart = true;
+
+        int i = 0;
+        int len = text.length();
+        while (i < len) {
+            // 줄 시작의 ``` 는 코드 블록 경계
+            if (lineStart && text.startsWith("```", i)) {
+                inCode = !inCode;
+                f[Feature.SYMBOL.ordinal()]++;
+                int eol = text.indexOf('\n', i);
+                i = (eol < 0) ? len : eol;
+                inWord = false;
+                lineStart = false;
+                continue;
+            }
+
+            int cp = text.codePointAt(i);
+            i += Character.charCount(cp);
+
+            if (cp == '\n') {
+                f[Feature.BREAK.ordinal()]++;
+                inWord = false;
+                lineStart = true;
+                continue;
+            }
+            if (Character.isWhitespace(cp)) {
+                // 줄 맨 앞 들여쓰기는 덩어리 하나로 셈
+                if (lineStart && i < len && !Character.isWhitespace(text.charAt(i))) f[Feature.BREAK.ordinal()]++;
+                inWord = false;
+                continue;
+            }
+            lineStart = false;
+
+            if (isLatin(cp)) {
+                if (!inWord) f[(inCode ? Feature.CODE_WORD : Feature.LATIN_WORD).ordinal()]++;
+                f[Feature.LATIN_LETTER.ordinal()]++;
+                inWord = true;
+                continue;
+            }
+            if (cp >= '0' && cp <= '9') {
+                f[Feature.DIGIT.ordinal()]++;
+                continue;   // 식별자 안의 숫자는 단어를 끊지 않음
+            }
+            inWord = false;
+
+            if (isHangul(cp)) {
+                f[Feature.HANGUL.ordinal()]++;
+            } else if (cp < 0x80) {
+                f[(inCode ? Feature.CODE_SYMBOL : Feature.SYMBOL).ordinal()]++;
+            } else {
+                f[Feature.OTHER.ordinal()]++;
+            }
+        }
+        return f;
+    }
+
+    private static int estimate(double[] f, double[] w) {
+        double sum = 0;
+        for (int k = 0; k < N; k++) sum += f[k] * w[k];
+        return Math.max(1, (int) Math.round(sum));
+    }
+
+    private static double error(List<double[]> xs, List<Integer> ys, double[] w) {
+        if (xs.isEmpty()) return 0;
+        double sum = 0;
+        for (int i = 0; i < xs.size(); i++) {
+            int actual = ys.get(i);
+            sum += Math.abs(estimate(xs.get(i), w) - actual) / (double) actual;
+        }
+        return sum / xs.size();
+    }
+
+    // (XᵀX + λD) w = Xᵀy + λD w0, D = diag(XᵀX) (특성 크기와 무관하게 기본값 쪽으로 당김)
+    private static double[] fit(List<double[]> xs, List<Integer> ys) {
+        double[][] a = new double[N][N + 1];
+        for (int i = 0; i < xs.size(); i++) {
+            double[] x = xs.get(i);
+            double y = ys.get(i);
+            for (int r = 0; r < N; r++) {
+                if (x[r] == 0) continue;
+                for (int c = 0; c < N; c++) a[r][c] += x[r] * x[c];
+                a[r][N] += x[r] * y;
+            }
+        }
+
+        double[] w0 = defaultWeights();
+        for (int k = 0; k < N; k++) {
+            double d = RIDGE * a[k][k] + 1e-6;   // 샘플에 없는 특성은 기본값 유지
+            a[k][k] += d;
+            a[k][N] += d * w0[k];
+        }
+
+        double[] w = solve(a);
+        if (w == null) return null;
+        for (int k = 0; k < N; k++) {
+            w[k] = Math.max(w0[k] * MIN_FACTOR, Math.min(w0[k] * MAX_FACTOR, w[k]));
+        }
+        return w;
+    }
+
+    // 부분 피벗 가우스 소거 (a: N x (N+1) 확장 행렬)
+    private static double[] solve(double[][] a) {
+        for (int col = 0; col < N; col++) {
+            int pivot = col;
+            for (int r = col + 1; r < N; r++) {
+                if (Math.abs(a[r][col]) > Math.abs(a[pivot][col])) pivot = r;
+            }
+            if (Math.abs(a[pivot][col]) < 1e-12) return null;
+            double[] tmp = a[col];
+            a[col] = a[pivot];
+            a[pivot] = tmp;
+
+            for (int r = col + 1; r < N; r++) {
+                double factor = a[r][col] / a[col][col];
+                for (int c = col; c <= N; c++) a[r][c] -= factor * a[col][c];
+            }
+        }
+
+        double[] w = new double[N];
+        for (int r = N - 1; r >= 0; r--) {
+            double sum = a[r][N];
+            for (int c = r + 1; c < N; c++) sum -= a[r][c] * w[c];
+            w[r] = sum / a[r][r];
+        }
+        return w;
+    }
+
+    private static double[] defaultWeights() {
+        return Arrays.stream(Feature.values()).mapToDouble(f -> f.defaultWeight).toArray();
+    }
+
+    private static boolean isLatin(int cp) {
+        return (cp >= 'a' && cp <= 'z') || (cp >= 'A' && cp <= 'Z') || cp == '_';
+    }
+
+    private static boolean isHangul(int cp) {
+        return (cp >= 0xAC00 && cp <= 0xD7A3)      // 음절
+            || (cp >= 0x1100 && cp <= 0x11FF)      // 자모
+            || (cp >= 0x3130 && cp <= 0x318F);     // 호환 자모
+    }
+}
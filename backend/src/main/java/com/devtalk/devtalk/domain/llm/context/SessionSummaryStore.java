@@ -11,6 +11,12 @@ public interface SessionSummaryStore {
      */
     void putState(String sessionId, SummaryState state);
 
+    /**
+     * 세션 삭제 시 메모리에 들고 있는 상태 제거 (캐시 구현만 해당, DB 행은 FK cascade로 삭제)
+     */
+    default void invalidate(String sessionId) {
+    }
+
     /* ===== 편의 메서드 (요약 문자열만 필요할 때) ===== */
 
     default String getSummary(String sessionId) {
@@ -19,6 +25,6 @@ public interface SessionSummaryStore {
 
     default void putSummary(String sessionId, String summary) {
         SummaryState prev = getState(sessionId);
-        putState(sessionId, new SummaryState(summary, prev.lastSummarizedIndex()));
+        putState(sessionId, new SummaryState(summary, prev.lastSummarizedSeq()));
     }
 }
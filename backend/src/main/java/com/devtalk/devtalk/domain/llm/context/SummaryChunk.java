@@ -0,0 +1,13 @@
+package com.devtalk.devtalk.domain.llm.context;
+
+/**
+ * 계층 요약의 노드 (level 0: 메시지 chunk 요약, level n: level n-1 노드 fanout개를 합친 요약)
+ * 구간은 seq (fromSeq, toSeq]
+ */
+public record SummaryChunk(
+    String sessionId,
+    int level,
+    long fromSeq,
+    long toSeq,
+    String summary
+) {}
@@ -0,0 +1,12 @@
+package com.devtalk.devtalk.domain.llm.context;
+
+import java.util.List;
+
+public interface SummaryChunkStore {
+    /**
+     * 세션의 모든 계층 요약 노드 (level, fromSeq 순)
+     */
+    List<SummaryChunk> findBySessionId(String sessionId);
+
+    void save(SummaryChunk chunk);
+}
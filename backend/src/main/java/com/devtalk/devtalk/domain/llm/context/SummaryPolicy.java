@@ -3,9 +3,15 @@ package com.devtalk.devtalk.domain.llm.context;
 public record SummaryPolicy(
     int promptMaxChars,   // 프롬프트 요청시 요약본 제한 길이 1000
     int hardMaxChars,     // 실제로 서버 강제하는 제한 길이 1200
-    int keepTailMessages  // 최신 tail 몇 개는 요약에 포함하지 않음
+    int keepTailMessages, // 최신 tail 몇 개는 요약에 포함하지 않음
+    int minDeltaMessages, // 요약 안 된 구간이 이만큼 쌓여야 요약 (USER/AI 한 쌍 단위로 묶어서 요약 호출 수 절감)
+    int hardMaxTokens     // 추정 토큰 하드 상한 (TokenEstimator 기준, 초과 시 재압축), 0 이하면 글자 수 상한만 사용
 ) {
+    public SummaryPolicy(int promptMaxChars, int hardMaxChars, int keepTailMessages, int minDeltaMessages) {
+        this(promptMaxChars, hardMaxChars, keepTailMessages, minDeltaMessages, 0);
+    }
+
     public static SummaryPolicy defaults() {
-        return new SummaryPolicy(1000, 1200, 12);
+        return new SummaryPolicy(1000, 1200, 12, 2);
     }
 }
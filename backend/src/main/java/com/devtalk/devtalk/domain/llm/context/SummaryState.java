@@ -2,7 +2,7 @@ package com.devtalk.devtalk.domain.llm.context;
 
 public record SummaryState(
     String summaryText,
-    int lastSummarizedIndex
+    long lastSummarizedSeq   // 이 seq까지(포함) 요약에 반영됨
 ) {
     public static SummaryState empty(String defaultSummary) {
         return new SummaryState(defaultSummary, 0);
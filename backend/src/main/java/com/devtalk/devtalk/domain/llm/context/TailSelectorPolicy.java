@@ -2,8 +2,13 @@ package com.devtalk.devtalk.domain.llm.context;
 
 public record TailSelectorPolicy(
     int maxMessages,
-    int maxChars
+    int maxChars,
+    int maxTokens     // 추정 토큰 예산 (TokenEstimator 기준), 0 이하면 글자 수 예산만 사용
 ) {
+    public TailSelectorPolicy(int maxMessages, int maxChars) {
+        this(maxMessages, maxChars, 0);
+    }
+
     public static TailSelectorPolicy defaultPolicy() {
         return new TailSelectorPolicy(12, 6000);
     }
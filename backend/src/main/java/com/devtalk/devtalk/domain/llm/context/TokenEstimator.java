@@ -0,0 +1,12 @@
+package com.devtalk.devtalk.domain.llm.context;
+
+/**
+ * 네트워크 없이 텍스트의 LLM 토큰 수를 추정 (예산 계산용, 정확한 값은 응답의 tokenUsage)
+ */
+public interface TokenEstimator {
+
+    // 메시지 하나당 역할/구분자 등 고정 비용
+    int MESSAGE_OVERHEAD_TOKENS = 4;
+
+    int estimate(String text);
+}
@@ -12,6 +12,7 @@ public class Message {
     private final MessageStatus status;
     private final MessageMetadata messageMetadata;
     private final LocalDateTime createdAt;
+    private long seq; // 세션 내 순번 (저장 시 부여, 0이면 미저장)
 
     public Message(String sessionId, MessageRole role, String content, MessageMarkers markers , MessageStatus status, MessageMetadata messageMetadata) {
         this.messageId = UUID.randomUUID().toString();
@@ -26,6 +27,11 @@ public class Message {
     // DB용 생성자
     public Message(String messageId, String sessionId, MessageRole role, String content, MessageMarkers markers,
         MessageStatus status, MessageMetadata messageMetadata, LocalDateTime createdAt) {
+        this(messageId, sessionId, role, content, markers, status, messageMetadata, createdAt, 0);
+    }
+
+    public Message(String messageId, String sessionId, MessageRole role, String content, MessageMarkers markers,
+        MessageStatus status, MessageMetadata messageMetadata, LocalDateTime createdAt, long seq) {
         this.messageId = messageId;
         this.sessionId = sessionId;
         this.role = role;
@@ -34,6 +40,7 @@ public class Message {
         this.status = status;
         this.messageMetadata = messageMetadata;
         this.createdAt = createdAt;
+        this.seq = seq;
     }
 
     public String getMessageId() {
@@ -62,4 +69,11 @@ public class Message {
         return createdAt;
     }
 
+    public long getSeq() { return seq; }
+
+    public void assignSeq(long seq) {
+        if (this.seq != 0) throw new IllegalStateException("seq already assigned");
+        this.seq = seq;
+    }
+
 }
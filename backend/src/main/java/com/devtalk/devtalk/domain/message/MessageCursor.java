@@ -0,0 +1,32 @@
+package com.devtalk.devtalk.domain.message;
+
+/**
+ * 메시지 keyset 페이지 커서: 세션 내 순번(seq) 위치
+ * - 클라이언트에는 불투명 문자열(encode)로만 노출
+ */
+public record MessageCursor(long seq) {
+
+    public MessageCursor {
+        if (seq < 1) throw new IllegalArgumentException("invalid cursor");
+    }
+
+    public static MessageCursor of(Message message) {
+        return new MessageCursor(message.getSeq());
+    }
+
+    public String encode() {
+        return Long.toString(seq, 36);
+    }
+
+    /**
+     * @return 비어 있으면 null (처음/마지막 페이지부터)
+     */
+    public static MessageCursor decode(String token) {
+        if (token == null || token.isBlank()) return null;
+        try {
+            return new MessageCursor(Long.parseLong(token.trim(), 36));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.devtalk.devtalk.domain.message;
+
+import java.util.List;
+
+/**
+ * keyset 페이지 결과
+ * - messages: 항상 오래된 -> 최신 순
+ * - nextCursor: 같은 방향으로 다음 페이지를 가져올 위치 (OLDER면 맨 앞, NEWER면 맨 뒤 메시지), 비어 있으면 null
+ * - hasMore: 그 방향으로 더 있는지
+ */
+public record MessagePage(List<Message> messages, MessageCursor nextCursor, boolean hasMore) {
+
+    public MessagePage {
+        messages = List.copyOf(messages);
+    }
+
+    public static MessagePage of(List<Message> chronological, PageDirection direction, boolean hasMore) {
+        if (chronological.isEmpty()) return new MessagePage(List.of(), null, false);
+        Message edge = (direction == PageDirection.OLDER)
+            ? chronological.get(0)
+            : chronological.get(chronological.size() - 1);
+        return new MessagePage(chronological, MessageCursor.of(edge), hasMore);
+    }
+}
@@ -1,9 +1,31 @@
 package com.devtalk.devtalk.domain.message;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
 
 public interface MessageRepository {
     Message save(Message message);
     List<Message> findAllBySessionId(String sessionId);
+    MessagePage findPage(String sessionId, MessageCursor afterCursor, int limit, PageDirection direction);
+    Optional<Message> findLatestSuccessUser(String sessionId);
+
+    /**
+     * seq 범위 (afterSeq, upToSeq] 메시지를 순서대로 조회
+     */
+    List<Message> findBySeqRange(String sessionId, long afterSeq, long upToSeq);
+
+    /**
+     * 최신 skipLatest건을 건너뛴 바로 앞 메시지의 seq (없으면 0)
+     */
+    long findSeqBeforeLatest(String sessionId, int skipLatest);
+
+    Optional<Message> findUserById(String sessionId, String messageId);
+
+    /**
+     * 컨텍스트 후보(SUCCESS, SYSTEM 제외)를 최신 -> 오래된 순으로 최대 maxRows건 넘김
+     * visitor가 false를 리턴하면 이후 행은 넘기지 않음 (읽는 양의 상한은 maxRows)
+     */
+    void scanRecentContext(String sessionId, int maxRows, Predicate<Message> visitor);
     void deleteAllBySessionId(String sessionId);
 }
@@ -0,0 +1,19 @@
+package com.devtalk.devtalk.domain.message;
+
+/**
+ * OLDER: 커서보다 이전 메시지 (커서 없으면 가장 최근 페이지) - 채팅창 위로 스크롤
+ * NEWER: 커서보다 이후 메시지 (커서 없으면 가장 처음 페이지)
+ */
+public enum PageDirection {
+    OLDER,
+    NEWER;
+
+    public static PageDirection from(String value) {
+        if (value == null || value.isBlank()) return OLDER;
+        try {
+            return PageDirection.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("invalid direction: " + value);
+        }
+    }
+}
@@ -12,6 +12,8 @@ public class Session {
     private final LocalDateTime createdAt;
     private LocalDateTime lastAnalyzedAt;
     private LocalDateTime lastUpdatedAt;
+    // 낙관적 동시성 제어용 (0: 아직 저장 안 됨, 저장될 때마다 1씩 증가)
+    private long version;
 
     // 생성시에 createdAt 설정 및 id는 UUID 사용
     public Session(String title){
@@ -23,8 +25,8 @@ public class Session {
         this.createdAt = LocalDateTime.now();
         this.lastUpdatedAt = LocalDateTime.now();
     }
-    // DB 매핑용 생성자
-    public Session(String sessionId, String title, SessionStatus status, String description, String aiSummary, LocalDateTime createdAt, LocalDateTime lastUpdatedAt) {
+    // DB 매핑용 생성자 (version은 저장된 값 그대로, 0이면 save가 INSERT로 처리)
+    public Session(String sessionId, String title, SessionStatus status, String description, String aiSummary, LocalDateTime createdAt, LocalDateTime lastUpdatedAt, long version) {
         this.sessionId = sessionId;
         this.title = title;
         this.status = status;
@@ -32,6 +34,7 @@ public class Session {
         this.aiSummary = aiSummary;
         this.createdAt = createdAt;
         this.lastUpdatedAt = lastUpdatedAt;
+        this.version = version;
     }
 
     public void updateTitle(String title){this.title = title;}
@@ -51,6 +54,9 @@ public class Session {
 
     public void updateLastUpdatedAt(){this.lastUpdatedAt = LocalDateTime.now(); }
 
+    // 저장소가 저장 성공 후 DB의 version으로 맞춤
+    public void markSaved(long version){ this.version = version; }
+
     // 필드에 대한 getter
     public String getSessionId() {
         return sessionId;
@@ -70,6 +76,8 @@ public class Session {
 
     public LocalDateTime getLastUpdatedAt() { return lastUpdatedAt; }
 
+    public long getVersion() { return version; }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
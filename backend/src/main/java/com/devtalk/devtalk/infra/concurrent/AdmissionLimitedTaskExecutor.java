@@ -0,0 +1,43 @@
+package com.devtalk.devtalk.infra.concurrent;
+
+import java.util.Objects;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+/**
+ * 작업 제출 시점에 AdmissionLimiter 자리를 확보하고, 작업이 끝나면 반납하는 TaskExecutor
+ * - 자리가 없으면 TaskRejectedException (ThreadPoolTaskExecutor 큐가 찼을 때와 동일한 예외)
+ */
+public final class AdmissionLimitedTaskExecutor implements TaskExecutor {
+
+    private final TaskExecutor delegate;
+    private final AdmissionLimiter limiter;
+
+    public AdmissionLimitedTaskExecutor(TaskExecutor delegate, AdmissionLimiter limiter) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+        this.limiter = Objects.requireNonNull(limiter, "limiter must not be null");
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        Objects.requireNonNull(task, "task must not be null");
+
+        if (!limiter.tryAcquire()) {
+            throw new TaskRejectedException("AI executor is at capacity (max=" + limiter.maxConcurrent() + ")");
+        }
+
+        try {
+            delegate.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    limiter.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            // 제출 자체가 실패하면 자리를 바로 반납
+            limiter.release();
+            throw e;
+        }
+    }
+}
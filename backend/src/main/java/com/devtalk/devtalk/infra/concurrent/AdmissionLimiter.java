@@ -0,0 +1,38 @@
+package com.devtalk.devtalk.infra.concurrent;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * AI 생성 동시 실행 수 상한 (세마포어 기반)
+ * - 가상 스레드는 사실상 무제한으로 만들 수 있으므로, 실제 상한은 여기서 건다
+ * - 자리가 없으면 기다리지 않고 바로 거절 (대기열이 무한정 쌓이는 것 방지)
+ */
+public final class AdmissionLimiter {
+
+    private final int maxConcurrent;
+    private final Semaphore permits;
+
+    public AdmissionLimiter(int maxConcurrent) {
+        if (maxConcurrent <= 0) {
+            throw new IllegalArgumentException("maxConcurrent must be > 0");
+        }
+        this.maxConcurrent = maxConcurrent;
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    public boolean tryAcquire() {
+        return permits.tryAcquire();
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int inFlight() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int maxConcurrent() {
+        return maxConcurrent;
+    }
+}
@@ -0,0 +1,97 @@
+package com.devtalk.devtalk.infra.concurrent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * 가상 스레드가 캐리어 스레드에 고정(pinning)되는 것을 JFR(jdk.VirtualThreadPinned)로 감지해 메트릭으로 노출
+ * - devtalk.vthread.pinned        : 고정 발생 횟수
+ * - devtalk.vthread.pinned.duration : 고정 지속 시간
+ *
+ * JDBC 드라이버/SseEmitter 등 synchronized 구간에서 블로킹이 일어나면 여기서 잡힌다.
+ * 고정 위치(스택 상위 프레임)는 위치별로 한 번만 WARN 로그로 남긴다 (최대 MAX_LOGGED_SITES곳).
+ */
+public final class VirtualThreadPinnedMonitor implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinnedMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 8;
+    private static final int MAX_LOGGED_SITES = 100;
+
+    private final Duration threshold;
+    private final Counter pinnedCounter;
+    private final Timer pinnedTimer;
+    private final Set<String> loggedSites = ConcurrentHashMap.newKeySet();
+
+    private RecordingStream stream;
+
+    public VirtualThreadPinnedMonitor(MeterRegistry meterRegistry, Duration threshold) {
+        Objects.requireNonNull(meterRegistry, "meterRegistry must not be null");
+        this.threshold = Objects.requireNonNull(threshold, "threshold must not be null");
+        this.pinnedCounter = Counter.builder("devtalk.vthread.pinned")
+            .description("virtual thread pinned events")
+            .register(meterRegistry);
+        this.pinnedTimer = Timer.builder("devtalk.vthread.pinned.duration")
+            .description("time a virtual thread stayed pinned to its carrier")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (stream != null) return;
+
+        RecordingStream rs = new RecordingStream();
+        rs.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        rs.onEvent(PINNED_EVENT, event -> {
+            pinnedCounter.increment();
+            pinnedTimer.record(event.getDuration());
+            logFirstAtSite(event);
+        });
+        rs.startAsync();
+        this.stream = rs;
+    }
+
+    private void logFirstAtSite(RecordedEvent event) {
+        RecordedStackTrace trace = event.getStackTrace();
+        if (trace == null || trace.getFrames().isEmpty()) return;
+
+        List<RecordedFrame> frames = trace.getFrames();
+        String site = frame(frames.get(0));
+        if (loggedSites.size() >= MAX_LOGGED_SITES || !loggedSites.add(site)) return;
+
+        String top = frames.stream().limit(LOGGED_FRAMES).map(VirtualThreadPinnedMonitor::frame)
+            .collect(Collectors.joining("\n\tat ", "\tat ", ""));
+        log.warn("virtual thread pinned for {}ms at {}\n{}", event.getDuration().toMillis(), site, top);
+    }
+
+    private static String frame(RecordedFrame f) {
+        return f.getMethod().getType().getName() + "." + f.getMethod().getName() + ":" + f.getLineNumber();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (stream == null) return;
+        stream.close();
+        stream = null;
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return stream != null;
+    }
+}
@@ -0,0 +1,425 @@
+package com.devtalk.devtalk.infra.llm;
+
+import com.devtalk.devtalk.domain.llm.LlmPriority;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.DoubleSupplier;
+
+/**
+ * LLM 호출(블로킹 + 스트리밍 공용) 클라이언트 측 적응형 제한
+ * - 동시 실행 상한(limit)과 초당 요청 수(rate, 토큰 버킷)를 AIMD로 조정
+ *   - 429(RATE_LIMITED): 둘 다 backoffRatio배로 감소 (cooldown 안에서는 한 번만)
+ *   - 지연 증가: 최근 지연(EWMA)이 장기 평균의 latencyTolerance배를 넘으면 limit만 0.9배
+ *   - 그 외 성공: limit += 1/limit, rate += 1/rate (자리를 절반 이상 쓰고 있을 때만, 안 쓰는 한도가 부풀지 않게)
+ * - 자리가 없으면 바로 실패하지 않고 우선순위별 대기열에서 max-wait까지 대기
+ *   - INTERACTIVE가 먼저, BACKGROUND는 INTERACTIVE 대기가 없을 때만
+ *   - BACKGROUND는 limit의 backgroundShare까지만 사용 (사용자 요청용 자리를 남겨 둠)
+ * - 지연 샘플은 종류별로 따로 평균 (블로킹: 전체 응답 시간, 스트리밍: 첫 이벤트까지 시간)
+ * - 스트리밍은 첫 이벤트가 오면 releaseSlot으로 동시 실행 자리만 먼저 반납
+ *   (생성 내내 자리를 잡으면 동시 스트림 수가 limit에 묶임, rate는 획득 시 이미 차감)
+ *
+ * 메트릭: devtalk.llm.limiter.limit / .rate / .in-flight / .queued{priority} / .wait{priority}
+ *        / .rejected{priority} / .rate-limited
+ */
+public final class AdaptiveLlmLimiter implements AutoCloseable {
+
+    public enum Outcome { SUCCESS, RATE_LIMITED, IGNORED }
+
+    public enum LatencyKind { RESPONSE, FIRST_EVENT }
+
+    public record Settings(
+        int initialLimit,
+        int minLimit,
+        int maxLimit,
+        double backgroundShare,
+        double initialRate,       // 초당 요청 수
+        double minRate,
+        double maxRate,
+        double backoffRatio,
+        double latencyTolerance,
+        Duration decreaseCooldown,
+        Duration interactiveMaxWait,
+        Duration backgroundMaxWait,
+        int maxQueue
+    ) {
+        public Settings {
+            if (minLimit < 1 || maxLimit < minLimit) throw new IllegalArgumentException("need 1 <= minLimit <= maxLimit");
+            if (initialLimit < minLimit || initialLimit > maxLimit) throw new IllegalArgumentException("initialLimit out of range");
+            if (backgroundShare <= 0 || backgroundShare > 1) throw new IllegalArgumentException("backgroundShare must be in (0, 1]");
+            if (minRate <= 0 || maxRate < minRate) throw new IllegalArgumentException("need 0 < minRate <= maxRate");
+            if (initialRate < minRate || initialRate > maxRate) throw new IllegalArgumentException("initialRate out of range");
+            if (backoffRatio <= 0 || backoffRatio >= 1) throw new IllegalArgumentException("backoffRatio must be in (0, 1)");
+            if (latencyTolerance <= 1) throw new IllegalArgumentException("latencyTolerance must be > 1");
+            if (maxQueue < 0) throw new IllegalArgumentException("maxQueue must be >= 0");
+            Objects.requireNonNull(decreaseCooldown, "decreaseCooldown must not be null");
+            Objects.requireNonNull(interactiveMaxWait, "interactiveMaxWait must not be null");
+            Objects.requireNonNull(backgroundMaxWait, "backgroundMaxWait must not be null");
+        }
+    }
+
+    private static final double LATENCY_DECREASE = 0.9;
+    private static final double SHORT_ALPHA = 0.2;
+    private static final double LONG_ALPHA = 0.02;
+
+    /**
+     * 획득한 자리. 호출이 끝나면 release를 정확히 한 번 (여러 번 불러도 한 번만 반영)
+     */
+    public final class Permit {
+        private final LlmPriority priority;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private final AtomicBoolean slotHeld = new AtomicBoolean(true);
+        private volatile LatencyKind latencyKind;
+        private volatile long latencyNanos = -1;
+
+        private Permit(LlmPriority priority) {
+            this.priority = priority;
+        }
+
+        public void recordLatency(LatencyKind kind, long nanos) {
+            this.latencyKind = kind;
+            this.latencyNanos = nanos;
+        }
+
+        /**
+         * 동시 실행 자리만 먼저 반납 (결과 반영은 이후 release에서)
+         */
+        public void releaseSlot() {
+            if (!slotHeld.compareAndSet(true, false)) return;
+            AdaptiveLlmLimiter.this.freeSlot(this);
+        }
+
+        public void release(Outcome outcome) {
+            if (!released.compareAndSet(false, true)) return;
+            AdaptiveLlmLimiter.this.release(this, outcome, slotHeld.compareAndSet(true, false));
+        }
+    }
+
+    private static final class Waiter {
+        final LlmPriority priority;
+        final long enqueuedNanos = System.nanoTime();
+        final CompletableFuture<Permit> future = new CompletableFuture<>();
+        ScheduledFuture<?> timeout;
+
+        Waiter(LlmPriority priority) {
+            this.priority = priority;
+        }
+    }
+
+    private record Grant(Waiter waiter, Permit permit) {}
+
+    private final Settings settings;
+    private final ScheduledExecutorService timer;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<LlmPriority, Deque<Waiter>> queues = new EnumMap<>(LlmPriority.class);
+    private final Map<LatencyKind, double[]> latency = new EnumMap<>(LatencyKind.class); // {short, long}
+    private double limit;
+    private double rate;
+    private double tokens;
+    private long lastRefillNanos;
+    private long lastDecreaseNanos;
+    private int inFlight;
+    private int backgroundInFlight;
+    private boolean drainScheduled;
+
+    private final Map<LlmPriority, Timer> waitTimers = new EnumMap<>(LlmPriority.class);
+    private final Map<LlmPriority, Counter> rejected = new EnumMap<>(LlmPriority.class);
+    private final Counter rateLimited;
+
+    public AdaptiveLlmLimiter(Settings settings, MeterRegistry meterRegistry) {
+        this.settings = Objects.requireNonNull(settings, "settings must not be null");
+        this.limit = settings.initialLimit();
+        this.rate = settings.initialRate();
+        this.tokens = Math.max(1, settings.initialRate());
+        this.lastRefillNanos = System.nanoTime();
+        this.lastDecreaseNanos = lastRefillNanos - settings.decreaseCooldown().toNanos();
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "llm-limiter");
+            t.setDaemon(true);
+            return t;
+        });
+
+        for (LlmPriority p : LlmPriority.values()) {
+            Deque<Waiter> q = new ArrayDeque<>();
+            queues.put(p, q);
+            String tag = p.name().toLowerCase();
+            Gauge.builder("devtalk.llm.limiter.queued", this, l -> l.queued(p))
+                .tag("priority", tag)
+                .description("LLM calls waiting for a limiter slot")
+                .register(meterRegistry);
+            waitTimers.put(p, Timer.builder("devtalk.llm.limiter.wait")
+                .tag("priority", tag)
+                .description("time spent waiting for a limiter slot")
+                .register(meterRegistry));
+            rejected.put(p, Counter.builder("devtalk.llm.limiter.rejected")
+                .tag("priority", tag)
+                .description("LLM calls rejected after waiting max-wait or because the queue was full")
+                .register(meterRegistry));
+        }
+        Gauge.builder("devtalk.llm.limiter.limit", this, l -> l.read(() -> l.limit))
+            .description("current adaptive concurrency limit")
+            .register(meterRegistry);
+        Gauge.builder("devtalk.llm.limiter.rate", this, l -> l.read(() -> l.rate))
+            .description("current adaptive request rate per second")
+            .register(meterRegistry);
+        Gauge.builder("devtalk.llm.limiter.in-flight", this, l -> l.read(() -> l.inFlight))
+            .description("LLM calls holding a limiter slot")
+            .register(meterRegistry);
+        this.rateLimited = Counter.builder("devtalk.llm.limiter.rate-limited")
+            .description("provider 429 responses observed by the limiter")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 자리를 얻으면 완료되는 future (대기 시간을 넘거나 대기열이 가득 차면 LlmRateLimitException으로 완료)
+     * 기다리던 쪽이 future를 cancel하면 대기열에서 빠짐
+     */
+    public CompletableFuture<Permit> acquire(LlmPriority priority) {
+        Objects.requireNonNull(priority, "priority must not be null");
+
+        Waiter w;
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            refill(now);
+
+            boolean ahead = !queues.get(LlmPriority.INTERACTIVE).isEmpty()
+                || (priority == LlmPriority.BACKGROUND && !queues.get(LlmPriority.BACKGROUND).isEmpty());
+            if (!ahead && canGrant(priority)) {
+                waitTimers.get(priority).record(0, TimeUnit.NANOSECONDS);
+                return CompletableFuture.completedFuture(grant(priority));
+            }
+
+            if (queued(null) >= settings.maxQueue()) {
+                rejected.get(priority).increment();
+                return CompletableFuture.failedFuture(new LlmRateLimitException("LLM limiter queue is full", false));
+            }
+
+            w = new Waiter(priority);
+            queues.get(priority).addLast(w);
+            Duration maxWait = (priority == LlmPriority.INTERACTIVE) ? settings.interactiveMaxWait() : settings.backgroundMaxWait();
+            w.timeout = timer.schedule(() -> expire(w), maxWait.toNanos(), TimeUnit.NANOSECONDS);
+            scheduleDrainIfNeeded();
+        } finally {
+            lock.unlock();
+        }
+
+        // 기다리던 쪽이 취소하면 타이머도 정리
+        w.future.whenComplete((p, e) -> {
+            if (w.future.isCancelled()) w.timeout.cancel(false);
+        });
+        return w.future;
+    }
+
+    @Override
+    public void close() {
+        timer.shutdownNow();
+    }
+
+    private void freeSlot(Permit permit) {
+        List<Grant> grants;
+        lock.lock();
+        try {
+            inFlight--;
+            if (permit.priority == LlmPriority.BACKGROUND) backgroundInFlight--;
+            grants = drain(System.nanoTime());
+            scheduleDrainIfNeeded();
+        } finally {
+            lock.unlock();
+        }
+        complete(grants);
+    }
+
+    private void release(Permit permit, Outcome outcome, boolean holdsSlot) {
+        List<Grant> grants;
+        lock.lock();
+        try {
+            if (holdsSlot) {
+                inFlight--;
+                if (permit.priority == LlmPriority.BACKGROUND) backgroundInFlight--;
+            }
+
+            long now = System.nanoTime();
+            adjust(permit, outcome, holdsSlot, now);
+            grants = drain(now);
+            scheduleDrainIfNeeded();
+        } finally {
+            lock.unlock();
+        }
+        complete(grants);
+    }
+
+    private void adjust(Permit permit, Outcome outcome, boolean heldSlot, long now) {
+        boolean cooled = now - lastDecreaseNanos >= settings.decreaseCooldown().toNanos();
+
+        if (outcome == Outcome.RATE_LIMITED) {
+            rateLimited.increment();
+            if (cooled) {
+                limit = Math.max(settings.minLimit(), limit * settings.backoffRatio());
+                rate = Math.max(settings.minRate(), rate * settings.backoffRatio());
+                tokens = Math.min(tokens, 0);   // 남은 버스트도 버림
+                lastDecreaseNanos = now;
+            }
+            return;
+        }
+        if (outcome != Outcome.SUCCESS) return;
+
+        if (permit.latencyNanos >= 0 && permit.latencyKind != null) {
+            double[] ewma = latency.computeIfAbsent(permit.latencyKind, k -> new double[]{permit.latencyNanos, permit.latencyNanos});
+            ewma[0] += SHORT_ALPHA * (permit.latencyNanos - ewma[0]);
+            ewma[1] += LONG_ALPHA * (permit.latencyNanos - ewma[1]);
+
+            if (ewma[0] > ewma[1] * settings.latencyTolerance()) {
+                if (cooled) {
+                    limit = Math.max(settings.minLimit(), limit * LATENCY_DECREASE);
+                    lastDecreaseNanos = now;
+                }
+                return;
+            }
+        }
+
+        // 자리를 절반 이상 쓰고 있을 때만 늘림
+        if (inFlight + (heldSlot ? 1 : 0) >= limit / 2) {
+            limit = Math.min(settings.maxLimit(), limit + 1.0 / limit);
+            rate = Math.min(settings.maxRate(), rate + 1.0 / rate);
+        }
+    }
+
+    // lock 안에서 호출, 자리를 준 대기자 목록을 돌려줌 (future 완료는 lock 밖에서)
+    private List<Grant> drain(long now) {
+        refill(now);
+        List<Grant> grants = new ArrayList<>();
+        Deque<Waiter> interactive = queues.get(LlmPriority.INTERACTIVE);
+        Deque<Waiter> background = queues.get(LlmPriority.BACKGROUND);
+
+        while (true) {
+            dropDone(interactive);
+            dropDone(background);
+
+            Waiter next;
+            if (!interactive.isEmpty()) {
+                if (!canGrant(LlmPriority.INTERACTIVE)) break;
+                next = interactive.pollFirst();
+            } else if (!background.isEmpty()) {
+                if (!canGrant(LlmPriority.BACKGROUND)) break;
+                next = background.pollFirst();
+            } else {
+                break;
+            }
+            next.timeout.cancel(false);
+            waitTimers.get(next.priority).record(now - next.enqueuedNanos, TimeUnit.NANOSECONDS);
+            grants.add(new Grant(next, grant(next.priority)));
+        }
+        return grants;
+    }
+
+    private void complete(List<Grant> grants) {
+        for (Grant g : grants) {
+            // 그 사이 취소됐으면 자리 반납
+            if (!g.waiter().future.complete(g.permit())) g.permit().release(Outcome.IGNORED);
+        }
+    }
+
+    private void expire(Waiter w) {
+        boolean removed;
+        lock.lock();
+        try {
+            removed = queues.get(w.priority).remove(w);
+        } finally {
+            lock.unlock();
+        }
+        if (!removed) return;
+        rejected.get(w.priority).increment();
+        w.future.completeExceptionally(new LlmRateLimitException("LLM limiter wait timed out", false));
+    }
+
+    // 토큰이 모자라서 대기 중이면 다음 토큰이 생기는 시점에 다시 drain
+    private void scheduleDrainIfNeeded() {
+        if (drainScheduled || tokens >= 1 || queued(null) == 0) return;
+        long delayNanos = (long) Math.ceil((1 - tokens) / rate * 1_000_000_000L);
+        drainScheduled = true;
+        timer.schedule(this::drainFromTimer, Math.max(1, delayNanos), TimeUnit.NANOSECONDS);
+    }
+
+    private void drainFromTimer() {
+        List<Grant> grants;
+        lock.lock();
+        try {
+            drainScheduled = false;
+            grants = drain(System.nanoTime());
+            scheduleDrainIfNeeded();
+        } finally {
+            lock.unlock();
+        }
+        complete(grants);
+    }
+
+    private boolean canGrant(LlmPriority priority) {
+        if (tokens < 1) return false;
+        int max = Math.max(1, (int) limit);
+        if (inFlight >= max) return false;
+        if (priority == LlmPriority.BACKGROUND) {
+            int bgMax = Math.max(1, (int) (limit * settings.backgroundShare()));
+            return backgroundInFlight < bgMax;
+        }
+        return true;
+    }
+
+    private Permit grant(LlmPriority priority) {
+        tokens -= 1;
+        inFlight++;
+        if (priority == LlmPriority.BACKGROUND) backgroundInFlight++;
+        return new Permit(priority);
+    }
+
+    private void refill(long now) {
+        double burst = Math.max(1, rate);
+        tokens = Math.min(burst, tokens + (now - lastRefillNanos) / 1e9 * rate);
+        lastRefillNanos = now;
+    }
+
+    private static void dropDone(Deque<Waiter> q) {
+        while (!q.isEmpty() && q.peekFirst().future.isDone()) {
+            q.pollFirst().timeout.cancel(false);
+        }
+    }
+
+    // priority == null이면 전체
+    private int queued(LlmPriority priority) {
+        lock.lock();
+        try {
+            if (priority != null) return queues.get(priority).size();
+            int n = 0;
+            for (Deque<Waiter> q : queues.values()) n += q.size();
+            return n;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private double read(DoubleSupplier value) {
+        lock.lock();
+        try {
+            return value.getAsDouble();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.devtalk.devtalk.infra.llm;
+
+import com.devtalk.devtalk.domain.llm.LlmClient;
+import com.devtalk.devtalk.domain.llm.LlmFinishReason;
+import com.devtalk.devtalk.domain.llm.LlmMessage;
+import com.devtalk.devtalk.domain.llm.LlmOptions;
+import com.devtalk.devtalk.domain.llm.LlmRequest;
+import com.devtalk.devtalk.domain.llm.LlmResponseStore;
+import com.devtalk.devtalk.domain.llm.LlmResult;
+import com.devtalk.devtalk.domain.llm.LlmTokenUsage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 같은 요청이면 저장된 응답을 돌려주는 LlmClient 데코레이터
+ * - 대상: options.cacheable()이 켜진 요청만 (호출하는 쪽에서 선택), 나머지는 그대로 delegate
+ * - key: SHA-256(model, systemPrompt, messages(role, content), temperature, maxTokens, route)
+ * - 메모리: TTL + 바이트 상한 LRU
+ * - 영속(LlmResponseStore, 선택): 메모리에 없을 때 조회, 새 응답은 양쪽에 저장 -> 재시작 후에도 재사용
+ * - 정상 종료(STOP)한 응답만 저장 (잘린 응답/실패는 다시 호출)
+ *
+ * 메트릭: devtalk.llm.cache.hits{tier=memory|persistent} / .misses / .hit-ratio / .tokens-saved / .resident.bytes
+ */
+public final class CachingLlmClient implements LlmClient {
+
+    private static final Logger log = LoggerFactory.getLogger(CachingLlmClient.class);
+
+    private static final long ENTRY_OVERHEAD_BYTES = 160;
+
+    private record Entry(LlmResult.Success result, long bytes, long expiresAtNanos) {}
+
+    private final LlmClient delegate;
+    private final String model;
+    private final long ttlNanos;
+    private final Duration ttl;
+    private final long maxBytes;
+    private final LlmResponseStore store;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true); // access-order LRU
+    private long residentBytes = 0;
+
+    private final Counter memoryHits;
+    private final Counter persistentHits;
+    private final Counter misses;
+    private final Counter tokensSaved;
+
+    public CachingLlmClient(LlmClient delegate, String model, Duration ttl, long maxBytes, LlmResponseStore store, MeterRegistry meterRegistry) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+        this.model = Objects.requireNonNull(model, "model must not be null");
+        this.ttl = Objects.requireNonNull(ttl, "ttl must not be null");
+        this.ttlNanos = ttl.toNanos();
+        if (maxBytes < 1) throw new IllegalArgumentException("maxBytes must be positive");
+        this.maxBytes = maxBytes;
+        this.store = Objects.requireNonNull(store, "store must not be null");
+
+        this.memoryHits = Counter.builder("devtalk.llm.cache.hits")
+            .tag("tier", "memory")
+            .description("cacheable LLM requests answered from the in-memory cache")
+            .register(meterRegistry);
+        this.persistentHits = Counter.builder("devtalk.llm.cache.hits")
+            .tag("tier", "persistent")
+            .description("cacheable LLM requests answered from the persistent cache")
+            .register(meterRegistry);
+        this.misses = Counter.builder("devtalk.llm.cache.misses")
+            .description("cacheable LLM requests sent to the provider")
+            .register(meterRegistry);
+        this.tokensSaved = Counter.builder("devtalk.llm.cache.tokens-saved")
+            .description("input + output tokens of responses served from the cache")
+            .register(meterRegistry);
+        Gauge.builder("devtalk.llm.cache.hit-ratio", this, CachingLlmClient::hitRatio)
+            .description("cache hits / cacheable LLM requests")
+            .register(meterRegistry);
+        Gauge.builder("devtalk.llm.cache.resident.bytes", this, c -> c.residentBytes())
+            .description("approximate bytes held by the in-memory LLM response cache")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public LlmResult generate(LlmRequest request) {
+        if (request.options() == null || !request.options().cacheable()) {
+            return delegate.generate(request);
+        }
+
+        String key = key(model, request);
+
+        LlmResult.Success cached = getFromMemory(key);
+        if (cached != null) {
+            memoryHits.increment();
+            tokensSaved.increment(totalTokens(cached));
+            return cached;
+        }
+
+        Optional<LlmResult.Success> persisted = findPersisted(key);
+        if (persisted.isPresent()) {
+            putInMemory(key, persisted.get());
+            persistentHits.increment();
+            tokensSaved.increment(totalTokens(persisted.get()));
+            return persisted.get();
+        }
+
+        misses.increment();
+        LlmResult result = delegate.generate(request);
+        if (result instanceof LlmResult.Success s && s.finishReason() == LlmFinishReason.STOP
+            && s.text() != null && !s.text().isBlank()) {
+            putInMemory(key, s);
+            savePersisted(key, s);
+        }
+        return result;
+    }
+
+    /**
+     * 요청 내용 해시 (필드마다 길이를 앞에 붙여서 경계가 섞이지 않게 함)
+     */
+    static String key(String model, LlmRequest request) {
+        MessageDigest digest = sha256();
+        update(digest, model);
+        update(digest, request.systemPrompt());
+        digest.update(intBytes(request.messages().size()));
+        for (LlmMessage m : request.messages()) {
+            update(digest, m.role().name());
+            update(digest, m.content());
+        }
+        LlmOptions options = request.options();
+        update(digest, String.valueOf(options.temperature()));
+        update(digest, String.valueOf(options.maxTokens()));
+        update(digest, options.route());
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private LlmResult.Success getFromMemory(String key) {
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            Entry e = entries.get(key);
+            if (e == null) return null;
+            if (now - e.expiresAtNanos() >= 0) {
+                entries.remove(key);
+                residentBytes -= e.bytes();
+                return null;
+            }
+            return e.result();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void putInMemory(String key, LlmResult.Success result) {
+        long bytes = ENTRY_OVERHEAD_BYTES + key.length() + 2L * result.text().length();
+        if (bytes > maxBytes) return;
+
+        long expiresAt = System.nanoTime() + ttlNanos;
+        lock.lock();
+        try {
+            Entry prev = entries.put(key, new Entry(result, bytes, expiresAt));
+            if (prev != null) residentBytes -= prev.bytes();
+            residentBytes += bytes;
+
+            // 바이트 상한을 넘으면 가장 오래 안 쓰인 것부터 제거
+            Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+            while (residentBytes > maxBytes && it.hasNext()) {
+                Map.Entry<String, Entry> eldest = it.next();
+                if (eldest.getKey().equals(key)) continue;
+                residentBytes -= eldest.getValue().bytes();
+                it.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 영속 계층 오류는 캐시 미스로 처리 (응답 생성은 계속)
+    private Optional<LlmResult.Success> findPersisted(String key) {
+        try {
+            return store.find(key, Instant.now());
+        } catch (RuntimeException e) {
+            log.warn("persistent LLM cache lookup failed", e);
+            return Optional.empty();
+        }
+    }
+
+    private void savePersisted(String key, LlmResult.Success result) {
+        try {
+            store.save(key, result, Instant.now().plus(ttl));
+        } catch (RuntimeException e) {
+            log.warn("persistent LLM cache write failed", e);
+        }
+    }
+
+    private double hitRatio() {
+        double hits = memoryHits.count() + persistentHits.count();
+        double total = hits + misses.count();
+        return (total == 0) ? 0.0 : hits / total;
+    }
+
+    private long residentBytes() {
+        lock.lock();
+        try {
+            return residentBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static double totalTokens(LlmResult.Success s) {
+        LlmTokenUsage usage = s.tokenUsage();
+        return (usage == null) ? 0 : usage.totalToken();
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        byte[] bytes = (value == null) ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        digest.update(intBytes(bytes.length));
+        digest.update(bytes);
+    }
+
+    private static byte[] intBytes(int value) {
+        return ByteBuffer.allocate(Integer.BYTES).putInt(value).array();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
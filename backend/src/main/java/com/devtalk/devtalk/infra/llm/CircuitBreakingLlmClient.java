@@ -0,0 +1,45 @@
+package com.devtalk.devtalk.infra.llm;
+
+import com.devtalk.devtalk.domain.llm.LlmClient;
+import com.devtalk.devtalk.domain.llm.LlmFailureCode;
+import com.devtalk.devtalk.domain.llm.LlmRequest;
+import com.devtalk.devtalk.domain.llm.LlmResult;
+import java.util.Objects;
+
+/**
+ * 블로킹 LlmClient 호출을 LlmCircuitBreaker로 감쌈
+ * - OPEN이면 호출하지 않고 바로 CIRCUIT_OPEN 실패 (connect/read timeout을 기다리지 않음)
+ * - 결과의 LlmFailureCode로 성공/실패/무시를 판정해 breaker에 알림
+ */
+public final class CircuitBreakingLlmClient implements LlmClient {
+
+    private final LlmClient delegate;
+    private final LlmCircuitBreaker breaker;
+
+    public CircuitBreakingLlmClient(LlmClient delegate, LlmCircuitBreaker breaker) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+        this.breaker = Objects.requireNonNull(breaker, "breaker must not be null");
+    }
+
+    @Override
+    public LlmResult generate(LlmRequest request) {
+        LlmCircuitBreaker.Permit permit = breaker.tryAcquire();
+        if (permit == null) {
+            return LlmResult.Failure.of(LlmFailureCode.CIRCUIT_OPEN, "LLM provider circuit breaker is open");
+        }
+
+        LlmResult result;
+        try {
+            result = delegate.generate(request);
+        } catch (RuntimeException e) {
+            permit.record(LlmCircuitBreaker.Outcome.IGNORED);
+            throw e;
+        }
+
+        switch (result) {
+            case LlmResult.Success s -> permit.record(LlmCircuitBreaker.Outcome.SUCCESS);
+            case LlmResult.Failure f -> permit.record(breaker.outcomeOf(f.code()));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,37 @@
+package com.devtalk.devtalk.infra.llm;
+
+import com.devtalk.devtalk.domain.llm.LlmRequest;
+import com.devtalk.devtalk.domain.llm.LlmStreamClient;
+import com.devtalk.devtalk.domain.llm.LlmStreamEvent;
+import java.util.Objects;
+import reactor.core.publisher.Flux;
+
+/**
+ * 스트리밍 호출을 LlmCircuitBreaker로 감쌈
+ * - OPEN이면 구독 즉시 LlmCircuitOpenException (responseTimeout을 기다리지 않음)
+ * - 오류는 LlmFailureCode로 분류해서 breaker에 알림 (완료 = 성공, 취소 = 무시)
+ */
+public final class CircuitBreakingLlmStreamClient implements LlmStreamClient {
+
+    private final LlmStreamClient delegate;
+    private final LlmCircuitBreaker breaker;
+
+    public CircuitBreakingLlmStreamClient(LlmStreamClient delegate, LlmCircuitBreaker breaker) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+        this.breaker = Objects.requireNonNull(breaker, "breaker must not be null");
+    }
+
+    @Override
+    public Flux<LlmStreamEvent> stream(LlmRequest request) {
+        return Flux.defer(() -> {
+            LlmCircuitBreaker.Permit permit = breaker.tryAcquire();
+            if (permit == null) {
+                return Flux.error(new LlmCircuitOpenException("LLM provider circuit breaker is open"));
+            }
+            return delegate.stream(request)
+                .doOnComplete(() -> permit.record(LlmCircuitBreaker.Outcome.SUCCESS))
+                .doOnError(e -> permit.record(breaker.outcomeOf(LlmStreamFailures.classify(e))))
+                .doOnCancel(() -> permit.record(LlmCircuitBreaker.Outcome.IGNORED));
+        });
+    }
+}
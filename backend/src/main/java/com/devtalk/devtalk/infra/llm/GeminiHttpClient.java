@@ -14,10 +14,12 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ReactorClientHttpRequestFactory;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestClientResponseException;
+import reactor.netty.http.client.HttpClient;
 import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.ObjectMapper;
 
@@ -219,6 +221,21 @@ public class GeminiHttpClient implements LlmClient {
             .requestFactory(f)
             .build();
     }
+
+    /**
+     * 커넥션 풀(keep-alive)을 쓰는 Reactor Netty HttpClient 위에서 동작하는 RestClient
+     * - 연결 타임아웃/풀/HTTP2 설정은 httpClient 쪽 (geminiWebClient와 같은 풀을 공유)
+     * - readTimeout: 요청별 응답 타임아웃
+     */
+    public static RestClient buildRestClient(String baseUrl, HttpClient httpClient, Duration readTimeout) {
+        ReactorClientHttpRequestFactory f = new ReactorClientHttpRequestFactory(httpClient);
+        f.setReadTimeout(readTimeout);
+
+        return RestClient.builder()
+            .baseUrl(baseUrl)
+            .requestFactory(f)
+            .build();
+    }
     private static LlmFinishReason mapFinishReason(String raw) {
         if (raw == null || raw.isBlank()) return LlmFinishReason.UNKNOWN;
 
@@ -0,0 +1,86 @@
+package com.devtalk.devtalk.infra.llm;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gemini streamGenerateContent 응답([{...},{...},...])을 바이트 단위로 읽어
+ * 최상위 배열의 원소(JSON object)가 닫히는 즉시 잘라서 돌려주는 증분 프레이머
+ *
+ * - 청크마다 전체 버퍼를 다시 파싱하지 않음 => 응답 길이에 대해 선형 비용
+ * - 현재 열려 있는 원소의 바이트만 보관 => 원소(delta) 1개당 메모리 일정
+ * - 구조 문자({ } [ ] " \)는 모두 ASCII이고 UTF-8 멀티바이트는 0x80 이상이므로
+ *   청크 경계에서 한글이 잘려도 안전
+ *
+ * 구독(스트림) 1개당 인스턴스 1개, 스레드 안전하지 않음
+ */
+public final class GeminiJsonArrayFramer {
+
+    private final ByteArrayOutputStream current = new ByteArrayOutputStream(1024);
+
+    private int depth = 0;          // 0: 배열 밖, 1: 최상위 배열 안, 2+: 원소 내부
+    private boolean inString = false;
+    private boolean escaped = false;
+
+    /**
+     * 청크를 밀어 넣고, 이번 청크로 완성된 원소들을 순서대로 반환
+     */
+    public List<byte[]> feed(byte[] chunk) {
+        if (chunk == null || chunk.length == 0) return List.of();
+
+        List<byte[]> out = null;
+        int elementStart = (depth >= 2) ? 0 : -1;
+
+        for (int i = 0; i < chunk.length; i++) {
+            byte b = chunk[i];
+
+            if (inString) {
+                if (escaped) escaped = false;
+                else if (b == '\\') escaped = true;
+                else if (b == '"') inString = false;
+                continue;
+            }
+
+            switch (b) {
+                case '"' -> inString = true;
+                case '{', '[' -> {
+                    depth++;
+                    // 최상위 배열 바로 아래에서 시작하는 원소
+                    if (depth == 2) elementStart = i;
+                    // 배열로 감싸지지 않은 단일 object 응답도 원소 1개로 취급
+                    if (depth == 1 && b == '{') {
+                        depth = 2;
+                        elementStart = i;
+                    }
+                }
+                case '}', ']' -> {
+                    depth--;
+                    if (depth == 1 && elementStart >= 0) {
+                        current.write(chunk, elementStart, i - elementStart + 1);
+                        if (out == null) out = new ArrayList<>(2);
+                        out.add(current.toByteArray());
+                        current.reset();
+                        elementStart = -1;
+                    }
+                    if (depth < 0) depth = 0; // 비정상 입력 방어
+                }
+                default -> { }
+            }
+        }
+
+        // 아직 닫히지 않은 원소의 나머지는 다음 청크까지 보관
+        if (depth >= 2 && elementStart >= 0) {
+            current.write(chunk, elementStart, chunk.length - elementStart);
+        }
+
+        return (out == null) ? List.of() : out;
+    }
+
+    /**
+     * 현재 보관 중인(아직 닫히지 않은) 원소의 바이트 수
+     */
+    public int pendingBytes() {
+        return current.size();
+    }
+}
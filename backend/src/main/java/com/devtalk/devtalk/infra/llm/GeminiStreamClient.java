@@ -4,9 +4,12 @@ import com.devtalk.devtalk.domain.llm.LlmFinishReason;
 import com.devtalk.devtalk.domain.llm.LlmRequest;
 import com.devtalk.devtalk.domain.llm.LlmStreamClient;
 import com.devtalk.devtalk.domain.llm.LlmStreamEvent;
+import com.devtalk.devtalk.domain.llm.LlmTokenUsage;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.MediaType;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
@@ -30,7 +33,7 @@ public final class GeminiStreamClient implements LlmStreamClient {
     public Flux<LlmStreamEvent> stream(LlmRequest request) {
         GeminiHttpClient.GeminiGenerateRequest payload = GeminiHttpClient.GeminiGenerateRequest.from(request);
 
-        Flux<String> chunks = webClient.post()
+        Flux<DataBuffer> chunks = webClient.post()
             .uri(uriBuilder -> uriBuilder
                 .path("/v1beta/models/{model}:streamGenerateContent")
                 .queryParam("key", apiKey)
@@ -38,35 +41,40 @@ public final class GeminiStreamClient implements LlmStreamClient {
             .accept(MediaType.APPLICATION_JSON)
             .contentType(MediaType.APPLICATION_JSON)
             .bodyValue(payload)
-            .exchangeToFlux(resp -> resp.bodyToFlux(String.class));
+            .exchangeToFlux(resp -> {
+                // 429는 rate limit 신호로 구분 (AdaptiveLlmLimiter가 한도를 줄임), 그 외 오류 상태는 WebClientResponseException
+                if (resp.statusCode().value() == 429) {
+                    return resp.releaseBody().thenMany(Flux.<DataBuffer>error(new LlmRateLimitException("Gemini returned 429", true)));
+                }
+                if (resp.statusCode().isError()) {
+                    return resp.createException().flatMapMany(Flux::<DataBuffer>error);
+                }
+                return resp.bodyToFlux(DataBuffer.class);
+            });
 
         return parseGeminiJsonChunksToEvents(chunks);
     }
 
-    private Flux<LlmStreamEvent> parseGeminiJsonChunksToEvents(Flux<String> chunks) {
-        return Flux.create(sink -> {
-            StringBuilder buf = new StringBuilder();
-
-            chunks.subscribe(
-                chunk -> {
-                    if (chunk == null || chunk.isEmpty()) return;
-                    buf.append(chunk);
-
-                    try {
-                        JsonNode root = objectMapper.readTree(buf.toString());
-
-                        for (LlmStreamEvent ev : extractEvents(root)) {
-                            sink.next(ev);
-                        }
-
-                        buf.setLength(0);
-                    } catch (Exception notYet) {
-                        // 아직 JSON이 완성되지 않음 -> 계속 누적
-                    }
-                },
-                sink::error,
-                sink::complete
-            );
+    // 청크가 들어올 때마다 닫힌 배열 원소만 파싱해서 바로 흘려보냄 (전체 버퍼 재파싱 X)
+    // 구독마다 프레이머를 새로 만들기 위해 defer 사용
+    Flux<LlmStreamEvent> parseGeminiJsonChunksToEvents(Flux<DataBuffer> chunks) {
+        return Flux.defer(() -> {
+            GeminiJsonArrayFramer framer = new GeminiJsonArrayFramer();
+
+            return chunks.concatMapIterable(buffer -> {
+                byte[] bytes = new byte[buffer.readableByteCount()];
+                try {
+                    buffer.read(bytes);
+                } finally {
+                    DataBufferUtils.release(buffer);
+                }
+
+                List<LlmStreamEvent> out = new ArrayList<>();
+                for (byte[] element : framer.feed(bytes)) {
+                    out.addAll(extractEvents(objectMapper.readTree(element)));
+                }
+                return out;
+            }).doOnDiscard(DataBuffer.class, DataBufferUtils::release);
         });
     }
 
@@ -89,14 +97,22 @@ public final class GeminiStreamClient implements LlmStreamClient {
                 }
             }
 
-            // done
+            // done (마지막 원소에 usageMetadata가 같이 내려오므로 토큰 사용량도 함께 전달)
             String fr = c0.path("finishReason").asText("");
-            if (!fr.isEmpty()) out.add(LlmStreamEvent.done(toFinishReason(fr)));
+            if (!fr.isEmpty()) out.add(LlmStreamEvent.finish(toFinishReason(fr), toTokenUsage(item.path("usageMetadata"))));
         }
 
         return out;
     }
 
+    private LlmTokenUsage toTokenUsage(JsonNode usage) {
+        if (usage.isMissingNode() || usage.isNull()) return LlmTokenUsage.empty();
+        return new LlmTokenUsage(
+            usage.path("promptTokenCount").asInt(0),
+            usage.path("candidatesTokenCount").asInt(0)
+        );
+    }
+
     private LlmFinishReason toFinishReason(String fr) {
         try {
             return LlmFinishReason.valueOf(fr);
@@ -0,0 +1,251 @@
+package com.devtalk.devtalk.infra.llm;
+
+import com.devtalk.devtalk.domain.llm.LlmClient;
+import com.devtalk.devtalk.domain.llm.LlmFailureCode;
+import com.devtalk.devtalk.domain.llm.LlmRequest;
+import com.devtalk.devtalk.domain.llm.LlmResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 느린 응답(꼬리 지연)을 줄이기 위한 hedged request LlmClient 데코레이터
+ * - 첫 시도가 delay 안에 끝나지 않으면 같은 요청을 한 번 더 보내고 먼저 성공한 쪽을 사용, 나머지는 취소(interrupt)
+ * - delay: 최근 성공 응답 지연 히스토그램의 quantile (min-delay ~ max-delay로 제한)
+ *   - 샘플이 min-samples보다 적으면 hedge 하지 않음
+ * - 예산: 요청마다 budgetRatio만큼 적립, hedge 한 번에 1 사용 -> 전체 요청의 budgetRatio 비율까지만 추가 호출
+ * - 한쪽이 실패로 끝나면 다른 쪽을 기다림 (둘 다 실패하면 마지막 실패를 돌려줌)
+ *
+ * 취소는 시도 스레드 interrupt로 전달됨 (pooled RestClient는 요청이 끊기고, simple 모드는 read-timeout까지 계속 읽음)
+ *
+ * 메트릭: devtalk.llm.hedge.sent / .wins / .budget-exhausted / .delay (ms)
+ */
+public final class HedgingLlmClient implements LlmClient {
+
+    // 1ms부터 10%씩 증가하는 로그 버킷 (마지막 버킷 하한 약 90초)
+    private static final double BUCKET_GROWTH = 1.1;
+    private static final int BUCKETS = 120;
+    private static final double MAX_BUDGET = 10.0;
+
+    private final LlmClient delegate;
+    private final double quantile;
+    private final long minDelayNanos;
+    private final long maxDelayNanos;
+    private final double budgetRatio;
+    private final int minSamples;
+    private final long windowNanos;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // 최근 window 두 개(현재 + 직전)를 합쳐서 quantile 계산 -> 오래된 지연은 window마다 밀려남
+    private final ReentrantLock lock = new ReentrantLock();
+    private long[] current = new long[BUCKETS];
+    private long[] previous = new long[BUCKETS];
+    private long windowStartNanos = System.nanoTime();
+    private double budget = 0;
+
+    private final Counter sent;
+    private final Counter wins;
+    private final Counter budgetExhausted;
+
+    public HedgingLlmClient(
+        LlmClient delegate,
+        double quantile,
+        Duration minDelay,
+        Duration maxDelay,
+        double budgetRatio,
+        int minSamples,
+        Duration window,
+        MeterRegistry meterRegistry
+    ) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+        if (quantile <= 0 || quantile >= 1) throw new IllegalArgumentException("quantile must be in (0, 1)");
+        if (budgetRatio < 0 || budgetRatio > 1) throw new IllegalArgumentException("budgetRatio must be in [0, 1]");
+        if (minSamples < 1) throw new IllegalArgumentException("minSamples must be positive");
+        this.quantile = quantile;
+        this.minDelayNanos = Objects.requireNonNull(minDelay, "minDelay must not be null").toNanos();
+        this.maxDelayNanos = Objects.requireNonNull(maxDelay, "maxDelay must not be null").toNanos();
+        if (maxDelayNanos < minDelayNanos) throw new IllegalArgumentException("maxDelay must be >= minDelay");
+        this.budgetRatio = budgetRatio;
+        this.minSamples = minSamples;
+        this.windowNanos = Objects.requireNonNull(window, "window must not be null").toNanos();
+
+        this.sent = Counter.builder("devtalk.llm.hedge.sent")
+            .description("hedge requests sent after the first attempt exceeded the hedge delay")
+            .register(meterRegistry);
+        this.wins = Counter.builder("devtalk.llm.hedge.wins")
+            .description("hedged calls answered by the hedge request")
+            .register(meterRegistry);
+        this.budgetExhausted = Counter.builder("devtalk.llm.hedge.budget-exhausted")
+            .description("slow calls that were not hedged because the hedge budget was used up")
+            .register(meterRegistry);
+        Gauge.builder("devtalk.llm.hedge.delay", this, c -> {
+                long d = c.hedgeDelayNanos();
+                return (d < 0) ? Double.NaN : d / 1e6;
+            })
+            .description("current hedge delay in milliseconds (NaN while warming up)")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public LlmResult generate(LlmRequest request) {
+        creditBudget();
+
+        CompletionService<LlmResult> attempts = new ExecutorCompletionService<>(executor);
+        Future<LlmResult> primary = attempts.submit(() -> timed(request));
+        Future<LlmResult> hedge = null;
+
+        try {
+            long delay = hedgeDelayNanos();
+            if (delay >= 0) {
+                Future<LlmResult> done = attempts.poll(delay, TimeUnit.NANOSECONDS);
+                if (done != null) return resultOf(done);
+
+                if (takeBudget()) {
+                    sent.increment();
+                    hedge = attempts.submit(() -> timed(request));
+                } else {
+                    budgetExhausted.increment();
+                }
+            }
+
+            int pending = (hedge == null) ? 1 : 2;
+            LlmResult last = null;
+            while (pending-- > 0) {
+                Future<LlmResult> done = attempts.take();
+                last = resultOf(done);
+                if (last instanceof LlmResult.Success) {
+                    if (done == hedge) wins.increment();
+                    return last;
+                }
+            }
+            return last;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return LlmResult.Failure.of(LlmFailureCode.UNKNOWN, "Interrupted while waiting for the LLM response");
+        } finally {
+            // 끝나지 않은 시도는 취소
+            primary.cancel(true);
+            if (hedge != null) hedge.cancel(true);
+        }
+    }
+
+    private LlmResult timed(LlmRequest request) {
+        long start = System.nanoTime();
+        LlmResult result = delegate.generate(request);
+        if (result instanceof LlmResult.Success && !Thread.currentThread().isInterrupted()) {
+            record(System.nanoTime() - start);
+        }
+        return result;
+    }
+
+    private static LlmResult resultOf(Future<LlmResult> done) {
+        try {
+            return done.get();
+        } catch (ExecutionException e) {
+            // delegate가 던진 예외는 호출한 쪽에 그대로 전달
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            if (e.getCause() instanceof Error err) throw err;
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            // done은 이미 완료된 future라 대기하지 않음
+            Thread.currentThread().interrupt();
+            return LlmResult.Failure.of(LlmFailureCode.UNKNOWN, "Interrupted while reading the LLM response");
+        }
+    }
+
+    void record(long latencyNanos) {
+        int bucket = bucketOf(latencyNanos);
+        lock.lock();
+        try {
+            rotateIfNeeded(System.nanoTime());
+            current[bucket]++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 현재 hedge delay (샘플이 부족하면 -1)
+     */
+    long hedgeDelayNanos() {
+        lock.lock();
+        try {
+            rotateIfNeeded(System.nanoTime());
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) total += current[i] + previous[i];
+            if (total < minSamples) return -1;
+
+            long rank = (long) Math.ceil(total * quantile);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += current[i] + previous[i];
+                if (seen >= rank) {
+                    return Math.max(minDelayNanos, Math.min(maxDelayNanos, upperBoundNanos(i)));
+                }
+            }
+            return maxDelayNanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void creditBudget() {
+        lock.lock();
+        try {
+            budget = Math.min(MAX_BUDGET, budget + budgetRatio);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean takeBudget() {
+        lock.lock();
+        try {
+            if (budget < 1) return false;
+            budget -= 1;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // lock 안에서 호출
+    private void rotateIfNeeded(long now) {
+        long elapsed = now - windowStartNanos;
+        if (elapsed < windowNanos) return;
+
+        if (elapsed < 2 * windowNanos) {
+            long[] recycled = previous;
+            previous = current;
+            Arrays.fill(recycled, 0);
+            current = recycled;
+        } else {
+            // window 두 개 이상 비었으면 둘 다 비움
+            Arrays.fill(current, 0);
+            Arrays.fill(previous, 0);
+        }
+        windowStartNanos = now;
+    }
+
+    private static int bucketOf(long nanos) {
+        double ms = nanos / 1e6;
+        if (ms <= 1) return 0;
+        int b = (int) Math.ceil(Math.log(ms) / Math.log(BUCKET_GROWTH));
+        return Math.min(BUCKETS - 1, b);
+    }
+
+    private static long upperBoundNanos(int bucket) {
+        return (long) (Math.pow(BUCKET_GROWTH, bucket) * 1_000_000L);
+    }
+}
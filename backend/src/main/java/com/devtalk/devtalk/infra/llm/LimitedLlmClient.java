@@ -0,0 +1,64 @@
+package com.devtalk.devtalk.infra.llm;
+
+import com.devtalk.devtalk.domain.llm.LlmClient;
+import com.devtalk.devtalk.domain.llm.LlmFailureCode;
+import com.devtalk.devtalk.domain.llm.LlmPriority;
+import com.devtalk.devtalk.domain.llm.LlmRequest;
+import com.devtalk.devtalk.domain.llm.LlmResult;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * 블로킹 LlmClient 호출을 AdaptiveLlmLimiter 자리 안에서 실행
+ * - 자리를 못 얻으면(대기 시간 초과/대기열 가득) RATE_LIMIT 실패로 돌려줌
+ * - 결과(성공 지연, RATE_LIMIT 실패)를 limiter에 알려 한도를 조정
+ */
+public final class LimitedLlmClient implements LlmClient {
+
+    private final LlmClient delegate;
+    private final AdaptiveLlmLimiter limiter;
+
+    public LimitedLlmClient(LlmClient delegate, AdaptiveLlmLimiter limiter) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+        this.limiter = Objects.requireNonNull(limiter, "limiter must not be null");
+    }
+
+    @Override
+    public LlmResult generate(LlmRequest request) {
+        LlmPriority priority = (request.options() == null) ? LlmPriority.INTERACTIVE : request.options().priority();
+
+        CompletableFuture<AdaptiveLlmLimiter.Permit> pending = limiter.acquire(priority);
+        AdaptiveLlmLimiter.Permit permit;
+        try {
+            permit = pending.get();
+        } catch (ExecutionException e) {
+            return LlmResult.Failure.of(LlmFailureCode.RATE_LIMIT, "Client-side LLM limiter rejected the request", e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            // 취소 직전에 자리를 받았으면 반납
+            if (!pending.cancel(false) && !pending.isCompletedExceptionally()) pending.join().release(AdaptiveLlmLimiter.Outcome.IGNORED);
+            return LlmResult.Failure.of(LlmFailureCode.UNKNOWN, "Interrupted while waiting for the LLM limiter");
+        }
+
+        long start = System.nanoTime();
+        LlmResult result;
+        try {
+            result = delegate.generate(request);
+        } catch (RuntimeException e) {
+            permit.release(AdaptiveLlmLimiter.Outcome.IGNORED);
+            throw e;
+        }
+
+        switch (result) {
+            case LlmResult.Success s -> {
+                permit.recordLatency(AdaptiveLlmLimiter.LatencyKind.RESPONSE, System.nanoTime() - start);
+                permit.release(AdaptiveLlmLimiter.Outcome.SUCCESS);
+            }
+            case LlmResult.Failure f -> permit.release(
+                (f.code() == LlmFailureCode.RATE_LIMIT) ? AdaptiveLlmLimiter.Outcome.RATE_LIMITED : AdaptiveLlmLimiter.Outcome.IGNORED
+            );
+        }
+        return result;
+    }
+}
@@ -0,0 +1,53 @@
+package com.devtalk.devtalk.infra.llm;
+
+import com.devtalk.devtalk.domain.llm.LlmPriority;
+import com.devtalk.devtalk.domain.llm.LlmRequest;
+import com.devtalk.devtalk.domain.llm.LlmStreamClient;
+import com.devtalk.devtalk.domain.llm.LlmStreamEvent;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 스트리밍 호출을 AdaptiveLlmLimiter 자리 안에서 실행 (대기는 논블로킹)
+ * - 지연 샘플: 첫 이벤트까지 시간
+ * - 첫 이벤트가 오면 동시 실행 자리는 바로 반납 (제한 대상은 요청 시작, 긴 생성이 다른 스트림을 막지 않도록)
+ * - 완료/오류/취소 어느 경우든 결과 반영 + 남은 자리 반납, 429(LlmRateLimitException)는 한도 감소 신호
+ */
+public final class LimitedLlmStreamClient implements LlmStreamClient {
+
+    private final LlmStreamClient delegate;
+    private final AdaptiveLlmLimiter limiter;
+
+    public LimitedLlmStreamClient(LlmStreamClient delegate, AdaptiveLlmLimiter limiter) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+        this.limiter = Objects.requireNonNull(limiter, "limiter must not be null");
+    }
+
+    @Override
+    public Flux<LlmStreamEvent> stream(LlmRequest request) {
+        LlmPriority priority = (request.options() == null) ? LlmPriority.INTERACTIVE : request.options().priority();
+
+        return Flux.usingWhen(
+            Mono.fromFuture(() -> limiter.acquire(priority)),
+            permit -> {
+                long start = System.nanoTime();
+                AtomicBoolean first = new AtomicBoolean();
+                return delegate.stream(request).doOnNext(evt -> {
+                    if (first.compareAndSet(false, true)) {
+                        permit.recordLatency(AdaptiveLlmLimiter.LatencyKind.FIRST_EVENT, System.nanoTime() - start);
+                        permit.releaseSlot();
+                    }
+                });
+            },
+            permit -> Mono.fromRunnable(() -> permit.release(AdaptiveLlmLimiter.Outcome.SUCCESS)),
+            (permit, err) -> Mono.fromRunnable(() -> permit.release(
+                (err instanceof LlmRateLimitException r && r.providerRejected())
+                    ? AdaptiveLlmLimiter.Outcome.RATE_LIMITED
+                    : AdaptiveLlmLimiter.Outcome.IGNORED
+            )),
+            permit -> Mono.fromRunnable(() -> permit.release(AdaptiveLlmLimiter.Outcome.IGNORED))
+        );
+    }
+}
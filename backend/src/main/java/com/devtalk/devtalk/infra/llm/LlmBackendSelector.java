@@ -0,0 +1,215 @@
+package com.devtalk.devtalk.infra.llm;
+
+import com.devtalk.devtalk.domain.llm.LlmFailureCode;
+import com.devtalk.devtalk.domain.llm.LlmOptions;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 여러 LLM 백엔드 중 요청을 보낼 순서를 정함 (RoutingLlmClient / RoutingLlmStreamClient 공용)
+ * - 후보: 요청 route를 가진 백엔드 (없으면 default route 백엔드, 그것도 없으면 전체)
+ * - 점수 = 지연 EWMA x (진행 중 호출 + 1) / (1 - 오류율 EWMA), 낮은 순
+ *   - 아직 샘플이 없는 백엔드가 먼저 (워밍업), 성공 없이 실패만 있으면 맨 뒤
+ *   - exploreRatio 확률로 1순위 대신 다른 후보를 먼저 시도 (한동안 안 쓰인 백엔드의 통계 갱신)
+ * - 지연 샘플: 블로킹은 전체 응답 시간, 스트리밍은 첫 이벤트까지 시간
+ * - 오류율에는 백엔드 탓인 실패(retryable)만 반영, 요청 자체의 문제/취소는 무시
+ *
+ * 메트릭: devtalk.llm.router.requests{client,backend} / .failovers{client}
+ *        / .latency{client,backend} (ms) / .error-rate{client,backend}
+ */
+public final class LlmBackendSelector<T> {
+
+    public record Backend<T>(String name, Set<String> routes, T client) {
+        public Backend {
+            Objects.requireNonNull(name, "name must not be null");
+            Objects.requireNonNull(client, "client must not be null");
+            routes = (routes == null || routes.isEmpty()) ? Set.of(LlmOptions.ROUTE_DEFAULT) : Set.copyOf(routes);
+        }
+    }
+
+    public enum Outcome { SUCCESS, FAILURE, IGNORED }
+
+    // 다른 백엔드로 다시 보내 볼 만한 실패 (키/모델/서버별로 다를 수 있음)
+    private static final Set<LlmFailureCode> RETRYABLE = EnumSet.of(
+        LlmFailureCode.NETWORK_ERROR,
+        LlmFailureCode.TIMEOUT,
+        LlmFailureCode.PROVIDER_ERROR,
+        LlmFailureCode.RATE_LIMIT,
+        LlmFailureCode.AUTH_ERROR
+    );
+
+    private static final double LATENCY_ALPHA = 0.2;
+    private static final double ERROR_ALPHA = 0.1;
+    private static final double MAX_ERROR_RATE = 0.95;
+
+    private static final class Stats {
+        double latencyNanos = -1;   // 샘플 없음
+        double errorRate = 0;
+        int inFlight = 0;
+    }
+
+    /**
+     * 백엔드 1회 시도. 끝나면 finish를 한 번 (여러 번 불러도 한 번만 반영)
+     */
+    public final class Attempt {
+        private final Backend<T> backend;
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private volatile long latencyNanos = -1;
+
+        private Attempt(Backend<T> backend) {
+            this.backend = backend;
+        }
+
+        public T client() {
+            return backend.client();
+        }
+
+        public void recordLatency(long nanos) {
+            this.latencyNanos = nanos;
+        }
+
+        public void finish(Outcome outcome) {
+            if (!finished.compareAndSet(false, true)) return;
+            LlmBackendSelector.this.finish(this, outcome);
+        }
+    }
+
+    private final List<Backend<T>> backends;
+    private final double exploreRatio;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Stats> stats = new HashMap<>();
+
+    private final Map<String, Counter> requests = new HashMap<>();
+    private final Counter failovers;
+
+    public LlmBackendSelector(List<Backend<T>> backends, double exploreRatio, String clientTag, MeterRegistry meterRegistry) {
+        if (backends == null || backends.isEmpty()) throw new IllegalArgumentException("at least one backend is required");
+        if (exploreRatio < 0 || exploreRatio >= 1) throw new IllegalArgumentException("exploreRatio must be in [0, 1)");
+        this.backends = List.copyOf(backends);
+        this.exploreRatio = exploreRatio;
+
+        for (Backend<T> b : this.backends) {
+            if (stats.putIfAbsent(b.name(), new Stats()) != null) {
+                throw new IllegalArgumentException("duplicate backend name: " + b.name());
+            }
+            String name = b.name();
+            requests.put(name, Counter.builder("devtalk.llm.router.requests")
+                .tag("client", clientTag)
+                .tag("backend", name)
+                .description("LLM attempts sent to each routed backend")
+                .register(meterRegistry));
+            Gauge.builder("devtalk.llm.router.latency", this, s -> s.read(name, st -> st.latencyNanos < 0 ? Double.NaN : st.latencyNanos / 1e6))
+                .tag("client", clientTag)
+                .tag("backend", name)
+                .description("EWMA latency of each routed backend in milliseconds")
+                .register(meterRegistry);
+            Gauge.builder("devtalk.llm.router.error-rate", this, s -> s.read(name, st -> st.errorRate))
+                .tag("client", clientTag)
+                .tag("backend", name)
+                .description("EWMA of retryable failures of each routed backend")
+                .register(meterRegistry);
+        }
+        this.failovers = Counter.builder("devtalk.llm.router.failovers")
+            .tag("client", clientTag)
+            .description("LLM attempts retried on another backend after a retryable failure")
+            .register(meterRegistry);
+    }
+
+    public static boolean retryable(LlmFailureCode code) {
+        return RETRYABLE.contains(code);
+    }
+
+    /**
+     * route의 후보 백엔드를 시도할 순서대로
+     */
+    public List<Backend<T>> rank(String route) {
+        List<Backend<T>> candidates = candidates(route);
+
+        List<Backend<T>> ranked;
+        lock.lock();
+        try {
+            ranked = new ArrayList<>(candidates);
+            Map<String, Double> scores = new HashMap<>();
+            for (Backend<T> b : ranked) scores.put(b.name(), score(stats.get(b.name())));
+            ranked.sort(Comparator.comparingDouble(b -> scores.get(b.name())));
+        } finally {
+            lock.unlock();
+        }
+
+        if (ranked.size() > 1 && ThreadLocalRandom.current().nextDouble() < exploreRatio) {
+            int pick = 1 + ThreadLocalRandom.current().nextInt(ranked.size() - 1);
+            ranked.add(0, ranked.remove(pick));
+        }
+        return ranked;
+    }
+
+    public Attempt begin(Backend<T> backend) {
+        lock.lock();
+        try {
+            stats.get(backend.name()).inFlight++;
+        } finally {
+            lock.unlock();
+        }
+        requests.get(backend.name()).increment();
+        return new Attempt(backend);
+    }
+
+    public void recordFailover() {
+        failovers.increment();
+    }
+
+    private List<Backend<T>> candidates(String route) {
+        String r = (route == null) ? LlmOptions.ROUTE_DEFAULT : route;
+        List<Backend<T>> matched = backends.stream().filter(b -> b.routes().contains(r)).toList();
+        if (!matched.isEmpty()) return matched;
+        matched = backends.stream().filter(b -> b.routes().contains(LlmOptions.ROUTE_DEFAULT)).toList();
+        return matched.isEmpty() ? backends : matched;
+    }
+
+    private void finish(Attempt attempt, Outcome outcome) {
+        lock.lock();
+        try {
+            Stats s = stats.get(attempt.backend.name());
+            s.inFlight--;
+            if (outcome == Outcome.IGNORED) return;
+
+            double failed = (outcome == Outcome.FAILURE) ? 1 : 0;
+            s.errorRate += ERROR_ALPHA * (failed - s.errorRate);
+            long latency = attempt.latencyNanos;
+            if (outcome == Outcome.SUCCESS && latency >= 0) {
+                s.latencyNanos = (s.latencyNanos < 0) ? latency : s.latencyNanos + LATENCY_ALPHA * (latency - s.latencyNanos);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // lock 안에서 호출
+    private static double score(Stats s) {
+        if (s.latencyNanos < 0) return (s.errorRate == 0) ? 0 : Double.POSITIVE_INFINITY;   // 성공 없이 실패만 -> 맨 뒤 (탐색으로만 시도)
+        return s.latencyNanos * (s.inFlight + 1) / (1 - Math.min(MAX_ERROR_RATE, s.errorRate));
+    }
+
+    private double read(String name, ToDoubleFunction<Stats> f) {
+        lock.lock();
+        try {
+            return f.applyAsDouble(stats.get(name));
+        } finally {
+            lock.unlock();
+        }
+    }
+}
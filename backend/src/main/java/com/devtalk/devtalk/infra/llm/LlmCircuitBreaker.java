@@ -0,0 +1,221 @@
+package com.devtalk.devtalk.infra.llm;
+
+import com.devtalk.devtalk.domain.llm.LlmAvailability;
+import com.devtalk.devtalk.domain.llm.LlmFailureCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * LLM 제공자 circuit breaker (블로킹 + 스트리밍 공용)
+ * - CLOSED: 최근 slidingWindow개 호출 중 failureCodes 비율이 failureRateThreshold 이상이면 OPEN (minimumCalls 이상 쌓였을 때만)
+ * - OPEN: openDuration 동안 호출하지 않고 바로 거절
+ * - HALF_OPEN: openDuration이 지나면 halfOpenCalls개만 시험 호출, 모두 성공하면 CLOSED, 하나라도 실패하면 다시 OPEN
+ * - failureCodes에 없는 실패(AUTH/INVALID_REQUEST, limiter RATE_LIMIT, 취소 등)는 집계하지 않음
+ * - 상태가 바뀌기 전에 시작한 호출의 결과는 무시 (epoch로 구분)
+ *
+ * 메트릭: devtalk.llm.circuit.state (0=closed, 1=open, 2=half_open) / .transitions{from,to} / .rejected
+ */
+public final class LlmCircuitBreaker implements LlmAvailability {
+
+    private static final Logger log = LoggerFactory.getLogger(LlmCircuitBreaker.class);
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    public enum Outcome { SUCCESS, FAILURE, IGNORED }
+
+    public record Settings(
+        double failureRateThreshold,
+        int slidingWindow,
+        int minimumCalls,
+        Duration openDuration,
+        int halfOpenCalls,
+        Set<LlmFailureCode> failureCodes
+    ) {
+        public Settings {
+            if (failureRateThreshold <= 0 || failureRateThreshold > 1) throw new IllegalArgumentException("failureRateThreshold must be in (0, 1]");
+            if (slidingWindow < 1) throw new IllegalArgumentException("slidingWindow must be positive");
+            if (minimumCalls < 1 || minimumCalls > slidingWindow) throw new IllegalArgumentException("need 1 <= minimumCalls <= slidingWindow");
+            if (halfOpenCalls < 1) throw new IllegalArgumentException("halfOpenCalls must be positive");
+            Objects.requireNonNull(openDuration, "openDuration must not be null");
+            failureCodes = failureCodes.isEmpty() ? EnumSet.noneOf(LlmFailureCode.class) : EnumSet.copyOf(failureCodes);
+        }
+    }
+
+    /**
+     * 허용된 호출 1건. 끝나면 record를 한 번 (여러 번 불러도 한 번만 반영)
+     */
+    public final class Permit {
+        private final long epoch;
+        private final AtomicBoolean recorded = new AtomicBoolean();
+
+        private Permit(long epoch) {
+            this.epoch = epoch;
+        }
+
+        public void record(Outcome outcome) {
+            if (!recorded.compareAndSet(false, true)) return;
+            LlmCircuitBreaker.this.record(this, outcome);
+        }
+    }
+
+    private final Settings settings;
+    private final MeterRegistry meterRegistry;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private State state = State.CLOSED;
+    private long epoch = 0;
+    private long openUntilNanos;
+
+    // CLOSED: 최근 호출 결과 ring buffer (true = 실패)
+    private final boolean[] window;
+    private int windowIndex;
+    private int windowCount;
+    private int windowFailures;
+
+    // HALF_OPEN: 시험 호출
+    private int trialsInFlight;
+    private int trialSuccesses;
+
+    private final Counter rejected;
+
+    public LlmCircuitBreaker(Settings settings, MeterRegistry meterRegistry) {
+        this.settings = Objects.requireNonNull(settings, "settings must not be null");
+        this.meterRegistry = Objects.requireNonNull(meterRegistry, "meterRegistry must not be null");
+        this.window = new boolean[settings.slidingWindow()];
+
+        Gauge.builder("devtalk.llm.circuit.state", this, b -> b.state().ordinal())
+            .description("LLM circuit breaker state (0=closed, 1=open, 2=half_open)")
+            .register(meterRegistry);
+        this.rejected = Counter.builder("devtalk.llm.circuit.rejected")
+            .description("LLM calls failed fast because the circuit breaker was open")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 호출해도 되면 Permit, 아니면 null (OPEN이거나 HALF_OPEN 시험 호출이 다 찬 경우)
+     */
+    public Permit tryAcquire() {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            if (state == State.OPEN && now - openUntilNanos >= 0) {
+                transition(State.HALF_OPEN);
+            }
+
+            switch (state) {
+                case CLOSED -> {
+                    return new Permit(epoch);
+                }
+                case HALF_OPEN -> {
+                    if (trialsInFlight + trialSuccesses < settings.halfOpenCalls()) {
+                        trialsInFlight++;
+                        return new Permit(epoch);
+                    }
+                }
+                case OPEN -> { }
+            }
+        } finally {
+            lock.unlock();
+        }
+        rejected.increment();
+        return null;
+    }
+
+    public Outcome outcomeOf(LlmFailureCode code) {
+        return settings.failureCodes().contains(code) ? Outcome.FAILURE : Outcome.IGNORED;
+    }
+
+    @Override
+    public boolean acceptingCalls() {
+        lock.lock();
+        try {
+            return state != State.OPEN || System.nanoTime() - openUntilNanos >= 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public State state() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void record(Permit permit, Outcome outcome) {
+        lock.lock();
+        try {
+            if (permit.epoch != epoch) return;   // 상태가 바뀌기 전에 시작한 호출
+
+            if (state == State.HALF_OPEN) {
+                trialsInFlight--;
+                if (outcome == Outcome.FAILURE) {
+                    open();
+                } else if (outcome == Outcome.SUCCESS && ++trialSuccesses >= settings.halfOpenCalls()) {
+                    transition(State.CLOSED);
+                }
+                return;
+            }
+
+            if (state != State.CLOSED || outcome == Outcome.IGNORED) return;
+
+            boolean failed = outcome == Outcome.FAILURE;
+            if (windowCount == window.length) {
+                if (window[windowIndex]) windowFailures--;
+            } else {
+                windowCount++;
+            }
+            window[windowIndex] = failed;
+            if (failed) windowFailures++;
+            windowIndex = (windowIndex + 1) % window.length;
+
+            if (windowCount >= settings.minimumCalls()
+                && windowFailures >= settings.failureRateThreshold() * windowCount) {
+                open();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // lock 안에서 호출
+    private void open() {
+        openUntilNanos = System.nanoTime() + settings.openDuration().toNanos();
+        transition(State.OPEN);
+    }
+
+    // lock 안에서 호출, 상태별 집계를 초기화하고 epoch를 올림
+    private void transition(State to) {
+        State from = state;
+        state = to;
+        epoch++;
+        windowIndex = 0;
+        windowCount = 0;
+        windowFailures = 0;
+        trialsInFlight = 0;
+        trialSuccesses = 0;
+
+        Counter.builder("devtalk.llm.circuit.transitions")
+            .tag("from", from.name().toLowerCase())
+            .tag("to", to.name().toLowerCase())
+            .description("LLM circuit breaker state transitions")
+            .register(meterRegistry)
+            .increment();
+        if (to == State.OPEN) {
+            log.warn("LLM circuit breaker {} -> OPEN for {}ms", from, settings.openDuration().toMillis());
+        } else {
+            log.info("LLM circuit breaker {} -> {}", from, to);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.devtalk.devtalk.infra.llm;
+
+/**
+ * circuit breaker가 열려 있어 스트리밍 호출을 시작하지 않음
+ */
+public class LlmCircuitOpenException extends RuntimeException {
+
+    public LlmCircuitOpenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,60 @@
+package com.devtalk.devtalk.infra.llm;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import java.net.SocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Reactor Netty 커넥션 풀 상태를 devtalk 메트릭으로 노출 (원격 주소별 풀마다 등록, 풀이 사라지면 해제)
+ * - devtalk.llm.http.pool.active  : 요청에 사용 중인 커넥션
+ * - devtalk.llm.http.pool.idle    : keep-alive로 대기 중인 커넥션
+ * - devtalk.llm.http.pool.pending : 커넥션을 기다리는 요청 (0보다 크게 유지되면 max-connections 부족)
+ * - devtalk.llm.http.pool.total   : 열려 있는 커넥션 전체
+ */
+public final class LlmConnectionPoolMetrics implements ConnectionProvider.MeterRegistrar {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, List<Meter>> registered = new ConcurrentHashMap<>();
+
+    public LlmConnectionPoolMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = Objects.requireNonNull(meterRegistry, "meterRegistry must not be null");
+    }
+
+    @Override
+    public void registerMetrics(String poolName, String id, SocketAddress remoteAddress, ConnectionPoolMetrics metrics) {
+        Tags tags = Tags.of("pool", poolName, "remote", String.valueOf(remoteAddress));
+        registered.computeIfAbsent(key(poolName, id, remoteAddress), k -> List.of(
+            gauge("devtalk.llm.http.pool.active", "connections in use by a request", tags, metrics, ConnectionPoolMetrics::acquiredSize),
+            gauge("devtalk.llm.http.pool.idle", "kept-alive connections waiting for reuse", tags, metrics, ConnectionPoolMetrics::idleSize),
+            gauge("devtalk.llm.http.pool.pending", "requests waiting for a connection", tags, metrics, ConnectionPoolMetrics::pendingAcquireSize),
+            gauge("devtalk.llm.http.pool.total", "open connections", tags, metrics, ConnectionPoolMetrics::allocatedSize)
+        ));
+    }
+
+    @Override
+    public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+        List<Meter> meters = registered.remove(key(poolName, id, remoteAddress));
+        if (meters != null) meters.forEach(meterRegistry::remove);
+    }
+
+    private Meter gauge(String name, String description, Tags tags, ConnectionPoolMetrics metrics, ToDoubleFunction<ConnectionPoolMetrics> value) {
+        return Gauge.builder(name, metrics, value)
+            .description(description)
+            .tags(tags)
+            .strongReference(true)
+            .register(meterRegistry);
+    }
+
+    private static String key(String poolName, String id, SocketAddress remoteAddress) {
+        return poolName + "|" + id + "|" + remoteAddress;
+    }
+}
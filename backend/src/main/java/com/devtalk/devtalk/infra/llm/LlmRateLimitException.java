@@ -0,0 +1,20 @@
+package com.devtalk.devtalk.infra.llm;
+
+/**
+ * 스트리밍 호출이 rate limit에 걸림
+ * - Gemini가 429를 돌려준 경우
+ * - 클라이언트 측 제한(AdaptiveLlmLimiter)에서 대기 시간/대기열을 넘은 경우 (providerRejected=false)
+ */
+public class LlmRateLimitException extends RuntimeException {
+
+    private final boolean providerRejected;
+
+    public LlmRateLimitException(String message, boolean providerRejected) {
+        super(message);
+        this.providerRejected = providerRejected;
+    }
+
+    public boolean providerRejected() {
+        return providerRejected;
+    }
+}
@@ -0,0 +1,39 @@
+package com.devtalk.devtalk.infra.llm;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 여러 Gemini 백엔드 라우팅 설정 (llm.router.*)
+ * - backends: 백엔드별 모델/키/base-url(Gemini 호환 서버)/담당 route
+ * - maxAttempts: retryable 실패 시 시도할 백엔드 수
+ * - exploreRatio: 1순위가 아닌 백엔드를 먼저 시도하는 비율
+ */
+public record LlmRouterSettings(List<Backend> backends, int maxAttempts, double exploreRatio) {
+
+    /**
+     * baseUrl == null이면 llm.gemini.base-url 클라이언트를 그대로 사용
+     */
+    public record Backend(String name, String model, String apiKey, String baseUrl, Set<String> routes) {
+        public Backend {
+            Objects.requireNonNull(name, "name must not be null");
+            if (model == null || model.isBlank()) throw new IllegalArgumentException("model is required for backend " + name);
+            Objects.requireNonNull(apiKey, "apiKey must not be null");
+            routes = Set.copyOf(routes);
+        }
+    }
+
+    public LlmRouterSettings {
+        if (backends == null || backends.isEmpty()) throw new IllegalArgumentException("llm.router.backends must not be empty");
+        if (maxAttempts < 1) throw new IllegalArgumentException("maxAttempts must be positive");
+        backends = List.copyOf(backends);
+    }
+
+    // 응답 캐시 key에 쓰는 모델 이름 (백엔드 구성이 바뀌면 캐시도 분리)
+    public String cacheModel() {
+        StringBuilder sb = new StringBuilder("router");
+        for (Backend b : backends) sb.append(':').append(b.name()).append('=').append(b.model());
+        return sb.toString();
+    }
+}
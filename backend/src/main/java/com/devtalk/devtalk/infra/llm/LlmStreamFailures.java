@@ -0,0 +1,36 @@
+package com.devtalk.devtalk.infra.llm;
+
+import com.devtalk.devtalk.domain.llm.LlmFailureCode;
+import java.io.IOException;
+import java.util.concurrent.TimeoutException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+/**
+ * 스트리밍 오류(Throwable)를 LlmFailureCode로 분류 (GeminiHttpClient의 블로킹 실패 분류와 맞춤)
+ */
+final class LlmStreamFailures {
+
+    private LlmStreamFailures() {
+    }
+
+    static LlmFailureCode classify(Throwable error) {
+        if (error instanceof LlmCircuitOpenException) return LlmFailureCode.CIRCUIT_OPEN;
+        if (error instanceof LlmRateLimitException) return LlmFailureCode.RATE_LIMIT;
+        if (error instanceof WebClientResponseException e) {
+            int s = e.getStatusCode().value();
+            if (s == 401 || s == 403) return LlmFailureCode.AUTH_ERROR;
+            if (s == 429) return LlmFailureCode.RATE_LIMIT;
+            if (s >= 400 && s < 500) return LlmFailureCode.INVALID_REQUEST;
+            if (s >= 500) return LlmFailureCode.PROVIDER_ERROR;
+            return LlmFailureCode.UNKNOWN;
+        }
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof TimeoutException || t instanceof io.netty.handler.timeout.TimeoutException) {
+                return LlmFailureCode.TIMEOUT;
+            }
+        }
+        if (error instanceof WebClientRequestException || error instanceof IOException) return LlmFailureCode.NETWORK_ERROR;
+        return LlmFailureCode.UNKNOWN;
+    }
+}
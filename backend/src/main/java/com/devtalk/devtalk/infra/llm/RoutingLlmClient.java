@@ -0,0 +1,60 @@
+package com.devtalk.devtalk.infra.llm;
+
+import com.devtalk.devtalk.domain.llm.LlmClient;
+import com.devtalk.devtalk.domain.llm.LlmRequest;
+import com.devtalk.devtalk.domain.llm.LlmResult;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 여러 백엔드(모델/키/Gemini 호환 서버) 중 LlmBackendSelector가 고른 순서로 블로킹 호출
+ * - retryable 실패면 다음 백엔드로 (maxAttempts까지), 그 외 실패는 그대로 돌려줌
+ * - 모두 실패하면 마지막 실패를 돌려줌
+ */
+public final class RoutingLlmClient implements LlmClient {
+
+    private final LlmBackendSelector<LlmClient> selector;
+    private final int maxAttempts;
+
+    public RoutingLlmClient(LlmBackendSelector<LlmClient> selector, int maxAttempts) {
+        this.selector = Objects.requireNonNull(selector, "selector must not be null");
+        if (maxAttempts < 1) throw new IllegalArgumentException("maxAttempts must be positive");
+        this.maxAttempts = maxAttempts;
+    }
+
+    @Override
+    public LlmResult generate(LlmRequest request) {
+        List<LlmBackendSelector.Backend<LlmClient>> ranked = selector.rank((request.options() == null) ? null : request.options().route());
+        int attempts = Math.min(maxAttempts, ranked.size());
+
+        LlmResult last = null;
+        for (int i = 0; i < attempts; i++) {
+            if (i > 0) selector.recordFailover();
+
+            LlmBackendSelector<LlmClient>.Attempt attempt = selector.begin(ranked.get(i));
+            long start = System.nanoTime();
+            LlmResult result;
+            try {
+                result = attempt.client().generate(request);
+            } catch (RuntimeException e) {
+                attempt.finish(LlmBackendSelector.Outcome.IGNORED);
+                throw e;
+            }
+
+            if (result instanceof LlmResult.Failure f && LlmBackendSelector.retryable(f.code())) {
+                attempt.finish(LlmBackendSelector.Outcome.FAILURE);
+                last = result;
+                if (Thread.currentThread().isInterrupted()) break;   // 취소된 호출(hedge 등)은 다른 백엔드로 넘기지 않음
+                continue;
+            }
+            if (result instanceof LlmResult.Success) {
+                attempt.recordLatency(System.nanoTime() - start);
+                attempt.finish(LlmBackendSelector.Outcome.SUCCESS);
+            } else {
+                attempt.finish(LlmBackendSelector.Outcome.IGNORED);
+            }
+            return result;
+        }
+        return last;
+    }
+}
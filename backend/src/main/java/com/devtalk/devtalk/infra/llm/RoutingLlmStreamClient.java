@@ -0,0 +1,59 @@
+package com.devtalk.devtalk.infra.llm;
+
+import com.devtalk.devtalk.domain.llm.LlmFailureCode;
+import com.devtalk.devtalk.domain.llm.LlmRequest;
+import com.devtalk.devtalk.domain.llm.LlmStreamClient;
+import com.devtalk.devtalk.domain.llm.LlmStreamEvent;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import reactor.core.publisher.Flux;
+
+/**
+ * 여러 백엔드 중 LlmBackendSelector가 고른 순서로 스트리밍 호출
+ * - 첫 이벤트 전에 retryable 오류가 나면 다음 백엔드로 (maxAttempts까지)
+ * - 이벤트를 하나라도 흘려보낸 뒤의 오류는 그대로 전달 (delta 중복 방지)
+ */
+public final class RoutingLlmStreamClient implements LlmStreamClient {
+
+    private final LlmBackendSelector<LlmStreamClient> selector;
+    private final int maxAttempts;
+
+    public RoutingLlmStreamClient(LlmBackendSelector<LlmStreamClient> selector, int maxAttempts) {
+        this.selector = Objects.requireNonNull(selector, "selector must not be null");
+        if (maxAttempts < 1) throw new IllegalArgumentException("maxAttempts must be positive");
+        this.maxAttempts = maxAttempts;
+    }
+
+    @Override
+    public Flux<LlmStreamEvent> stream(LlmRequest request) {
+        return Flux.defer(() -> {
+            List<LlmBackendSelector.Backend<LlmStreamClient>> ranked = selector.rank((request.options() == null) ? null : request.options().route());
+            return attempt(ranked, 0, Math.min(maxAttempts, ranked.size()), request);
+        });
+    }
+
+    private Flux<LlmStreamEvent> attempt(List<LlmBackendSelector.Backend<LlmStreamClient>> ranked, int index, int attempts, LlmRequest request) {
+        return Flux.defer(() -> {
+            LlmBackendSelector<LlmStreamClient>.Attempt attempt = selector.begin(ranked.get(index));
+            long start = System.nanoTime();
+            AtomicBoolean emitted = new AtomicBoolean();
+
+            return attempt.client().stream(request)
+                .doOnNext(evt -> {
+                    if (emitted.compareAndSet(false, true)) attempt.recordLatency(System.nanoTime() - start);
+                })
+                .doOnComplete(() -> attempt.finish(LlmBackendSelector.Outcome.SUCCESS))
+                .doOnCancel(() -> attempt.finish(LlmBackendSelector.Outcome.IGNORED))
+                .onErrorResume(e -> {
+                    LlmFailureCode code = LlmStreamFailures.classify(e);
+                    boolean retryable = LlmBackendSelector.retryable(code);
+                    attempt.finish(retryable ? LlmBackendSelector.Outcome.FAILURE : LlmBackendSelector.Outcome.IGNORED);
+
+                    if (!retryable || emitted.get() || index + 1 >= attempts) return Flux.error(e);
+                    selector.recordFailover();
+                    return attempt(ranked, index + 1, attempts, request);
+                });
+        });
+    }
+}
@@ -0,0 +1,430 @@
+package com.devtalk.devtalk.infra.persistence;
+
+import com.devtalk.devtalk.domain.message.Message;
+import com.devtalk.devtalk.domain.message.MessageCursor;
+import com.devtalk.devtalk.domain.message.MessagePage;
+import com.devtalk.devtalk.domain.message.MessageRepository;
+import com.devtalk.devtalk.domain.message.MessageRole;
+import com.devtalk.devtalk.domain.message.MessageStatus;
+import com.devtalk.devtalk.domain.message.PageDirection;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * 세션별 최근 메시지를 메모리에 두는 read-through 캐시 (메시지는 저장 후 바뀌지 않음)
+ * - 미스: 최신 loadRows건을 읽어 캐시 (세션이 더 길면 그 앞은 DB에서 읽음)
+ * - save: 캐시된 세션이면 목록에 추가, deleteAllBySessionId: 항목 제거
+ * - 크기: 건수가 아니라 content 기준 대략 바이트로 관리
+ *   세션 하나가 maxSessionBytes를 넘으면 오래된 메시지부터 잘라내고, 전체가 maxBytes를 넘으면 가장 오래 안 쓴 세션부터 제거
+ * 이 인스턴스를 거치지 않은 쓰기는 보지 못하므로 단일 인스턴스 전제
+ *
+ * 메트릭: devtalk.message.cache.hits / .misses / .hit-ratio / .resident.bytes / .evictions
+ */
+public final class CachingMessageRepository implements MessageRepository, AutoCloseable {
+
+    // Message 객체, 메타데이터, TreeMap 노드 등 content 외 고정 비용 (대략치)
+    private static final long ENTRY_OVERHEAD_BYTES = 256;
+
+    private final MessageRepository delegate;
+    private final long maxBytes;
+    private final long maxSessionBytes;
+    private final int loadRows;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // access-order: 맨 앞이 가장 오래 안 쓴 세션
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long residentBytes = 0;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public CachingMessageRepository(MessageRepository delegate, long maxBytes, long maxSessionBytes, int loadRows, MeterRegistry meterRegistry) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+        if (maxBytes < 1 || maxSessionBytes < 1 || loadRows < 1) throw new IllegalArgumentException("maxBytes, maxSessionBytes, loadRows must be positive");
+        this.maxBytes = maxBytes;
+        this.maxSessionBytes = Math.min(maxSessionBytes, maxBytes);
+        this.loadRows = loadRows;
+
+        this.hits = Counter.builder("devtalk.message.cache.hits")
+            .description("message reads served from the session cache")
+            .register(meterRegistry);
+        this.misses = Counter.builder("devtalk.message.cache.misses")
+            .description("message reads that went to the database")
+            .register(meterRegistry);
+        this.evictions = Counter.builder("devtalk.message.cache.evictions")
+            .description("sessions evicted from the message cache to stay under the byte budget")
+            .register(meterRegistry);
+        Gauge.builder("devtalk.message.cache.hit-ratio", this, CachingMessageRepository::hitRatio)
+            .description("hits / (hits + misses) since start")
+            .register(meterRegistry);
+        Gauge.builder("devtalk.message.cache.resident.bytes", this, r -> r.residentBytes())
+            .description("approximate bytes of cached messages")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    /* ===== 쓰기 ===== */
+
+    @Override
+    public Message save(Message message) {
+        Message saved = delegate.save(message);
+
+        lock.lock();
+        try {
+            Entry e = entries.get(saved.getSessionId());
+            if (e != null && saved.getSeq() > e.floorSeq) {
+                put(e, saved);
+                trim(e);
+                evictOverBudget();
+            }
+        } finally {
+            lock.unlock();
+        }
+        return saved;
+    }
+
+    @Override
+    public void deleteAllBySessionId(String sessionId) {
+        // 삭제 전후로 제거: 삭제 도중 시작된 로드가 지워진 행을 다시 올리지 않도록
+        invalidate(sessionId);
+        delegate.deleteAllBySessionId(sessionId);
+        invalidate(sessionId);
+    }
+
+    /* ===== 읽기 ===== */
+
+    @Override
+    public List<Message> findAllBySessionId(String sessionId) {
+        Entry e = entry(sessionId);
+        lock.lock();
+        try {
+            if (live(sessionId, e) && e.floorSeq == 0) {
+                hits.increment();
+                return new ArrayList<>(e.rows.values());
+            }
+        } finally {
+            lock.unlock();
+        }
+        misses.increment();
+        return delegate.findAllBySessionId(sessionId);
+    }
+
+    @Override
+    public MessagePage findPage(String sessionId, MessageCursor afterCursor, int limit, PageDirection direction) {
+        Entry e = entry(sessionId);
+        lock.lock();
+        try {
+            if (live(sessionId, e)) {
+                MessagePage page = (direction == PageDirection.OLDER)
+                    ? olderPage(e, afterCursor, limit)
+                    : newerPage(e, afterCursor, limit);
+                if (page != null) {
+                    hits.increment();
+                    return page;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        misses.increment();
+        return delegate.findPage(sessionId, afterCursor, limit, direction);
+    }
+
+    @Override
+    public Optional<Message> findLatestSuccessUser(String sessionId) {
+        Entry e = entry(sessionId);
+        lock.lock();
+        try {
+            if (live(sessionId, e)) {
+                for (Message m : e.rows.descendingMap().values()) {
+                    if (m.getRole() == MessageRole.USER && m.getStatus() == MessageStatus.SUCCESS) {
+                        hits.increment();
+                        return Optional.of(m);
+                    }
+                }
+                if (e.floorSeq == 0) {
+                    hits.increment();
+                    return Optional.empty();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        misses.increment();
+        return delegate.findLatestSuccessUser(sessionId);
+    }
+
+    @Override
+    public List<Message> findBySeqRange(String sessionId, long afterSeq, long upToSeq) {
+        Entry e = entry(sessionId);
+        lock.lock();
+        try {
+            if (live(sessionId, e) && afterSeq >= e.floorSeq) {
+                hits.increment();
+                if (upToSeq <= afterSeq) return new ArrayList<>();
+                return new ArrayList<>(e.rows.subMap(afterSeq, false, upToSeq, true).values());
+            }
+        } finally {
+            lock.unlock();
+        }
+        misses.increment();
+        return delegate.findBySeqRange(sessionId, afterSeq, upToSeq);
+    }
+
+    @Override
+    public long findSeqBeforeLatest(String sessionId, int skipLatest) {
+        int skip = Math.max(0, skipLatest);
+        Entry e = entry(sessionId);
+        lock.lock();
+        try {
+            if (live(sessionId, e) && (e.rows.size() > skip || e.floorSeq == 0)) {
+                hits.increment();
+                if (e.rows.size() <= skip) return 0;
+                Iterator<Long> it = e.rows.descendingKeySet().iterator();
+                for (int i = 0; i < skip; i++) it.next();
+                return it.next();
+            }
+        } finally {
+            lock.unlock();
+        }
+        misses.increment();
+        return delegate.findSeqBeforeLatest(sessionId, skipLatest);
+    }
+
+    @Override
+    public Optional<Message> findUserById(String sessionId, String messageId) {
+        Entry e = entry(sessionId);
+        lock.lock();
+        try {
+            if (live(sessionId, e)) {
+                for (Message m : e.rows.descendingMap().values()) {
+                    if (m.getMessageId().equals(messageId)) {
+                        hits.increment();
+                        return (m.getRole() == MessageRole.USER) ? Optional.of(m) : Optional.empty();
+                    }
+                }
+                if (e.floorSeq == 0) {
+                    hits.increment();
+                    return Optional.empty();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        misses.increment();
+        return delegate.findUserById(sessionId, messageId);
+    }
+
+    @Override
+    public void scanRecentContext(String sessionId, int maxRows, Predicate<Message> visitor) {
+        Entry e = entry(sessionId);
+        List<Message> cached;
+        long floorSeq;
+        lock.lock();
+        try {
+            if (!live(sessionId, e)) {
+                cached = List.of();
+                floorSeq = Long.MAX_VALUE;
+            } else {
+                cached = new ArrayList<>(e.rows.descendingMap().values());
+                floorSeq = e.floorSeq;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // visitor는 lock 밖에서 호출
+        int visited = 0;
+        for (Message m : cached) {
+            if (visited >= maxRows) break;
+            if (m.getStatus() != MessageStatus.SUCCESS || m.getRole() == MessageRole.SYSTEM) continue;
+            visited++;
+            if (!visitor.test(m)) {
+                hits.increment();
+                return;
+            }
+        }
+        if (visited >= maxRows || floorSeq == 0) {
+            hits.increment();
+            return;
+        }
+
+        // 캐시보다 오래된 부분만 DB에서 이어서 읽음 (이미 본 최신 행은 건너뜀)
+        misses.increment();
+        long seen = floorSeq;
+        delegate.scanRecentContext(sessionId, maxRows, m -> m.getSeq() > seen || visitor.test(m));
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (delegate instanceof AutoCloseable closeable) closeable.close();
+    }
+
+    /* ===== 캐시 관리 ===== */
+
+    // keyset 페이지를 캐시로 만들 수 있으면 페이지, 아니면 null (lock 안에서 호출)
+    private MessagePage olderPage(Entry e, MessageCursor afterCursor, int limit) {
+        NavigableMap<Long, Message> below = (afterCursor == null)
+            ? e.rows.descendingMap()
+            : e.rows.headMap(afterCursor.seq(), false).descendingMap();
+        if (below.size() <= limit && e.floorSeq != 0) return null;
+
+        List<Message> rows = new ArrayList<>(Math.min(limit, below.size()));
+        for (Message m : below.values()) {
+            if (rows.size() == limit) break;
+            rows.add(m);
+        }
+        boolean hasMore = below.size() > limit;
+        return MessagePage.of(rows.reversed(), PageDirection.OLDER, hasMore);
+    }
+
+    private MessagePage newerPage(Entry e, MessageCursor afterCursor, int limit) {
+        long after = (afterCursor == null) ? 0 : afterCursor.seq();
+        if (after < e.floorSeq) return null;
+
+        NavigableMap<Long, Message> above = e.rows.tailMap(after, false);
+        List<Message> rows = new ArrayList<>(Math.min(limit, above.size()));
+        for (Message m : above.values()) {
+            if (rows.size() == limit) break;
+            rows.add(m);
+        }
+        return MessagePage.of(rows, PageDirection.NEWER, above.size() > limit);
+    }
+
+    /**
+     * 캐시 항목 (없으면 최신 loadRows건을 읽어 채움)
+     * 로드 중에 들어온 save는 자리표시 항목에 쌓였다가 로드 결과와 합쳐짐
+     */
+    private Entry entry(String sessionId) {
+        Entry placeholder;
+        lock.lock();
+        try {
+            Entry e = entries.get(sessionId);
+            if (e != null) return e.loaded ? e : null;
+            placeholder = new Entry();
+            entries.put(sessionId, placeholder);
+        } finally {
+            lock.unlock();
+        }
+
+        MessagePage latest;
+        try {
+            latest = delegate.findPage(sessionId, null, loadRows, PageDirection.OLDER);
+        } catch (RuntimeException ex) {
+            lock.lock();
+            try {
+                entries.remove(sessionId, placeholder);
+            } finally {
+                lock.unlock();
+            }
+            throw ex;
+        }
+
+        lock.lock();
+        try {
+            // 로드 중에 삭제/제거됨
+            if (entries.get(sessionId) != placeholder) return null;
+
+            List<Message> rows = latest.messages();
+            placeholder.floorSeq = (latest.hasMore() && !rows.isEmpty()) ? rows.get(0).getSeq() - 1 : 0;
+            placeholder.rows.keySet().removeIf(seq -> seq <= placeholder.floorSeq);
+            for (Message m : rows) put(placeholder, m);
+            placeholder.loaded = true;
+            trim(placeholder);
+            evictOverBudget();
+            return placeholder.loaded && entries.get(sessionId) == placeholder ? placeholder : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // entry()가 돌려준 뒤 제거/교체되지 않았는지 (lock 안에서 호출)
+    private boolean live(String sessionId, Entry e) {
+        return e != null && entries.get(sessionId) == e;
+    }
+
+    private void put(Entry e, Message m) {
+        Message prev = e.rows.put(m.getSeq(), m);
+        if (prev != null) adjust(e, -weight(prev));
+        adjust(e, weight(m));
+    }
+
+    // 세션 하나가 너무 커지면 가장 오래된 메시지부터 잘라냄 (잘라낸 구간은 DB에서 읽음)
+    private void trim(Entry e) {
+        while (e.bytes > maxSessionBytes && !e.rows.isEmpty()) {
+            Map.Entry<Long, Message> oldest = e.rows.pollFirstEntry();
+            adjust(e, -weight(oldest.getValue()));
+            e.floorSeq = oldest.getKey();
+        }
+    }
+
+    private void evictOverBudget() {
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (residentBytes > maxBytes && it.hasNext()) {
+            Entry e = it.next().getValue();
+            if (!e.loaded) continue;
+            it.remove();
+            residentBytes -= e.bytes;
+            evictions.increment();
+        }
+    }
+
+    private void invalidate(String sessionId) {
+        lock.lock();
+        try {
+            Entry e = entries.remove(sessionId);
+            if (e != null) residentBytes -= e.bytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void adjust(Entry e, long delta) {
+        e.bytes += delta;
+        residentBytes += delta;
+    }
+
+    // UTF-16 char 2바이트 + 고정 비용
+    private static long weight(Message m) {
+        String content = m.getContent();
+        return ENTRY_OVERHEAD_BYTES + (content == null ? 0 : 2L * content.length());
+    }
+
+    private long residentBytes() {
+        lock.lock();
+        try {
+            return residentBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private double hitRatio() {
+        double h = hits.count();
+        double total = h + misses.count();
+        return (total == 0) ? 0 : h / total;
+    }
+
+    /**
+     * seq > floorSeq인 메시지는 모두 rows에 있음 (floorSeq == 0이면 세션 전체)
+     */
+    private static final class Entry {
+        final TreeMap<Long, Message> rows = new TreeMap<>();
+        long floorSeq = 0;
+        long bytes = 0;
+        boolean loaded = false;
+    }
+}
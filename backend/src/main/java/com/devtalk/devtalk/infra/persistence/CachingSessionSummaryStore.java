@@ -0,0 +1,105 @@
+package com.devtalk.devtalk.infra.persistence;
+
+import com.devtalk.devtalk.domain.llm.context.SessionSummaryStore;
+import com.devtalk.devtalk.domain.llm.context.SummaryState;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 요약 상태 write-through 캐시 (getState는 TTL 안에서 SQL 없이 응답)
+ * - putState: DB에 쓴 뒤 캐시 갱신, invalidate: 항목 제거 (세션 삭제)
+ * - 다른 노드가 쓴 상태는 최대 ttl만큼 늦게 보임
+ *   JdbcSessionSummaryStore가 last_summarized_seq를 되돌리는 쓰기를 무시하므로, 늦게 본 노드가 요약을 다시 하더라도 DB가 과거로 돌아가지는 않음
+ *
+ * 메트릭: devtalk.summary.cache.hits / devtalk.summary.cache.misses
+ */
+public final class CachingSessionSummaryStore implements SessionSummaryStore {
+
+    private record Cached(SummaryState state, long expiresAtNanos) {}
+
+    private final SessionSummaryStore delegate;
+    private final long ttlNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Cached> entries;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public CachingSessionSummaryStore(SessionSummaryStore delegate, Duration ttl, int maxEntries, MeterRegistry meterRegistry) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+        this.ttlNanos = Objects.requireNonNull(ttl, "ttl must not be null").toNanos();
+        if (maxEntries < 1) throw new IllegalArgumentException("maxEntries must be positive");
+
+        // access-order LRU
+        this.entries = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Cached> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.hits = Counter.builder("devtalk.summary.cache.hits")
+            .description("summary state reads served without SQL")
+            .register(meterRegistry);
+        this.misses = Counter.builder("devtalk.summary.cache.misses")
+            .description("summary state reads that went to the database")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public SummaryState getState(String sessionId) {
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            Cached c = entries.get(sessionId);
+            if (c != null && now - c.expiresAtNanos() < 0) {
+                hits.increment();
+                return c.state();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        misses.increment();
+        SummaryState state = delegate.getState(sessionId);
+        cache(sessionId, state, now);
+        return state;
+    }
+
+    @Override
+    public void putState(String sessionId, SummaryState state) {
+        delegate.putState(sessionId, state);
+        cache(sessionId, state, System.nanoTime());
+    }
+
+    @Override
+    public void invalidate(String sessionId) {
+        delegate.invalidate(sessionId);
+        lock.lock();
+        try {
+            entries.remove(sessionId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 더 앞선 seq가 이미 캐시돼 있으면 유지 (느린 조회가 방금 쓴 상태를 덮지 않도록)
+    private void cache(String sessionId, SummaryState state, long now) {
+        lock.lock();
+        try {
+            Cached prev = entries.get(sessionId);
+            if (prev != null && now - prev.expiresAtNanos() < 0
+                && prev.state().lastSummarizedSeq() > state.lastSummarizedSeq()) {
+                return;
+            }
+            entries.put(sessionId, new Cached(state, now + ttlNanos));
+        } finally {
+            lock.unlock();
+        }
+    }
+}
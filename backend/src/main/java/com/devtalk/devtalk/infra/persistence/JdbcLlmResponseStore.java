@@ -0,0 +1,67 @@
+package com.devtalk.devtalk.infra.persistence;
+
+import com.devtalk.devtalk.domain.llm.LlmFinishReason;
+import com.devtalk.devtalk.domain.llm.LlmResponseStore;
+import com.devtalk.devtalk.domain.llm.LlmResult;
+import com.devtalk.devtalk.domain.llm.LlmTokenUsage;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+/**
+ * llm_response_cache 테이블 (schema.sql에서 DROP하지 않아 재시작 후에도 유지)
+ * - 만료 행은 조회에서 제외하고, 저장 PURGE_EVERY번마다 일부씩 삭제
+ */
+@Repository
+public class JdbcLlmResponseStore implements LlmResponseStore {
+
+    private static final int PURGE_EVERY = 100;
+    private static final int PURGE_BATCH = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AtomicLong saves = new AtomicLong();
+
+    public JdbcLlmResponseStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Optional<LlmResult.Success> find(String key, Instant now) {
+        String sql = "SELECT response_text, finish_reason, input_token_count, output_token_count "
+            + "FROM llm_response_cache WHERE cache_key = ? AND expires_at > ?";
+        List<LlmResult.Success> rows = jdbcTemplate.query(sql, successRowMapper, key, Timestamp.from(now));
+        return rows.stream().findFirst();
+    }
+
+    @Override
+    public void save(String key, LlmResult.Success result, Instant expiresAt) {
+        LlmTokenUsage usage = (result.tokenUsage() == null) ? LlmTokenUsage.empty() : result.tokenUsage();
+        String sql = "INSERT INTO llm_response_cache (cache_key, response_text, finish_reason, input_token_count, output_token_count, expires_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE response_text = VALUES(response_text), finish_reason = VALUES(finish_reason), "
+            + "input_token_count = VALUES(input_token_count), output_token_count = VALUES(output_token_count), expires_at = VALUES(expires_at)";
+        jdbcTemplate.update(sql,
+            key,
+            result.text(),
+            result.finishReason().name(),
+            usage.inputTokenCount(),
+            usage.outputTokenCount(),
+            Timestamp.from(expiresAt)
+        );
+
+        if (saves.incrementAndGet() % PURGE_EVERY == 0) {
+            jdbcTemplate.update("DELETE FROM llm_response_cache WHERE expires_at <= ? LIMIT " + PURGE_BATCH, Timestamp.from(Instant.now()));
+        }
+    }
+
+    private final RowMapper<LlmResult.Success> successRowMapper = (rs, rowNum) -> LlmResult.Success.of(
+        rs.getString("response_text"),
+        LlmFinishReason.valueOf(rs.getString("finish_reason")),
+        new LlmTokenUsage(rs.getInt("input_token_count"), rs.getInt("output_token_count"))
+    );
+}
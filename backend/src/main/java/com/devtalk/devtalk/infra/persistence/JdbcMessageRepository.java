@@ -2,38 +2,74 @@ package com.devtalk.devtalk.infra.persistence;
 
 import com.devtalk.devtalk.domain.llm.LlmFinishReason;
 import com.devtalk.devtalk.domain.message.Message;
+import com.devtalk.devtalk.domain.message.MessageCursor;
 import com.devtalk.devtalk.domain.message.MessageMarkers;
 import com.devtalk.devtalk.domain.message.MessageMetadata;
+import com.devtalk.devtalk.domain.message.MessagePage;
 import com.devtalk.devtalk.domain.message.MessageRepository;
 import com.devtalk.devtalk.domain.message.MessageRole;
 import com.devtalk.devtalk.domain.message.MessageStatus;
+import com.devtalk.devtalk.domain.message.PageDirection;
 import com.devtalk.devtalk.domain.session.Session;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Repository
 public class JdbcMessageRepository implements MessageRepository {
 
     private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
 
-    public JdbcMessageRepository(JdbcTemplate jdbcTemplate){
+    private static final String INSERT_SQL = "INSERT INTO message (message_id, session_id, seq, role, content, status, markers, input_token_count, output_token_count, latency_ms, finish_reason, created_at) VALUES(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    public JdbcMessageRepository(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager){
         this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
+    /**
+     * seq 예약 + INSERT를 한 트랜잭션에서 처리 (커밋 1회)
+     * - 세션 행 잠금을 커밋까지 잡으므로 같은 세션의 메시지는 seq 순서대로 커밋됨
+     *   (seq만 먼저 커밋되면 keyset 조회(seq > cursor)가 늦게 들어온 행을 영영 건너뛸 수 있음)
+     * - INSERT가 실패하면 예약도 함께 롤백되어 번호가 비지 않음
+     */
     @Override
     public Message save(Message message){
-        String sql = "INSERT INTO message (message_id, session_id, role, content, status, markers, input_token_count, output_token_count, latency_ms, finish_reason, created_at) VALUES(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        transactionTemplate.executeWithoutResult(tx -> {
+            message.assignSeq(reserveSeqs(message.getSessionId(), 1));
+            jdbcTemplate.update(INSERT_SQL, insertArgs(message));
+        });
+        return message;
+    }
+
+    /**
+     * seq가 이미 부여된 메시지들을 한 트랜잭션에서 batch INSERT (커밋 1회)
+     */
+    public void insertBatch(List<Message> messages) {
+        if (messages.isEmpty()) return;
+        List<Object[]> args = messages.stream().map(this::insertArgs).toList();
+        transactionTemplate.executeWithoutResult(tx -> jdbcTemplate.batchUpdate(INSERT_SQL, args));
+    }
 
+    private Object[] insertArgs(Message message) {
         String finishReason = (message.getMessageMetadata().finishReason() != null) ? message.getMessageMetadata().finishReason().name() : null;
 
         String markersStr = (message.getMarkers() != null) ? message.getMarkers().name() : null;
 
-        jdbcTemplate.update(sql,
+        return new Object[]{
             message.getMessageId(),
             message.getSessionId(),
+            message.getSeq(),
             message.getRole().name(),
             message.getContent(),
             message.getStatus().name(),
@@ -43,14 +79,112 @@ public class JdbcMessageRepository implements MessageRepository {
             message.getMessageMetadata().latencyMs(),
             finishReason,
             message.getCreatedAt()
-        );
-        return message;
+        };
+    }
+
+    /**
+     * 세션 카운터(session.last_message_seq)를 count만큼 원자적으로 올리고 마지막 값을 받음
+     * - 받은 값이 v면 (v - count, v] 구간을 호출자가 사용
+     * - UPDATE ... LAST_INSERT_ID(expr) + SELECT LAST_INSERT_ID()는 커넥션 단위라 같은 커넥션에서 실행
+     * - 트랜잭션 안에서 부르면 그 트랜잭션의 커넥션을 씀 (save)
+     * - 트랜잭션 밖에서 미리 예약한 뒤 INSERT가 실패하면 번호가 비지만 단조 증가는 유지
+     */
+    public long reserveSeqs(String sessionId, int count) {
+        Long seq = jdbcTemplate.execute((ConnectionCallback<Long>) con -> {
+            try (var update = con.prepareStatement("UPDATE session SET last_message_seq = LAST_INSERT_ID(last_message_seq + ?) WHERE session_id = ?")) {
+                update.setInt(1, count);
+                update.setString(2, sessionId);
+                if (update.executeUpdate() == 0) throw new IllegalArgumentException("session not found");
+            }
+            try (var select = con.prepareStatement("SELECT LAST_INSERT_ID()"); var rs = select.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        });
+        return (seq == null) ? 0 : seq;
     }
+
     @Override
     public List<Message> findAllBySessionId(String sessionId){
-        String sql = "SELECT * FROM message WHERE session_id = ? ORDER BY created_at ASC";
+        String sql = "SELECT * FROM message WHERE session_id = ? ORDER BY seq ASC";
         return jdbcTemplate.query(sql, messageRowMapper, sessionId);
     }
+    /**
+     * keyset 페이지 조회 (uk_message_session_seq 범위 스캔, OFFSET 없음)
+     * - 페이지 크기 + 1건을 읽어 다음 페이지 존재 여부 판단
+     * - OLDER는 내림차순으로 읽고 뒤집어서 항상 오래된 -> 최신 순으로 반환
+     */
+    @Override
+    public MessagePage findPage(String sessionId, MessageCursor afterCursor, int limit, PageDirection direction) {
+        boolean older = (direction == PageDirection.OLDER);
+        String order = older ? "DESC" : "ASC";
+
+        StringBuilder sql = new StringBuilder("SELECT * FROM message WHERE session_id = ?");
+        List<Object> args = new ArrayList<>(List.of(sessionId));
+
+        if (afterCursor != null) {
+            sql.append(older ? " AND seq < ?" : " AND seq > ?");
+            args.add(afterCursor.seq());
+        }
+        sql.append(" ORDER BY seq ").append(order).append(" LIMIT ?");
+        args.add(limit + 1);
+
+        List<Message> rows = new ArrayList<>(jdbcTemplate.query(sql.toString(), messageRowMapper, args.toArray()));
+
+        boolean hasMore = rows.size() > limit;
+        if (hasMore) rows.remove(rows.size() - 1);
+        if (older) Collections.reverse(rows);
+
+        return MessagePage.of(rows, direction, hasMore);
+    }
+
+    @Override
+    public Optional<Message> findLatestSuccessUser(String sessionId) {
+        String sql = "SELECT * FROM message WHERE session_id = ? AND role = 'USER' AND status = 'SUCCESS' ORDER BY seq DESC LIMIT 1";
+        return jdbcTemplate.query(sql, messageRowMapper, sessionId).stream().findFirst();
+    }
+
+    @Override
+    public List<Message> findBySeqRange(String sessionId, long afterSeq, long upToSeq) {
+        String sql = "SELECT * FROM message WHERE session_id = ? AND seq > ? AND seq <= ? ORDER BY seq ASC";
+        return jdbcTemplate.query(sql, messageRowMapper, sessionId, afterSeq, upToSeq);
+    }
+
+    // 인덱스만 읽음 (content 미조회)
+    @Override
+    public long findSeqBeforeLatest(String sessionId, int skipLatest) {
+        String sql = "SELECT seq FROM message WHERE session_id = ? ORDER BY seq DESC LIMIT 1 OFFSET ?";
+        List<Long> seq = jdbcTemplate.queryForList(sql, Long.class, sessionId, Math.max(0, skipLatest));
+        return seq.isEmpty() ? 0 : seq.get(0);
+    }
+
+    @Override
+    public Optional<Message> findUserById(String sessionId, String messageId) {
+        String sql = "SELECT * FROM message WHERE message_id = ? AND session_id = ? AND role = 'USER'";
+        return jdbcTemplate.query(sql, messageRowMapper, messageId, sessionId).stream().findFirst();
+    }
+
+    /**
+     * uk_message_session_seq 역순 스캔 + LIMIT (세션 길이와 무관하게 최대 maxRows건만 읽음)
+     * - 결과는 드라이버가 한 번에 받아 오므로, visitor가 멈추면 나머지 행의 매핑만 건너뜀
+     */
+    @Override
+    public void scanRecentContext(String sessionId, int maxRows, Predicate<Message> visitor) {
+        String sql = "SELECT * FROM message WHERE session_id = ? AND status = 'SUCCESS' AND role <> 'SYSTEM' ORDER BY seq DESC LIMIT ?";
+
+        jdbcTemplate.query(
+            sql,
+            (ResultSetExtractor<Void>) rs -> {
+                int rowNum = 0;
+                while (rs.next()) {
+                    if (!visitor.test(messageRowMapper.mapRow(rs, rowNum++))) break;
+                }
+                return null;
+            },
+            sessionId, maxRows
+        );
+    }
+
     @Override
     public void deleteAllBySessionId(String sessionId){
         String sql = "DELETE FROM message WHERE session_id = ?";
@@ -75,7 +209,8 @@ public class JdbcMessageRepository implements MessageRepository {
             markers,
             MessageStatus.valueOf(rs.getString("status")),
             metadata,
-            rs.getTimestamp("created_at").toLocalDateTime()
+            rs.getTimestamp("created_at").toLocalDateTime(),
+            rs.getLong("seq")
         );
     };
 
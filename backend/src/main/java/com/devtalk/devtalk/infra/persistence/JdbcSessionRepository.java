@@ -7,6 +7,7 @@ import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
@@ -20,35 +21,43 @@ public class JdbcSessionRepository implements SessionRepository {
         this.jdbcTemplate = jdbcTemplate;
     }
 
+    /**
+     * 저장 1회 = 쿼리 1회
+     * - 새 세션(version 0): INSERT
+     * - 조회한 세션: 읽었을 때의 version과 같을 때만 UPDATE (다른 요청이 먼저 저장했거나 삭제됐으면 충돌)
+     * ai_summary / last_summarized_seq는 SessionSummaryStore가 관리하므로 여기서 덮어쓰지 않음
+     */
     @Override
     public Session save(Session session){
-        String checkSessionSql = "SELECT COUNT(*) FROM session WHERE session_id = ?";
-        Integer count = jdbcTemplate.queryForObject(checkSessionSql, Integer.class, session.getSessionId());
-        // update
-        if(count != null && count > 0){
-            String sql = "UPDATE session SET title = ?, status = ?, description = ?, ai_summary = ?, last_updated_at = ? WHERE session_id = ?";
+        if(session.getVersion() == 0){
+            String sql = "INSERT INTO session (session_id, title, status, description, ai_summary, last_summarized_seq, created_at, last_updated_at, version) VALUES(?, ?, ?, ?, ?, 0, ?, ?, 1)";
             jdbcTemplate.update(sql,
+                session.getSessionId(),
                 session.getTitle(),
                 session.getStatus().name(), // Enum은 .name()으로 문자열 변환
                 session.getDescription(),
                 session.getAiSummary(),
-                session.getLastUpdatedAt(),
-                session.getSessionId() // WHERE 절의 물음표 값
+                session.getCreatedAt(),
+                session.getLastUpdatedAt()
             );
+            session.markSaved(1);
             return session;
         }
-        // insert
-        String sql = "INSERT INTO session (session_id, title, status, description, ai_summary, last_summarized_index, created_at, last_updated_at) VALUES(?, ?, ?, ?, ?, ?, ?, ?)";
-        jdbcTemplate.update(sql,
-            session.getSessionId(),
+
+        String sql = "UPDATE session SET title = ?, status = ?, description = ?, last_updated_at = ?, version = version + 1 WHERE session_id = ? AND version = ?";
+        int updated = jdbcTemplate.update(sql,
             session.getTitle(),
-            session.getStatus().name(), // Enum은 .name()으로 문자열 변환
+            session.getStatus().name(),
             session.getDescription(),
-            session.getAiSummary(),
-            0,
-            session.getCreatedAt(),
-            session.getLastUpdatedAt()
+            session.getLastUpdatedAt(),
+            session.getSessionId(),
+            session.getVersion()
         );
+        if(updated == 0){
+            throw new OptimisticLockingFailureException(
+                "session " + session.getSessionId() + " was modified or deleted concurrently (version " + session.getVersion() + ")");
+        }
+        session.markSaved(session.getVersion() + 1);
         return session;
     }
 
@@ -61,9 +70,9 @@ public class JdbcSessionRepository implements SessionRepository {
 
     @Override
     public boolean existsById(String sessionId){
-        String sql = "SELECT COUNT(*) FROM session WHERE session_id = ?";
-        Integer count = jdbcTemplate.queryForObject(sql, Integer.class, sessionId);
-        return count != null && count > 0;
+        // PK 조회 후 첫 행에서 멈춤
+        String sql = "SELECT 1 FROM session WHERE session_id = ? LIMIT 1";
+        return !jdbcTemplate.queryForList(sql, Integer.class, sessionId).isEmpty();
     }
 
     @Override
@@ -92,7 +101,8 @@ public class JdbcSessionRepository implements SessionRepository {
             rs.getString("description"),
             rs.getString("ai_summary"),
             rs.getTimestamp("created_at").toLocalDateTime(),
-            rs.getTimestamp("last_updated_at").toLocalDateTime()
+            rs.getTimestamp("last_updated_at").toLocalDateTime(),
+            rs.getLong("version")
         );
 
         // 2. last_analyzed_at 컬럼 값 주입 (null 체크 필수)
@@ -19,20 +19,21 @@ public class JdbcSessionSummaryStore implements SessionSummaryStore {
 
     @Override
     public SummaryState getState(String sessionId){
-        String sql = "SELECT ai_summary, last_summarized_index FROM session WHERE session_id = ?";
+        String sql = "SELECT ai_summary, last_summarized_seq FROM session WHERE session_id = ?";
         List<SummaryState> result = jdbcTemplate.query(sql, summaryStateRowMapper, sessionId);
         return result.stream()
             .findFirst()
             .orElse(new SummaryState("", 0));    }
 
+    // 이미 더 뒤까지 요약된 상태는 되돌리지 않음 (오래된 상태를 읽은 요청/노드의 늦은 쓰기 무시)
     @Override
     public void putState(String sessionId, SummaryState state){
-        String sql = "UPDATE session SET ai_summary = ?, last_summarized_index = ? WHERE session_id = ?";
-        jdbcTemplate.update(sql, state.summaryText(), state.lastSummarizedIndex(), sessionId);
+        String sql = "UPDATE session SET ai_summary = ?, last_summarized_seq = ? WHERE session_id = ? AND last_summarized_seq <= ?";
+        jdbcTemplate.update(sql, state.summaryText(), state.lastSummarizedSeq(), sessionId, state.lastSummarizedSeq());
     }
 
     private final RowMapper<SummaryState> summaryStateRowMapper = (rs, rowNum) -> new SummaryState(
         rs.getString("ai_summary"),
-        rs.getInt("last_summarized_index")
+        rs.getLong("last_summarized_seq")
     );
 }
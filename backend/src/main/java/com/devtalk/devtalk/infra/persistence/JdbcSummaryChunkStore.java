@@ -0,0 +1,48 @@
+package com.devtalk.devtalk.infra.persistence;
+
+import com.devtalk.devtalk.domain.llm.context.SummaryChunk;
+import com.devtalk.devtalk.domain.llm.context.SummaryChunkStore;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class JdbcSummaryChunkStore implements SummaryChunkStore {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcSummaryChunkStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<SummaryChunk> findBySessionId(String sessionId) {
+        String sql = "SELECT * FROM session_summary_chunk WHERE session_id = ? ORDER BY tree_level ASC, from_seq ASC";
+        return jdbcTemplate.query(sql, chunkRowMapper, sessionId);
+    }
+
+    // 같은 노드를 다시 만들면(동시 갱신 등) 마지막 결과로 덮어씀
+    @Override
+    public void save(SummaryChunk chunk) {
+        String sql = "INSERT INTO session_summary_chunk (session_id, tree_level, from_seq, to_seq, summary, created_at) VALUES (?, ?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE to_seq = VALUES(to_seq), summary = VALUES(summary)";
+        jdbcTemplate.update(sql,
+            chunk.sessionId(),
+            chunk.level(),
+            chunk.fromSeq(),
+            chunk.toSeq(),
+            chunk.summary(),
+            LocalDateTime.now()
+        );
+    }
+
+    private final RowMapper<SummaryChunk> chunkRowMapper = (rs, rowNum) -> new SummaryChunk(
+        rs.getString("session_id"),
+        rs.getInt("tree_level"),
+        rs.getLong("from_seq"),
+        rs.getLong("to_seq"),
+        rs.getString("summary")
+    );
+}
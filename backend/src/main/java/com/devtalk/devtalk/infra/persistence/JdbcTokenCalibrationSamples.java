@@ -0,0 +1,32 @@
+package com.devtalk.devtalk.infra.persistence;
+
+import com.devtalk.devtalk.domain.llm.context.ScriptTokenEstimator;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 토큰 추정기 보정용 샘플: AI 답변 본문과 그 답변의 실제 출력 토큰 수(output_token_count)
+ * - input_token_count는 요약+tail+질문을 합친 프롬프트 전체 기준이라 저장된 본문 하나와 짝지을 수 없음
+ * - 최근 답변 limit건 (재보정 때마다 새 답변이 반영되도록)
+ *   idx_message_role_status_created를 역순으로 읽고 LIMIT에서 멈추므로 filesort 없음
+ */
+@Repository
+public class JdbcTokenCalibrationSamples {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcTokenCalibrationSamples(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<ScriptTokenEstimator.Sample> load(int limit) {
+        String sql = "SELECT content, output_token_count FROM message "
+            + "WHERE role = 'AI' AND status = 'SUCCESS' AND output_token_count > 0 "
+            + "ORDER BY created_at DESC LIMIT ?";
+        return jdbcTemplate.query(sql,
+            (rs, rowNum) -> new ScriptTokenEstimator.Sample(rs.getString("content"), rs.getInt("output_token_count")),
+            limit
+        );
+    }
+}
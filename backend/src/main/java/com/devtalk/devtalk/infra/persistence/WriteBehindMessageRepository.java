@@ -0,0 +1,439 @@
+package com.devtalk.devtalk.infra.persistence;
+
+import com.devtalk.devtalk.domain.message.Message;
+import com.devtalk.devtalk.domain.message.MessageCursor;
+import com.devtalk.devtalk.domain.message.MessagePage;
+import com.devtalk.devtalk.domain.message.MessageRepository;
+import com.devtalk.devtalk.domain.message.MessageRole;
+import com.devtalk.devtalk.domain.message.MessageStatus;
+import com.devtalk.devtalk.domain.message.PageDirection;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * 메시지 INSERT를 모아서 한 트랜잭션(batchUpdate)으로 쓰는 write-behind 저장소
+ * - save: seq 부여 후 큐에 넣고 바로 리턴 (큐가 가득 차면 자리가 날 때까지 대기, 유실 없음)
+ * - flush: batchSize건이 모이거나 flushInterval이 지나면 전용 스레드가 커밋 1회로 기록
+ * - 읽기: 아직 커밋되지 않은 행(overlay)을 DB 결과에 합쳐서 같은 인스턴스 안에서 read-your-writes 보장
+ * - seq: 세션별로 seqBlockSize개씩 미리 예약해 메모리에서 배정 (INSERT마다 카운터 UPDATE 없음)
+ *   단일 인스턴스 전제. 여러 인스턴스가 같은 세션에 쓰면 seq 순서가 인스턴스별 블록 단위로 섞일 수 있음
+ *
+ * 메트릭: devtalk.message.write-behind.pending / .flushes / .batch.size / .dropped
+ */
+public final class WriteBehindMessageRepository implements MessageRepository, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindMessageRepository.class);
+
+    private final JdbcMessageRepository delegate;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final int seqBlockSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final Condition flushNeeded = lock.newCondition();
+    private final Deque<Queued> queue = new ArrayDeque<>();
+    // 배치 기록과 세션 삭제를 직렬화 (삭제 직후 기록 중이던 행이 되살아나지 않도록)
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // 커밋 전(큐 + 기록 중) 행, 세션별 seq 순
+    private final Map<String, TreeMap<Long, Message>> overlay = new HashMap<>();
+    private int overlayRows = 0;
+    private boolean closed = false;
+
+    private final ConcurrentHashMap<String, SeqBlock> seqBlocks = new ConcurrentHashMap<>();
+
+    private final Thread flusher;
+    private final Counter flushes;
+    private final Counter dropped;
+    private final DistributionSummary batchSizes;
+
+    public WriteBehindMessageRepository(JdbcMessageRepository delegate, int capacity, int batchSize, Duration flushInterval, int seqBlockSize, MeterRegistry meterRegistry) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+        if (capacity < 1 || batchSize < 1 || seqBlockSize < 1) throw new IllegalArgumentException("capacity, batchSize, seqBlockSize must be positive");
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = Math.max(1, flushInterval.toMillis());
+        this.seqBlockSize = seqBlockSize;
+
+        Gauge.builder("devtalk.message.write-behind.pending", this, r -> r.pendingRows())
+            .description("message rows accepted but not yet committed")
+            .register(meterRegistry);
+        this.flushes = Counter.builder("devtalk.message.write-behind.flushes")
+            .description("group commits of queued message inserts")
+            .register(meterRegistry);
+        this.dropped = Counter.builder("devtalk.message.write-behind.dropped")
+            .description("queued message rows rejected by the database (e.g. session deleted)")
+            .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("devtalk.message.write-behind.batch.size")
+            .description("rows per group commit")
+            .register(meterRegistry);
+
+        this.flusher = Thread.ofPlatform().name("message-write-behind").daemon().start(this::runFlusher);
+    }
+
+    /* ===== 쓰기 ===== */
+
+    @Override
+    public Message save(Message message) {
+        message.assignSeq(nextSeq(message.getSessionId()));
+
+        lock.lock();
+        try {
+            while (queue.size() >= capacity && !closed) {
+                notFull.awaitUninterruptibly();
+            }
+            if (closed) {
+                // 종료 중에는 바로 기록
+                delegate.insertBatch(List.of(message));
+                return message;
+            }
+            queue.addLast(new Queued(message, System.currentTimeMillis()));
+            overlay.computeIfAbsent(message.getSessionId(), k -> new TreeMap<>()).put(message.getSeq(), message);
+            overlayRows++;
+            if (queue.size() >= batchSize) flushNeeded.signal();
+        } finally {
+            lock.unlock();
+        }
+        return message;
+    }
+
+    @Override
+    public void deleteAllBySessionId(String sessionId) {
+        lock.lock();
+        try {
+            if (queue.removeIf(q -> q.message().getSessionId().equals(sessionId))) notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        // 예약해 둔 seq 블록도 버림 (삭제된 세션의 블록이 계속 남지 않도록, 이후 저장은 새로 예약)
+        seqBlocks.remove(sessionId);
+
+        // 기록 중인 배치가 있으면 커밋이 끝난 뒤 DELETE
+        writeLock.lock();
+        try {
+            delegate.deleteAllBySessionId(sessionId);
+        } finally {
+            writeLock.unlock();
+        }
+
+        lock.lock();
+        try {
+            TreeMap<Long, Message> rows = overlay.remove(sessionId);
+            if (rows != null) overlayRows -= rows.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 큐에 쌓인 행을 지금 바로 기록 (호출 스레드에서 실행)
+     */
+    public void flush() {
+        while (drainAndWrite()) {
+            // 큐가 빌 때까지
+        }
+    }
+
+    /* ===== 읽기 (DB + overlay) ===== */
+
+    @Override
+    public List<Message> findAllBySessionId(String sessionId) {
+        List<Message> pending = pending(sessionId);
+        return merge(delegate.findAllBySessionId(sessionId), pending);
+    }
+
+    @Override
+    public MessagePage findPage(String sessionId, MessageCursor afterCursor, int limit, PageDirection direction) {
+        List<Message> pending = pending(sessionId);
+        MessagePage persisted = delegate.findPage(sessionId, afterCursor, limit, direction);
+        if (pending.isEmpty()) return persisted;
+
+        boolean older = (direction == PageDirection.OLDER);
+        List<Message> candidates = pending.stream()
+            .filter(m -> afterCursor == null || (older ? m.getSeq() < afterCursor.seq() : m.getSeq() > afterCursor.seq()))
+            .toList();
+        List<Message> merged = merge(persisted.messages(), candidates);
+
+        boolean hasMore = persisted.hasMore() || merged.size() > limit;
+        if (merged.size() > limit) {
+            merged = older
+                ? merged.subList(merged.size() - limit, merged.size())
+                : merged.subList(0, limit);
+        }
+        return MessagePage.of(merged, direction, hasMore);
+    }
+
+    @Override
+    public Optional<Message> findLatestSuccessUser(String sessionId) {
+        List<Message> pending = pending(sessionId);
+        for (int i = pending.size() - 1; i >= 0; i--) {
+            Message m = pending.get(i);
+            if (m.getRole() == MessageRole.USER && m.getStatus() == MessageStatus.SUCCESS) return Optional.of(m);
+        }
+        return delegate.findLatestSuccessUser(sessionId);
+    }
+
+    @Override
+    public Optional<Message> findUserById(String sessionId, String messageId) {
+        for (Message m : pending(sessionId)) {
+            if (m.getRole() == MessageRole.USER && m.getMessageId().equals(messageId)) return Optional.of(m);
+        }
+        return delegate.findUserById(sessionId, messageId);
+    }
+
+    @Override
+    public List<Message> findBySeqRange(String sessionId, long afterSeq, long upToSeq) {
+        List<Message> pending = pending(sessionId).stream()
+            .filter(m -> m.getSeq() > afterSeq && m.getSeq() <= upToSeq)
+            .toList();
+        return merge(delegate.findBySeqRange(sessionId, afterSeq, upToSeq), pending);
+    }
+
+    /**
+     * overlay 행은 모두 커밋된 행보다 seq가 큼 -> 최신 쪽에서 overlay를 먼저 건너뜀
+     * (스냅샷 직후 커밋된 행이 양쪽에 한 번씩 세어지면 경계가 한 칸 당겨질 수 있음 - 요약 경계 용도라 허용)
+     */
+    @Override
+    public long findSeqBeforeLatest(String sessionId, int skipLatest) {
+        List<Message> pending = pending(sessionId);
+        int skip = Math.max(0, skipLatest);
+        if (skip < pending.size()) return pending.get(pending.size() - 1 - skip).getSeq();
+        return delegate.findSeqBeforeLatest(sessionId, skip - pending.size());
+    }
+
+    @Override
+    public void scanRecentContext(String sessionId, int maxRows, Predicate<Message> visitor) {
+        List<Message> pending = pending(sessionId);
+        int[] visited = {0};
+
+        for (int i = pending.size() - 1; i >= 0 && visited[0] < maxRows; i--) {
+            Message m = pending.get(i);
+            if (m.getStatus() != MessageStatus.SUCCESS || m.getRole() == MessageRole.SYSTEM) continue;
+            visited[0]++;
+            if (!visitor.test(m)) return;
+        }
+        if (visited[0] >= maxRows) return;
+
+        // 스냅샷 이후 커밋되어 DB에도 보이는 행은 건너뜀
+        delegate.scanRecentContext(sessionId, maxRows, m -> {
+            if (pendingContains(pending, m)) return true;
+            if (visited[0]++ >= maxRows) return false;
+            return visitor.test(m);
+        });
+    }
+
+    /* ===== 내부 ===== */
+
+    // batchSize건이 모이거나 가장 오래 기다린 행이 flushInterval을 넘기면 기록
+    private void runFlusher() {
+        while (true) {
+            lock.lock();
+            try {
+                while (!closed && queue.size() < batchSize) {
+                    if (queue.isEmpty()) {
+                        flushNeeded.await();
+                        continue;
+                    }
+                    long waitMs = queue.peekFirst().enqueuedAtMs() + flushIntervalMs - System.currentTimeMillis();
+                    if (waitMs <= 0) break;
+                    flushNeeded.await(waitMs, TimeUnit.MILLISECONDS);
+                }
+                if (closed && queue.isEmpty()) return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            drainAndWrite();
+        }
+    }
+
+    private List<Message> drain() {
+        lock.lock();
+        try {
+            int n = Math.min(batchSize, queue.size());
+            List<Message> batch = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) batch.add(queue.pollFirst().message());
+            if (n > 0) notFull.signalAll();
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 큐에서 꺼내기와 기록을 같은 writeLock 안에서 처리
+     * (꺼낸 뒤 기록 전에 세션 삭제가 끼어들면 삭제가 그 행을 놓치고, 이후 INSERT로 되살아남)
+     * @return 꺼낸 행이 없었으면 false
+     */
+    private boolean drainAndWrite() {
+        boolean written;
+        writeLock.lock();
+        try {
+            List<Message> batch = drain();
+            if (batch.isEmpty()) return false;
+            written = writeBatch(batch);
+        } finally {
+            writeLock.unlock();
+        }
+        // 재시도 대기는 writeLock 밖에서 (장애 중에도 세션 삭제가 막히지 않도록)
+        if (!written) sleepQuietly(flushIntervalMs);
+        return true;
+    }
+
+    /**
+     * @return DB 장애로 큐에 되돌렸으면 false
+     */
+    private boolean writeBatch(List<Message> batch) {
+        try {
+            delegate.insertBatch(batch);
+            flushes.increment();
+            batchSizes.record(batch.size());
+        } catch (DataIntegrityViolationException e) {
+            // 세션 삭제 등으로 일부 행이 거부됨 -> 행 단위로 다시 시도하고 거부된 행만 버림
+            for (Message m : batch) {
+                try {
+                    delegate.insertBatch(List.of(m));
+                } catch (DataIntegrityViolationException rowError) {
+                    dropped.increment();
+                    log.warn("write-behind insert rejected: session={} message={}", m.getSessionId(), m.getMessageId(), rowError);
+                }
+            }
+        } catch (RuntimeException e) {
+            // DB 장애: 순서를 유지한 채 큐 앞에 되돌리고 잠시 후 재시도
+            log.warn("write-behind flush failed, retrying {} rows", batch.size(), e);
+            long now = System.currentTimeMillis();
+            lock.lock();
+            try {
+                for (int i = batch.size() - 1; i >= 0; i--) queue.addFirst(new Queued(batch.get(i), now));
+            } finally {
+                lock.unlock();
+            }
+            return false;
+        }
+
+        lock.lock();
+        try {
+            for (Message m : batch) {
+                TreeMap<Long, Message> rows = overlay.get(m.getSessionId());
+                if (rows != null && rows.remove(m.getSeq()) != null) {
+                    overlayRows--;
+                    if (rows.isEmpty()) overlay.remove(m.getSessionId());
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return true;
+    }
+
+    private long nextSeq(String sessionId) {
+        SeqBlock block = seqBlocks.computeIfAbsent(sessionId, k -> new SeqBlock());
+        block.lock.lock();
+        try {
+            if (block.next > block.last) {
+                block.last = delegate.reserveSeqs(sessionId, seqBlockSize);
+                block.next = block.last - seqBlockSize + 1;
+            }
+            return block.next++;
+        } finally {
+            block.lock.unlock();
+        }
+    }
+
+    private List<Message> pending(String sessionId) {
+        lock.lock();
+        try {
+            TreeMap<Long, Message> rows = overlay.get(sessionId);
+            return (rows == null) ? List.of() : List.copyOf(rows.values());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int pendingRows() {
+        lock.lock();
+        try {
+            return overlayRows;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // seq 기준 병합 (같은 seq는 DB 쪽 우선)
+    private static List<Message> merge(List<Message> persisted, List<Message> pending) {
+        if (pending.isEmpty()) return persisted;
+        TreeMap<Long, Message> bySeq = new TreeMap<>();
+        for (Message m : pending) bySeq.put(m.getSeq(), m);
+        for (Message m : persisted) bySeq.put(m.getSeq(), m);
+        return new ArrayList<>(bySeq.values());
+    }
+
+    private static boolean pendingContains(List<Message> pending, Message m) {
+        for (Message p : pending) {
+            if (p.getSeq() == m.getSeq()) return true;
+        }
+        return false;
+    }
+
+    private static void sleepQuietly(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 종료 시 남은 행을 모두 기록
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            flushNeeded.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    private record Queued(Message message, long enqueuedAtMs) {}
+
+    private static final class SeqBlock {
+        private final ReentrantLock lock = new ReentrantLock();
+        private long next = 1;
+        private long last = 0;
+    }
+}
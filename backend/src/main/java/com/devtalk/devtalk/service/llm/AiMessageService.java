@@ -11,18 +11,20 @@ import com.devtalk.devtalk.domain.llm.LlmClient;
 import com.devtalk.devtalk.domain.llm.LlmFinishReason;
 import com.devtalk.devtalk.domain.llm.LlmMessage;
 import com.devtalk.devtalk.domain.llm.LlmOptions;
-import com.devtalk.devtalk.service.llm.context.LlmPromptComposer;
+import com.devtalk.devtalk.service.llm.context.ContextSnapshot;
+import com.devtalk.devtalk.service.llm.context.ContextSnapshotService;
 import com.devtalk.devtalk.domain.llm.LlmRequest;
 import com.devtalk.devtalk.domain.llm.LlmResult;
 import com.devtalk.devtalk.domain.llm.LlmRole;
-import com.devtalk.devtalk.service.llm.context.SessionSummaryService;
-import com.devtalk.devtalk.domain.llm.context.SessionSummaryStore;
-import com.devtalk.devtalk.domain.llm.context.TailSelector;
+import com.devtalk.devtalk.service.llm.context.SummaryScheduler;
+import com.devtalk.devtalk.infra.concurrent.AdmissionLimiter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
 @Service
 public final class AiMessageService {
@@ -30,10 +32,10 @@ public final class AiMessageService {
     private final MessageRepository messageRepository;
     private final LlmClient llmClient;
 
-    private final TailSelector tailSelector;
-    private final SessionSummaryStore sessionSummaryStore;
-    private final SessionSummaryService sessionSummaryService;
-    private final LlmPromptComposer promptComposer;
+    private final ContextSnapshotService contextSnapshotService;
+    private final SummaryScheduler summaryScheduler;
+    private final AdmissionLimiter admissionLimiter;
+    private final SessionGenerationGuard generationGuard;
 
     private static final String CONTINUE_PROMPT = """
         출력 길이 제한으로 이전 답변이 중간에 끊겼습니다.
@@ -53,23 +55,36 @@ public final class AiMessageService {
 
     private static final int MAX_CONTINUE_ROUNDS = 2;
 
-    public AiMessageService(MessageRepository messageRepository, LlmClient llmClient, TailSelector tailSelector, SessionSummaryService sessionSummaryService, SessionSummaryStore sessionSummaryStore, LlmPromptComposer promptComposer) {
+    public AiMessageService(MessageRepository messageRepository, LlmClient llmClient, ContextSnapshotService contextSnapshotService, SummaryScheduler summaryScheduler, AdmissionLimiter admissionLimiter, SessionGenerationGuard generationGuard) {
         this.messageRepository = Objects.requireNonNull(messageRepository);
         this.llmClient = Objects.requireNonNull(llmClient);
-        this.tailSelector = tailSelector;
-        this.sessionSummaryService = sessionSummaryService;
-        this.sessionSummaryStore = sessionSummaryStore;
-        this.promptComposer = promptComposer;
+        this.contextSnapshotService = Objects.requireNonNull(contextSnapshotService);
+        this.summaryScheduler = Objects.requireNonNull(summaryScheduler);
+        this.admissionLimiter = Objects.requireNonNull(admissionLimiter);
+        this.generationGuard = Objects.requireNonNull(generationGuard);
     }
 
     public MessageResponse generateAndSave(String sessionId) {
         Objects.requireNonNull(sessionId, "sessionId must not be null");
 
-        // 1) 전체 히스토리 조회
-        List<Message> history = messageRepository.findAllBySessionId(sessionId);
+        // 같은 세션의 생성이 진행 중이면 새로 돌리지 않고 그 결과를 받음 (스트리밍 중이면 409)
+        return generationGuard.runBlocking(sessionId, () -> {
+            // 동시 생성 상한 초과 시 LLM 호출 없이 바로 거절 (FAILED 메시지도 남기지 않음)
+            if (!admissionLimiter.tryAcquire()) {
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "AI generation is at capacity");
+            }
+            try {
+                return doGenerateAndSave(sessionId);
+            } finally {
+                admissionLimiter.release();
+            }
+        });
+    }
 
-        // 2) 최신 SUCCESS USER 추출 (없으면 실패 기록)
-        Optional<Message> latestUserOpt = findLatestSuccessUser(history);
+    private MessageResponse doGenerateAndSave(String sessionId) {
+
+        // 1~2) 최신 SUCCESS USER 조회 (없으면 실패 기록) - 전체 히스토리는 읽지 않음
+        Optional<Message> latestUserOpt = messageRepository.findLatestSuccessUser(sessionId);
         if (latestUserOpt.isEmpty()) {
             Message failed = new Message(
                 sessionId,
@@ -83,19 +98,13 @@ public final class AiMessageService {
         }
         Message latestUser = latestUserOpt.get();
 
-        // 3) 요약 갱신 (필요한 경우에만 내부에서 수행)
-        //    - 실패해도 내부에서 SYSTEM FAILED 로깅하고 계속 진행(요약은 기존 상태 유지)
-        sessionSummaryService.updateIfNeeded(sessionId);
-
-        // 4) Tail 선택 (SYSTEM 제외, FAILED 제외, AI 포함, latestUser 제외)
-        List<Message> tail = tailSelector.selectTail(history, latestUser);
+        // 3) 요약 갱신은 백그라운드에 요청만 하고 기다리지 않음 (아래에서는 마지막으로 커밋된 요약 사용)
+        //    - 실패하면 백그라운드에서 SYSTEM FAILED 로깅(요약은 기존 상태 유지)
+        summaryScheduler.request(sessionId);
 
-        // 5) 요약 조회 (없으면 기본 문구)
-        String summary = sessionSummaryStore.getState(sessionId).summaryText();
-
-        // 6) Prompt 조립: SUMMARY(system_prompt) + messages(tail -> latestUser)
-        LlmPromptComposer.ComposedPrompt composed =
-            promptComposer.compose(summary, tail, latestUser);
+        // 4~6) 컨텍스트 스냅샷: tail(SYSTEM/FAILED/latestUser 제외, AI 포함) + 요약 + 조립된 prompt
+        //      세션이 그대로면 캐시된 스냅샷, 메시지가 추가됐으면 추가분만 반영 (이어쓰기 라운드도 같은 스냅샷 사용)
+        ContextSnapshot snapshot = contextSnapshotService.get(sessionId, latestUser);
 
         // 7) DevTalk 고정 systemPrompt + SUMMARY 결합
         String baseSystemPrompt = """
@@ -105,8 +114,8 @@ public final class AiMessageService {
                 - 모르면 모른다고 말해라
                 """;
 
-        String systemPrompt = baseSystemPrompt + "\n" + composed.systemPrompt();
-        List<LlmMessage> baseContext = composed.messages();
+        String systemPrompt = baseSystemPrompt + "\n" + snapshot.prompt().systemPrompt();
+        List<LlmMessage> baseContext = snapshot.prompt().messages();
 
         LlmOptions options = LlmOptions.defaults();
 
@@ -162,7 +171,9 @@ public final class AiMessageService {
             new MessageMetadata(totalInputToken, totalOutputToken, endTime - startTime, lastReason)
         );
 
-        return MessageResponse.from(messageRepository.save(aiMessage));
+        Message saved = messageRepository.save(aiMessage);
+        summaryScheduler.request(sessionId);
+        return MessageResponse.from(saved);
     }
 
     private List<LlmMessage> buildContinueContext(List<LlmMessage> baseContext, String assistantSoFar) {
@@ -178,14 +189,4 @@ public final class AiMessageService {
         return merged;
     }
 
-    private Optional<Message> findLatestSuccessUser(List<Message> historyInOrder) {
-        for (int i = historyInOrder.size() - 1; i >= 0; i--) {
-            Message m = historyInOrder.get(i);
-            if (m.getRole() == MessageRole.USER && m.getStatus() == MessageStatus.SUCCESS) {
-                return Optional.of(m);
-            }
-        }
-        return Optional.empty();
-    }
-
 }
@@ -13,31 +13,45 @@ import com.devtalk.devtalk.domain.llm.LlmOptions;
 import com.devtalk.devtalk.service.llm.context.LlmPromptComposer;
 import com.devtalk.devtalk.domain.llm.LlmRequest;
 import com.devtalk.devtalk.domain.llm.LlmStreamClient;
-import com.devtalk.devtalk.service.llm.context.SessionSummaryService;
-import com.devtalk.devtalk.domain.llm.context.SessionSummaryStore;
-import com.devtalk.devtalk.domain.llm.context.TailSelector;
+import com.devtalk.devtalk.service.llm.context.ContextSnapshot;
+import com.devtalk.devtalk.service.llm.context.ContextSnapshotService;
+import com.devtalk.devtalk.service.llm.context.SummaryScheduler;
+import com.devtalk.devtalk.service.llm.stream.DeltaCoalescerFactory;
+import com.devtalk.devtalk.service.llm.stream.GenerationCancelPolicy;
+import com.devtalk.devtalk.service.llm.stream.GenerationReplayBuffer;
+import com.devtalk.devtalk.service.llm.stream.GenerationReplayRegistry;
+import com.devtalk.devtalk.service.llm.stream.StreamChunk;
+import com.devtalk.devtalk.service.llm.stream.StreamResume;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.atomic.AtomicBoolean;
 import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 @Service
 public class AiStreamService {
     private final MessageRepository messageRepository;
     private final LlmStreamClient llmStreamClient;
 
-    private final TailSelector tailSelector;
-    private final SessionSummaryStore sessionSummaryStore;
-    private final SessionSummaryService sessionSummaryService;
+    private final ContextSnapshotService contextSnapshotService;
+    private final SummaryScheduler summaryScheduler;
     private final LlmPromptComposer promptComposer;
 
     private final TaskExecutor taskExecutor;
+    private final DeltaCoalescerFactory deltaCoalescerFactory;
+    private final GenerationReplayRegistry replayRegistry;
+    private final GenerationCancelPolicy cancelPolicy;
+    private final SessionGenerationGuard generationGuard;
 
     private static final int MAX_CONTINUE = 2;
     private static final int ANCHOR_CHARS = 200;
@@ -49,130 +63,349 @@ public class AiStreamService {
         - 모르면 모른다고 말해라
         """;
 
-    public AiStreamService(MessageRepository messageRepository, LlmStreamClient llmStreamClient, TailSelector tailSelector, SessionSummaryService sessionSummaryService, SessionSummaryStore sessionSummaryStore, LlmPromptComposer promptComposer, TaskExecutor taskExecutor) {
+    public AiStreamService(MessageRepository messageRepository, LlmStreamClient llmStreamClient, ContextSnapshotService contextSnapshotService, SummaryScheduler summaryScheduler, LlmPromptComposer promptComposer, TaskExecutor taskExecutor, DeltaCoalescerFactory deltaCoalescerFactory, GenerationReplayRegistry replayRegistry, GenerationCancelPolicy cancelPolicy, SessionGenerationGuard generationGuard) {
         this.messageRepository = Objects.requireNonNull(messageRepository);
         this.llmStreamClient = Objects.requireNonNull(llmStreamClient);
-        this.tailSelector = Objects.requireNonNull(tailSelector);
-        this.sessionSummaryService = Objects.requireNonNull(sessionSummaryService);
-        this.sessionSummaryStore = Objects.requireNonNull(sessionSummaryStore);
+        this.contextSnapshotService = Objects.requireNonNull(contextSnapshotService);
+        this.summaryScheduler = Objects.requireNonNull(summaryScheduler);
         this.promptComposer = Objects.requireNonNull(promptComposer);
         this.taskExecutor = Objects.requireNonNull(taskExecutor);
+        this.deltaCoalescerFactory = Objects.requireNonNull(deltaCoalescerFactory);
+        this.replayRegistry = Objects.requireNonNull(replayRegistry);
+        this.cancelPolicy = Objects.requireNonNull(cancelPolicy);
+        this.generationGuard = Objects.requireNonNull(generationGuard);
     }
 
-    public void streamAi(String sessionId, String replyToUserMessageId, SseEmitter emitter) {
+    /**
+     * @param coalesce false면 delta를 모으지 않고 바로 전송 (지연에 민감한 클라이언트용)
+     * @param resume   generationId가 있으면 새 생성을 시작하지 않고 그 생성에 다시 붙음
+     *                 Last-Event-ID만 있으면 같은 질문의 진행 중 생성에 그 다음 delta부터 붙음 (null이면 처음부터)
+     */
+    public void streamAi(String sessionId, String replyToUserMessageId, boolean coalesce, StreamResume resume, SseEmitter emitter) {
         Objects.requireNonNull(sessionId, "sessionId must not be null");
         Objects.requireNonNull(emitter, "emitter must not be null");
 
-        taskExecutor.execute(() -> doStream(sessionId, replyToUserMessageId, emitter));
-    }
+        // 재연결: 버퍼에서 바로 구독하므로 스레드가 필요 없음
+        if (resume != null && resume.hasGeneration()) {
+            Optional<GenerationReplayBuffer> buffer = replayRegistry.find(sessionId, resume.generationId());
+            if (buffer.isEmpty()) {
+                try { sendEvent(emitter, StreamChunk.ERROR, "generation_not_found"); } catch (Exception ignore) {}
+                try { emitter.complete(); } catch (Exception ignore) {}
+                return;
+            }
+            deliverToEmitter(buffer.get().subscribe(resume.lastEventId()), coalesce, emitter);
+            return;
+        }
+
+        // 같은 질문을 이미 다른 연결(탭/기기)이 생성 중이면 거기에 붙기만 함 (LLM 호출 X, 스레드 X)
+        // 같은 세션에서 다른 생성이 진행 중이면 409
+        Optional<GenerationReplayBuffer> running = findRunning(sessionId, replyToUserMessageId);
+        if (running.isPresent()) {
+            joinEmitter(running.get(), StreamResume.afterSeq(resume), coalesce, emitter);
+            return;
+        }
 
-    private void doStream(String sessionId, String replyToUserMessageId, SseEmitter emitter) {
-        AtomicBoolean clientGone = new AtomicBoolean(false);
         try {
-            // 1) 히스토리
-            List<Message> history = messageRepository.findAllBySessionId(sessionId);
+            taskExecutor.execute(() -> doStream(sessionId, replyToUserMessageId, coalesce, StreamResume.afterSeq(resume), emitter));
+        } catch (TaskRejectedException e) {
+            // 풀/입장 제한이 가득 참 -> 바로 알리고 종료
+            try { sendEvent(emitter, "error", "server_busy"); } catch (Exception ignore) {}
+            try { emitter.complete(); } catch (Exception ignore) {}
+        }
+    }
+
+    /**
+     * 리액티브 스트리밍 모드
+     * - 스트림마다 풀 스레드를 붙잡지 않음 (동시 스트림 수는 메모리에만 의존)
+     * - 블로킹 구간(히스토리 조회, 요약 갱신, 저장)만 boundedElastic에서 짧게 실행
+     * - 자동 이어쓰기(MAX_CONTINUE)도 Flux 합성으로 처리
+     */
+    public Flux<ServerSentEvent<String>> streamAiReactive(String sessionId, String replyToUserMessageId, boolean coalesce, StreamResume resume) {
+        Objects.requireNonNull(sessionId, "sessionId must not be null");
+
+        if (resume != null && resume.hasGeneration()) {
+            return replayRegistry.find(sessionId, resume.generationId())
+                .map(buffer -> toSse(deltaCoalescerFactory.coalesce(buffer.subscribe(resume.lastEventId()), coalesce)))
+                .orElseGet(() -> Flux.just(sse(StreamChunk.ERROR, "generation_not_found")));
+        }
+
+        Optional<GenerationReplayBuffer> running = findRunning(sessionId, replyToUserMessageId);
+        if (running.isPresent()) {
+            return startAndSubscribe(running.get(), StreamResume.afterSeq(resume), coalesce);
+        }
+
+        return Mono.fromCallable(() -> attachOrStart(sessionId, replyToUserMessageId))
+            .subscribeOn(Schedulers.boundedElastic())
+            .flatMapMany(attached -> attached
+                .map(attachment -> {
+                    if (attachment.owner()) generateReactive(attachment.buffer(), attachment.ctx());
+                    // 새로 시작한 생성이면 이전 연결의 Last-Event-ID는 이 생성의 seq가 아님
+                    return startAndSubscribe(attachment.buffer(), attachment.owner() ? 0 : StreamResume.afterSeq(resume), coalesce);
+                })
+                .orElseGet(() -> Flux.just(sse("error", "latest_user_not_found"))))
+            .onErrorResume(e -> Flux.just(sse("error", "server_error")));
+    }
+
+    /**
+     * 세션 single-flight 빠른 경로 (히스토리 조회 전)
+     * - 같은 질문(또는 질문 미지정)의 생성이 진행 중이면 그 버퍼
+     * - 블로킹 생성이나 다른 질문의 생성이 진행 중이면 409
+     */
+    private Optional<GenerationReplayBuffer> findRunning(String sessionId, String replyToUserMessageId) {
+        if (generationGuard.isBlockingInFlight(sessionId)) throw generationGuard.rejectConflict();
+
+        Optional<GenerationReplayBuffer> sameQuestion = replayRegistry.findJoinable(sessionId, replyToUserMessageId);
+        if (sameQuestion.isPresent()) return sameQuestion;
+
+        Optional<GenerationReplayBuffer> inFlight = generationGuard.runningStream(sessionId);
+        if (inFlight.isEmpty() || !inFlight.get().isJoinable()) return Optional.empty();
+
+        boolean unspecified = replyToUserMessageId == null || replyToUserMessageId.isBlank();
+        if (!unspecified) throw generationGuard.rejectConflict();
+
+        generationGuard.recordJoined();
+        return inFlight;
+    }
+
+    // afterSeq > 0: 같은 생성을 이어받는 재연결 -> start를 다시 보내지 않음 (클라이언트가 start에서 본문을 비우므로)
+    private Flux<ServerSentEvent<String>> startAndSubscribe(GenerationReplayBuffer buffer, long afterSeq, boolean coalesce) {
+        Flux<ServerSentEvent<String>> chunks = toSse(deltaCoalescerFactory.coalesce(buffer.subscribe(afterSeq), coalesce));
+        if (afterSeq > 0) return chunks;
+        return Flux.concat(Flux.just(sse("start", jsonStart(buffer.generationId()))), chunks);
+    }
 
-            // 2) 기준 USER 메시지 결정
-            Optional<Message> latestUserOpt = (replyToUserMessageId != null && !replyToUserMessageId.isBlank())
-                ? findUserById(history, replyToUserMessageId)
-                : findLatestSuccessUser(history);
+    // 생성은 SSE 연결과 분리되어 버퍼에 기록됨 -> 재연결로 이어받을 수 있음
+    // 모든 연결이 떠나면 cancelPolicy에 따라 이 구독을 dispose -> streamRound -> WebClient 교환까지 취소
+    private void generateReactive(GenerationReplayBuffer buffer, StreamContext ctx) {
+        GenerationState state = new GenerationState();
+
+        Disposable generation = streamRound(ctx, state, 0)
+            .doOnNext(buffer::appendDelta)
+            .then(Mono.fromCallable(() -> saveAi(ctx, state)).subscribeOn(Schedulers.boundedElastic()))
+            .subscribe(
+                saved -> {
+                    cancelPolicy.recordCompleted(state.totalOutputToken);
+                    buffer.complete(StreamChunk.DONE, jsonDone(safeId(saved), state.finalReason));
+                },
+                err -> buffer.complete(StreamChunk.ERROR, "llm_stream_failed")
+            );
+        buffer.bindUpstream(generation);
+    }
 
-            if (latestUserOpt.isEmpty()) {
+    // 한 라운드를 흘려보내고, MAX_TOKENS로 끊겼으면 다음 라운드를 이어 붙임
+    private Flux<String> streamRound(StreamContext ctx, GenerationState state, int continueCount) {
+        return Flux.defer(() -> {
+            LlmRequest req = buildRequest(ctx, continueCount, state.total.toString());
+            long startTime = System.currentTimeMillis();
+            RoundState round = new RoundState();
+
+            return llmStreamClient.stream(req)
+                .doOnNext(evt -> {
+                    if (evt.finishReason() != null && evt.finishReason() != LlmFinishReason.UNKNOWN) {
+                        round.reason = evt.finishReason();
+                        round.tokenUsage = evt.tokenUsage();
+                    }
+                })
+                .filter(evt -> evt.delta() != null && !evt.delta().isEmpty())
+                .map(evt -> {
+                    state.total.append(evt.delta());
+                    return evt.delta();
+                })
+                .concatWith(Flux.defer(() -> {
+                    state.add(round.toMetadata(System.currentTimeMillis() - startTime));
+
+                    if (round.reason == LlmFinishReason.MAX_TOKENS && continueCount < MAX_CONTINUE) {
+                        return streamRound(ctx, state, continueCount + 1);
+                    }
+                    return Flux.empty();
+                }));
+        });
+    }
+
+    private void doStream(String sessionId, String replyToUserMessageId, boolean coalesce, long afterSeq, SseEmitter emitter) {
+        try {
+            // 1) 히스토리 + 기준 USER -> 같은 질문의 생성이 있으면 붙고, 없으면 요약 갱신 + tail + summary
+            Optional<Attached> attached = attachOrStart(sessionId, replyToUserMessageId);
+            if (attached.isEmpty()) {
                 sendEvent(emitter, "error", "latest_user_not_found");
                 emitter.complete();
                 return;
             }
-            Message latestUser = latestUserOpt.get();
-
-            // 3) 요약 갱신 + tail + summary
-            sessionSummaryService.updateIfNeeded(sessionId);
-            List<Message> tail = tailSelector.selectTail(history, latestUser);
-            String summary = sessionSummaryStore.getState(sessionId).summaryText();
-
-            // 4) base prompt 구성
-            LlmPromptComposer.ComposedPrompt composed = promptComposer.compose(summary, tail, latestUser);
-            String systemPrompt = BASE_SYSTEM_PROMPT + "\n" + composed.systemPrompt();
-            List<LlmMessage> baseContext = composed.messages();
-            LlmOptions options = LlmOptions.defaults();
-
-            // 5) start
-            sendEvent(emitter, "start", "ok");
-
-            // 6) 스트리밍 + 자동 이어쓰기
-            StringBuilder total = new StringBuilder();
-            LlmFinishReason finalReason = LlmFinishReason.UNKNOWN;
-            int continueCount = 0;
-
-            int totalInputToken = 0;
-            int totalOutputToken = 0;
-            long totalLatency = 0;
-            while (true) {
-                LlmRequest req;
-
-                if (continueCount == 0) {
-                    req = new LlmRequest(systemPrompt, baseContext, options);
-                } else {
-                    String anchor = lastN(total.toString(), ANCHOR_CHARS);
-
-                    LlmPromptComposer.ComposedPrompt cont = promptComposer.composeContinue(
-                        summary,
-                        tail,
-                        latestUser,
-                        total.toString(),
-                        anchor
-                    );
-
-                    String contSystem = BASE_SYSTEM_PROMPT + "\n" + cont.systemPrompt();
-                    req = new LlmRequest(contSystem, cont.messages(), options);
-                }
+            Attached attachment = attached.get();
 
-                MessageMetadata metadata = streamOnce(req, emitter, clientGone, total);
-                totalInputToken += metadata.inputTokenCount();
-                totalOutputToken += metadata.outputTokenCount();
-                totalLatency += metadata.latencyMs();
-                LlmFinishReason r = metadata.finishReason();
-                finalReason = r;
+            // 2) start (재연결용 generationId 포함) + 버퍼 -> emitter 전달 연결
+            joinEmitter(attachment.buffer(), attachment.owner() ? 0 : afterSeq, coalesce, emitter);
+            if (!attachment.owner()) return;
 
-                if (clientGone.get()) break;
+            // 3) 스트리밍 + 자동 이어쓰기 -> 4) 완료 시 AI 메시지 1건 저장
+            //    클라이언트가 나가면 cancelPolicy에 따라 취소되거나 끝까지 진행 (재연결 시 이어받음)
+            generateBlocking(attachment.ctx(), attachment.buffer());
 
-                if (r == LlmFinishReason.MAX_TOKENS && continueCount < MAX_CONTINUE) {
+        } catch (Exception e) {
+            try { sendEvent(emitter, "error", "server_error"); } catch (Exception ignore) {}
+            try { emitter.completeWithError(e); } catch (Exception ignore) {}
+        }
+    }
+
+    private void generateBlocking(StreamContext ctx, GenerationReplayBuffer buffer) {
+        GenerationState state = new GenerationState();
+        int continueCount = 0;
+
+        try {
+            while (true) {
+                LlmRequest req = buildRequest(ctx, continueCount, state.total.toString());
+
+                MessageMetadata metadata = streamOnce(req, buffer, state.total);
+                if (buffer.isCancelled()) return;   // 모든 연결이 떠나 취소됨 -> 저장하지 않음
+                state.add(metadata);
+
+                if (metadata.finishReason() == LlmFinishReason.MAX_TOKENS && continueCount < MAX_CONTINUE) {
                     continueCount++;
                     continue;
                 }
                 break;
             }
-            // 7) 완료 시 AI 메시지 1건 저장
-            Message ai = new Message(
-                sessionId,
-                MessageRole.AI,
-                total.toString(),
-                (MessageMarkers) null,
-                MessageStatus.SUCCESS,
-                new MessageMetadata(totalInputToken, totalOutputToken, totalLatency, finalReason)
-            );
-            Message saved = messageRepository.save(ai);
+        } catch (RuntimeException e) {
+            buffer.complete(StreamChunk.ERROR, "llm_stream_failed");
+            return;
+        }
 
-            if (!clientGone.get()) {
-                try {
-                    sendEvent(emitter, "done", jsonDone(safeId(saved), finalReason));
-                } catch (Exception ignore) {}
-                try { emitter.complete(); } catch (Exception ignore) {}
-            } else {
-                // 클라이언트가 나갔어도 서버 결과는 저장(정석)
+        // 저장 실패도 버퍼를 종료시켜야 종료 훅(finishStream)이 돌고 세션 single-flight가 풀림
+        try {
+            Message saved = saveAi(ctx, state);
+            cancelPolicy.recordCompleted(state.totalOutputToken);
+            buffer.complete(StreamChunk.DONE, jsonDone(safeId(saved), state.finalReason));
+        } catch (RuntimeException e) {
+            buffer.complete(StreamChunk.ERROR, "save_failed");
+        }
+    }
+
+    // afterSeq > 0: 같은 생성을 이어받는 재연결 -> start 없이 afterSeq 다음 delta부터
+    private void joinEmitter(GenerationReplayBuffer buffer, long afterSeq, boolean coalesce, SseEmitter emitter) {
+        if (afterSeq == 0) {
+            try {
+                sendEvent(emitter, "start", jsonStart(buffer.generationId()));
+            } catch (Exception e) {
                 try { emitter.complete(); } catch (Exception ignore) {}
+                return;
             }
+        }
+        deliverToEmitter(buffer.subscribe(afterSeq), coalesce, emitter);
+    }
 
-        } catch (Exception e) {
-            try { sendEvent(emitter, "error", "server_error"); } catch (Exception ignore) {}
-            try { emitter.completeWithError(e); } catch (Exception ignore) {}
+    /**
+     * 버퍼 구독 -> (병합) -> SseEmitter 전송
+     * - 전송 실패(클라이언트 이탈) 또는 emitter 종료/타임아웃 시 구독 해제
+     *   (마지막 구독이면 버퍼가 cancelPolicy에 알려 생성 취소 여부를 결정)
+     * - 종료 이벤트(done/error)를 보낸 뒤 emitter 완료
+     */
+    private void deliverToEmitter(Flux<StreamChunk> chunks, boolean coalesce, SseEmitter emitter) {
+        Disposable delivery = deltaCoalescerFactory.coalesce(chunks, coalesce)
+            .doOnNext(chunk -> {
+                try {
+                    sendChunk(emitter, chunk);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            })
+            .subscribe(
+                ignore -> {},
+                err -> { try { emitter.complete(); } catch (Exception ignore) {} },
+                () -> { try { emitter.complete(); } catch (Exception ignore) {} }
+            );
+
+        emitter.onCompletion(delivery::dispose);
+        emitter.onTimeout(delivery::dispose);
+        emitter.onError(err -> delivery.dispose());
+    }
+
+    /**
+     * 기준 USER 조회 -> (sessionId, USER) 생성에 붙거나 새로 시작 (전체 히스토리는 읽지 않음)
+     * - 새로 시작하는 쪽(owner)만 요약 갱신/프롬프트 구성을 수행
+     * - 구성 중 실패하면 버퍼를 error로 닫아 함께 붙은 연결도 종료되게 함
+     */
+    private Optional<Attached> attachOrStart(String sessionId, String replyToUserMessageId) {
+        Optional<Message> latestUserOpt = (replyToUserMessageId != null && !replyToUserMessageId.isBlank())
+            ? messageRepository.findUserById(sessionId, replyToUserMessageId)
+            : messageRepository.findLatestSuccessUser(sessionId);
+
+        if (latestUserOpt.isEmpty()) return Optional.empty();
+        Message latestUser = latestUserOpt.get();
+
+        GenerationReplayRegistry.Attachment attachment = replayRegistry.openOrJoin(sessionId, safeId(latestUser));
+        if (!attachment.owner()) {
+            return Optional.of(new Attached(attachment.buffer(), false, null));
+        }
+
+        // 빠른 경로 이후에 다른 생성이 먼저 시작됨 -> 이 버퍼는 error로 닫고 생성하지 않음
+        GenerationReplayBuffer buffer = attachment.buffer();
+        if (!generationGuard.tryStartStream(sessionId, buffer)) {
+            buffer.complete(StreamChunk.ERROR, "generation_in_progress");
+            return Optional.of(new Attached(buffer, false, null));
+        }
+        buffer.onTermination(() -> generationGuard.finishStream(sessionId, buffer));
+
+        try {
+            StreamContext ctx = prepare(sessionId, latestUser);
+            return Optional.of(new Attached(attachment.buffer(), true, ctx));
+        } catch (RuntimeException e) {
+            attachment.buffer().complete(StreamChunk.ERROR, "server_error");
+            throw e;
+        }
+    }
+
+    // 요약 갱신 요청(백그라운드) -> 컨텍스트 스냅샷(tail + 마지막으로 커밋된 요약) -> base prompt
+    //   이어쓰기 라운드는 이 컨텍스트를 그대로 재사용
+    private StreamContext prepare(String sessionId, Message latestUser) {
+        summaryScheduler.request(sessionId);
+        ContextSnapshot snapshot = contextSnapshotService.get(sessionId, latestUser);
+
+        return new StreamContext(
+            sessionId,
+            latestUser,
+            snapshot.tail(),
+            snapshot.summary(),
+            BASE_SYSTEM_PROMPT + "\n" + snapshot.prompt().systemPrompt(),
+            snapshot.prompt().messages()
+        );
+    }
+
+    private LlmRequest buildRequest(StreamContext ctx, int continueCount, String totalSoFar) {
+        LlmOptions options = LlmOptions.defaults();
+        if (continueCount == 0) {
+            return new LlmRequest(ctx.systemPrompt(), ctx.baseContext(), options);
         }
+
+        String anchor = lastN(totalSoFar, ANCHOR_CHARS);
+        LlmPromptComposer.ComposedPrompt cont = promptComposer.composeContinue(
+            ctx.summary(),
+            ctx.tail(),
+            ctx.latestUser(),
+            totalSoFar,
+            anchor
+        );
+        return new LlmRequest(BASE_SYSTEM_PROMPT + "\n" + cont.systemPrompt(), cont.messages(), options);
     }
 
-    // 1회 스트림을 끝까지 돌리고 finishReason 리턴
+    private Message saveAi(StreamContext ctx, GenerationState state) {
+        Message ai = new Message(
+            ctx.sessionId(),
+            MessageRole.AI,
+            state.total.toString(),
+            (MessageMarkers) null,
+            MessageStatus.SUCCESS,
+            new MessageMetadata(state.totalInputToken, state.totalOutputToken, state.totalLatency, state.finalReason)
+        );
+        Message saved = messageRepository.save(ai);
+        summaryScheduler.request(ctx.sessionId());
+        return saved;
+    }
+
+    // 1회 스트림을 끝까지 돌리고 finishReason 리턴 (delta는 버퍼에 기록)
+    // 버퍼가 취소되면 구독을 끊고 대기도 바로 풀림
     private MessageMetadata streamOnce(
         LlmRequest req,
-        SseEmitter emitter,
-        AtomicBoolean clientGone,
+        GenerationReplayBuffer buffer,
         StringBuilder total
     ) {
         final LlmFinishReason[] reason = new LlmFinishReason[]{LlmFinishReason.UNKNOWN};
@@ -184,11 +417,7 @@ public class AiStreamService {
             evt -> {
                 if (evt.delta() != null && !evt.delta().isEmpty()) {
                     total.append(evt.delta());
-                    try {
-                        sendEvent(emitter, "delta", evt.delta());
-                    } catch (Exception io) {
-                        clientGone.set(true);
-                    }
+                    buffer.appendDelta(evt.delta());
                 }
                 if (evt.finishReason() != null && evt.finishReason() != LlmFinishReason.UNKNOWN) {
                     reason[0] = evt.finishReason();
@@ -201,6 +430,10 @@ public class AiStreamService {
             },
             latch::countDown
         );
+        buffer.bindUpstream(() -> {
+            sub.dispose();
+            latch.countDown();
+        });
 
         try {
             latch.await();
@@ -213,12 +446,6 @@ public class AiStreamService {
         }
 
         if (errHolder[0] != null) {
-            if (!clientGone.get()) {
-                try { sendEvent(emitter, "error", "llm_stream_failed"); } catch (Exception ignore) {}
-                try { emitter.completeWithError(errHolder[0]); } catch (Exception ignore) {}
-            } else {
-                try { emitter.complete(); } catch (Exception ignore) {}
-            }
             throw new RuntimeException(errHolder[0]);
         }
         long endTime = System.currentTimeMillis();
@@ -230,23 +457,22 @@ public class AiStreamService {
         emitter.send(SseEmitter.event().name(name).data(data));
     }
 
-    private Optional<Message> findLatestSuccessUser(List<Message> historyInOrder) {
-        for (int i = historyInOrder.size() - 1; i >= 0; i--) {
-            Message m = historyInOrder.get(i);
-            if (m.getRole() == MessageRole.USER && m.getStatus() == MessageStatus.SUCCESS) {
-                return Optional.of(m);
-            }
-        }
-        return Optional.empty();
+    private static void sendChunk(SseEmitter emitter, StreamChunk chunk) throws IOException {
+        SseEmitter.SseEventBuilder event = SseEmitter.event().name(chunk.event()).data(chunk.data());
+        if (chunk.isDelta()) event.id(String.valueOf(chunk.seq()));
+        emitter.send(event);
     }
 
-    private Optional<Message> findUserById(List<Message> historyInOrder, String userMessageId) {
-        for (Message m : historyInOrder) {
-            if (m.getRole() == MessageRole.USER && userMessageId.equals(safeId(m))) {
-                return Optional.of(m);
-            }
-        }
-        return Optional.empty();
+    private static ServerSentEvent<String> sse(String name, String data) {
+        return ServerSentEvent.builder(data).event(name).build();
+    }
+
+    private static Flux<ServerSentEvent<String>> toSse(Flux<StreamChunk> chunks) {
+        return chunks.map(chunk -> {
+            ServerSentEvent.Builder<String> event = ServerSentEvent.builder(chunk.data()).event(chunk.event());
+            if (chunk.isDelta()) event.id(String.valueOf(chunk.seq()));
+            return event.build();
+        });
     }
 
     private static String safeId(Message m) {
@@ -259,9 +485,51 @@ public class AiStreamService {
         return s.substring(s.length() - n);
     }
 
+    private static String jsonStart(String generationId) {
+        return "{\"generationId\":\"" + generationId + "\"}";
+    }
+
     private static String jsonDone(String messageId, LlmFinishReason reason) {
         String id = (messageId == null) ? "" : messageId.replace("\"", "");
         String r = (reason == null) ? "UNKNOWN" : reason.name();
         return "{\"messageId\":\"" + id + "\",\"finishReason\":\"" + r + "\"}";
     }
+
+    private record StreamContext(
+        String sessionId,
+        Message latestUser,
+        List<Message> tail,
+        String summary,
+        String systemPrompt,
+        List<LlmMessage> baseContext
+    ) {}
+
+    // owner=false면 다른 연결이 생성 중인 버퍼에 붙기만 하므로 ctx 없음
+    private record Attached(GenerationReplayBuffer buffer, boolean owner, StreamContext ctx) {}
+
+    // 이어쓰기 라운드 전체에 걸쳐 누적되는 상태 (한 스트림 안에서만 순차 접근)
+    private static final class GenerationState {
+        private final StringBuilder total = new StringBuilder();
+        private LlmFinishReason finalReason = LlmFinishReason.UNKNOWN;
+        private int totalInputToken = 0;
+        private int totalOutputToken = 0;
+        private long totalLatency = 0;
+
+        private void add(MessageMetadata metadata) {
+            totalInputToken += metadata.inputTokenCount();
+            totalOutputToken += metadata.outputTokenCount();
+            totalLatency += metadata.latencyMs();
+            finalReason = metadata.finishReason();
+        }
+    }
+
+    private static final class RoundState {
+        private LlmFinishReason reason = LlmFinishReason.UNKNOWN;
+        private LlmTokenUsage tokenUsage;
+
+        private MessageMetadata toMetadata(long latencyMs) {
+            LlmTokenUsage usage = (tokenUsage != null) ? tokenUsage : LlmTokenUsage.empty();
+            return new MessageMetadata(usage.inputTokenCount(), usage.outputTokenCount(), latencyMs, reason);
+        }
+    }
 }
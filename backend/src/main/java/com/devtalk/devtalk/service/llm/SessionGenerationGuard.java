@@ -0,0 +1,125 @@
+package com.devtalk.devtalk.service.llm;
+
+import com.devtalk.devtalk.service.llm.stream.GenerationReplayBuffer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * 세션당 AI 생성 1건만 실행 (single-flight)
+ * - 블로킹 생성(generateAndSave) 중 같은 요청이 또 오면 새로 돌리지 않고 같은 결과를 기다렸다 받음
+ * - 스트리밍 생성 중이면 같은 질문은 그 생성에 붙고(GenerationReplayRegistry), 다른 생성 요청은 409
+ * - 블로킹/스트리밍이 서로 겹치면 나중 요청이 409
+ *
+ * 메트릭: devtalk.ai.singleflight.joined / devtalk.ai.singleflight.rejected
+ */
+public final class SessionGenerationGuard {
+
+    // blocking 또는 stream 중 하나만 채워짐
+    private record Flight(CompletableFuture<Object> blocking, GenerationReplayBuffer stream) {}
+
+    private final ConcurrentHashMap<String, Flight> flights = new ConcurrentHashMap<>();
+    private final Counter joined;
+    private final Counter rejected;
+
+    public SessionGenerationGuard(MeterRegistry meterRegistry) {
+        this.joined = Counter.builder("devtalk.ai.singleflight.joined")
+            .description("duplicate generation requests served by an in-flight generation")
+            .register(meterRegistry);
+        this.rejected = Counter.builder("devtalk.ai.singleflight.rejected")
+            .description("generation requests rejected because another generation was running")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 블로킹 생성 실행. 같은 세션의 블로킹 생성이 진행 중이면 그 결과를 공유
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T runBlocking(String sessionId, Supplier<T> generation) {
+        Objects.requireNonNull(sessionId, "sessionId must not be null");
+
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        Flight flight = new Flight(mine, null);
+        Flight existing = flights.putIfAbsent(sessionId, flight);
+
+        if (existing != null) {
+            if (existing.blocking() == null) {
+                rejected.increment();
+                throw conflict();
+            }
+            joined.increment();
+            return (T) await(existing.blocking());
+        }
+
+        try {
+            T result = generation.get();
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(sessionId, flight);   // 내가 등록한 것만 제거
+        }
+    }
+
+    /**
+     * 스트리밍 생성 시작 등록 (owner만 호출)
+     * @return 다른 생성이 진행 중이면 false
+     */
+    public boolean tryStartStream(String sessionId, GenerationReplayBuffer buffer) {
+        Objects.requireNonNull(buffer, "buffer must not be null");
+        Flight existing = flights.putIfAbsent(sessionId, new Flight(null, buffer));
+        if (existing == null || existing.stream() == buffer) return true;
+        rejected.increment();
+        return false;
+    }
+
+    public void finishStream(String sessionId, GenerationReplayBuffer buffer) {
+        flights.computeIfPresent(sessionId, (k, f) -> f.stream() == buffer ? null : f);
+    }
+
+    /**
+     * 진행 중인 스트리밍 생성 (재시도 요청이 히스토리를 다시 읽지 않고 바로 붙도록)
+     */
+    public Optional<GenerationReplayBuffer> runningStream(String sessionId) {
+        Flight f = flights.get(sessionId);
+        return (f == null) ? Optional.empty() : Optional.ofNullable(f.stream());
+    }
+
+    public boolean isBlockingInFlight(String sessionId) {
+        Flight f = flights.get(sessionId);
+        return f != null && f.blocking() != null;
+    }
+
+    public void recordJoined() {
+        joined.increment();
+    }
+
+    public ResponseStatusException rejectConflict() {
+        rejected.increment();
+        return conflict();
+    }
+
+    private static ResponseStatusException conflict() {
+        return new ResponseStatusException(HttpStatus.CONFLICT, "AI generation already in progress for this session");
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException | CancellationException e) {
+            Throwable cause = (e.getCause() != null) ? e.getCause() : e;
+            if (cause instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(cause);
+        }
+    }
+}
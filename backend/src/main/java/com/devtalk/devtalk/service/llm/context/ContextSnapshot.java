@@ -0,0 +1,38 @@
+package com.devtalk.devtalk.service.llm.context;
+
+import com.devtalk.devtalk.domain.message.Message;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 세션의 LLM 입력 컨텍스트 (tail + 요약 + 조립된 프롬프트), 불변
+ * - coveredSeq: 만들 때 본 세션의 마지막 seq (이후 추가된 메시지만 반영하면 최신이 됨)
+ * - summarySeq: 반영된 요약의 lastSummarizedSeq
+ * 같은 생성의 이어쓰기 라운드는 같은 스냅샷을 그대로 씀
+ */
+public record ContextSnapshot(
+    String sessionId,
+    Message latestUser,
+    List<Message> tail,
+    long coveredSeq,
+    String summary,
+    long summarySeq,
+    LlmPromptComposer.ComposedPrompt prompt
+) {
+    public ContextSnapshot {
+        tail = List.copyOf(tail);
+    }
+
+    /**
+     * 다음 스냅샷의 tail 후보가 될 수 있는 메시지 (tail + latestUser, seq 순)
+     * 예산은 최신부터 채우다 처음 넘치는 지점에서 멈추므로, 이보다 오래된 메시지는 다시 볼 필요 없음
+     */
+    List<Message> window() {
+        List<Message> window = new ArrayList<>(tail.size() + 1);
+        window.addAll(tail);
+        window.add(latestUser);
+        window.sort(Comparator.comparingLong(Message::getSeq));
+        return window;
+    }
+}
@@ -0,0 +1,154 @@
+package com.devtalk.devtalk.service.llm.context;
+
+import com.devtalk.devtalk.domain.llm.context.RecentTailSelector;
+import com.devtalk.devtalk.domain.llm.context.SessionSummaryStore;
+import com.devtalk.devtalk.domain.llm.context.SummaryState;
+import com.devtalk.devtalk.domain.message.Message;
+import com.devtalk.devtalk.domain.message.MessageRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 세션별 ContextSnapshot 캐시 (ADR-017)
+ * - 버전 = (세션의 마지막 seq, 요약의 lastSummarizedSeq). 둘 다 그대로면 캐시된 스냅샷을 그대로 리턴
+ * - 요약만 바뀜: tail은 두고 프롬프트만 다시 조립
+ * - 메시지가 추가됨: 이전 window + 추가분(seq 범위 조회)에 tail 예산을 다시 적용 (전체 tail을 다시 읽지 않음)
+ * - 그 외(첫 요청, 예전 USER 메시지에 대한 재생성): 저장소에서 tail을 새로 선택
+ * 버전 확인은 메시지/요약 캐시에서 처리되므로 적중 시 SQL 없음
+ *
+ * 메트릭: devtalk.context.snapshot.hits / .summary-refreshes / .incremental / .rebuilds
+ */
+public final class ContextSnapshotService {
+
+    private final MessageRepository messageRepository;
+    private final RecentTailSelector tailSelector;
+    private final SessionSummaryStore summaryStore;
+    private final LlmPromptComposer promptComposer;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, ContextSnapshot> snapshots;
+
+    private final Counter hits;
+    private final Counter summaryRefreshes;
+    private final Counter incremental;
+    private final Counter rebuilds;
+
+    public ContextSnapshotService(MessageRepository messageRepository, RecentTailSelector tailSelector, SessionSummaryStore summaryStore, LlmPromptComposer promptComposer, int maxEntries, MeterRegistry meterRegistry) {
+        this.messageRepository = Objects.requireNonNull(messageRepository);
+        this.tailSelector = Objects.requireNonNull(tailSelector);
+        this.summaryStore = Objects.requireNonNull(summaryStore);
+        this.promptComposer = Objects.requireNonNull(promptComposer);
+        if (maxEntries < 1) throw new IllegalArgumentException("maxEntries must be positive");
+
+        this.snapshots = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ContextSnapshot> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.hits = counter("devtalk.context.snapshot.hits", "snapshots reused as-is", meterRegistry);
+        this.summaryRefreshes = counter("devtalk.context.snapshot.summary-refreshes", "snapshots recomposed for a newer summary", meterRegistry);
+        this.incremental = counter("devtalk.context.snapshot.incremental", "snapshots extended with appended messages only", meterRegistry);
+        this.rebuilds = counter("devtalk.context.snapshot.rebuilds", "snapshots built from the repository", meterRegistry);
+    }
+
+    /**
+     * latestUser에 답하기 위한 최신 스냅샷
+     */
+    public ContextSnapshot get(String sessionId, Message latestUser) {
+        Objects.requireNonNull(sessionId, "sessionId must not be null");
+        Objects.requireNonNull(latestUser, "latestUser must not be null");
+
+        // 버전을 먼저 읽음: 이후에 추가된 메시지는 다음 요청에서 추가분으로 반영
+        long latestSeq = messageRepository.findSeqBeforeLatest(sessionId, 0);
+        SummaryState summary = summaryStore.getState(sessionId);
+        ContextSnapshot prev = cached(sessionId);
+
+        ContextSnapshot next;
+        if (prev != null && sameUser(prev, latestUser) && prev.coveredSeq() == latestSeq) {
+            if (prev.summarySeq() == summary.lastSummarizedSeq() && prev.summary().equals(summary.summaryText())) {
+                hits.increment();
+                return prev;
+            }
+            summaryRefreshes.increment();
+            next = compose(sessionId, latestUser, prev.tail(), latestSeq, summary);
+        } else if (prev != null && latestSeq > prev.coveredSeq()
+            && (sameUser(prev, latestUser) || latestUser.getSeq() > prev.coveredSeq())) {
+            // 같은 USER(재시도)거나 이전 스냅샷 이후에 추가된 USER: 추가분만 반영
+            incremental.increment();
+            List<Message> appended = messageRepository.findBySeqRange(sessionId, prev.coveredSeq(), latestSeq);
+            List<Message> tail = tailSelector.selectTail(merge(prev.window(), appended), latestUser);
+            next = compose(sessionId, latestUser, tail, latestSeq, summary);
+        } else {
+            rebuilds.increment();
+            List<Message> tail = tailSelector.selectTail(sessionId, latestUser);
+            next = compose(sessionId, latestUser, tail, latestSeq, summary);
+        }
+
+        store(next);
+        return next;
+    }
+
+    /**
+     * 세션 삭제/메시지 전체 삭제 시 스냅샷 제거
+     */
+    public void invalidate(String sessionId) {
+        lock.lock();
+        try {
+            snapshots.remove(sessionId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ContextSnapshot compose(String sessionId, Message latestUser, List<Message> tail, long coveredSeq, SummaryState summary) {
+        String summaryText = (summary.summaryText() == null) ? "" : summary.summaryText();
+        LlmPromptComposer.ComposedPrompt prompt = promptComposer.compose(summaryText, tail, latestUser);
+        return new ContextSnapshot(sessionId, latestUser, tail, coveredSeq, summaryText, summary.lastSummarizedSeq(), prompt);
+    }
+
+    private ContextSnapshot cached(String sessionId) {
+        lock.lock();
+        try {
+            return snapshots.get(sessionId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 동시에 만든 스냅샷 중 더 최신(coveredSeq가 큰) 쪽을 남김
+    private void store(ContextSnapshot next) {
+        lock.lock();
+        try {
+            ContextSnapshot current = snapshots.get(next.sessionId());
+            if (current == null || current.coveredSeq() <= next.coveredSeq()) {
+                snapshots.put(next.sessionId(), next);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static boolean sameUser(ContextSnapshot snapshot, Message latestUser) {
+        return snapshot.latestUser().getMessageId().equals(latestUser.getMessageId());
+    }
+
+    // seq 기준 합치기 (window와 추가분이 겹쳐도 한 번만)
+    private static List<Message> merge(List<Message> window, List<Message> appended) {
+        TreeMap<Long, Message> bySeq = new TreeMap<>();
+        for (Message m : window) bySeq.put(m.getSeq(), m);
+        for (Message m : appended) bySeq.put(m.getSeq(), m);
+        return new ArrayList<>(bySeq.values());
+    }
+
+    private static Counter counter(String name, String description, MeterRegistry meterRegistry) {
+        return Counter.builder(name).description(description).register(meterRegistry);
+    }
+}
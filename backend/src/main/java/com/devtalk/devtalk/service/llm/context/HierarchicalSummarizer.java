@@ -0,0 +1,212 @@
+package com.devtalk.devtalk.service.llm.context;
+
+import com.devtalk.devtalk.domain.llm.LlmClient;
+import com.devtalk.devtalk.domain.llm.LlmMessage;
+import com.devtalk.devtalk.domain.llm.LlmOptions;
+import com.devtalk.devtalk.domain.llm.LlmRequest;
+import com.devtalk.devtalk.domain.llm.LlmResult;
+import com.devtalk.devtalk.domain.llm.LlmRole;
+import com.devtalk.devtalk.domain.llm.context.HierarchicalSummaryPolicy;
+import com.devtalk.devtalk.domain.llm.context.SummaryChunk;
+import com.devtalk.devtalk.domain.llm.context.SummaryChunkStore;
+import com.devtalk.devtalk.domain.message.Message;
+import com.devtalk.devtalk.domain.message.MessageRepository;
+import com.devtalk.devtalk.domain.message.MessageRole;
+import com.devtalk.devtalk.domain.message.MessageStatus;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * 계층(트리) 요약
+ * - 요약 안 된 메시지를 chunkMessages개씩 나눠 chunk마다 따로 요약 (leaf, level 0), 병렬 실행은 executor 크기로 제한
+ * - 같은 level의 노드가 fanout개 모이면 하나로 합쳐 상위 노드를 만듦
+ * - 노드는 저장해 두므로 다음 갱신은 새 chunk만 요약 (이미 만든 leaf/상위 노드는 다시 만들지 않음)
+ * - 최종 요약 = 각 level에서 아직 합쳐지지 않은 노드들 + chunk를 채우지 못한 최근 메시지를 한 번에 합친 결과
+ * LLM 호출 1회의 입력 크기가 세션 길이와 무관하게 chunk/fanout 크기로 제한됨
+ */
+public final class HierarchicalSummarizer implements AutoCloseable {
+
+    private final MessageRepository messageRepository;
+    private final LlmClient llmClient;
+    private final SummaryChunkStore chunkStore;
+    private final HierarchicalSummaryPolicy policy;
+    private final int promptMaxChars;
+    private final ThreadPoolTaskExecutor executor;
+
+    public HierarchicalSummarizer(MessageRepository messageRepository, LlmClient llmClient, SummaryChunkStore chunkStore, HierarchicalSummaryPolicy policy, int promptMaxChars, ThreadPoolTaskExecutor executor) {
+        this.messageRepository = Objects.requireNonNull(messageRepository);
+        this.llmClient = Objects.requireNonNull(llmClient);
+        this.chunkStore = Objects.requireNonNull(chunkStore);
+        this.policy = Objects.requireNonNull(policy);
+        this.promptMaxChars = promptMaxChars;
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    public boolean enabled() {
+        return policy.enabled();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    /**
+     * seq (0, targetSeq] 전체의 요약
+     * @return 실패 시 null (그때까지 만든 노드는 저장되어 다음 갱신에서 재사용)
+     */
+    public String summarize(String sessionId, long targetSeq) {
+        List<SummaryChunk> nodes = new ArrayList<>(chunkStore.findBySessionId(sessionId));
+
+        long leafEnd = nodes.stream()
+            .filter(n -> n.level() == 0)
+            .mapToLong(SummaryChunk::toSeq)
+            .max()
+            .orElse(0);
+
+        List<Message> rows = (targetSeq > leafEnd)
+            ? eligible(messageRepository.findBySeqRange(sessionId, leafEnd, targetSeq))
+            : List.of();
+
+        // 1) 가득 찬 chunk -> leaf (병렬), 앞에서부터 성공한 것까지만 저장해서 leaf 구간이 끊기지 않게 함
+        int chunk = policy.chunkMessages();
+        int fullChunks = rows.size() / chunk;
+        List<CompletableFuture<String>> pending = new ArrayList<>(fullChunks);
+        for (int i = 0; i < fullChunks; i++) {
+            List<Message> group = rows.subList(i * chunk, (i + 1) * chunk);
+            pending.add(CompletableFuture.supplyAsync(() -> call(leafRequest(group)), executor));
+        }
+
+        long from = leafEnd;
+        for (int i = 0; i < fullChunks; i++) {
+            String summary = pending.get(i).join();
+            if (summary == null) {
+                pending.forEach(f -> f.cancel(false));
+                return null;
+            }
+            long to = rows.get((i + 1) * chunk - 1).getSeq();
+            SummaryChunk leaf = new SummaryChunk(sessionId, 0, from, to, summary);
+            chunkStore.save(leaf);
+            nodes.add(leaf);
+            from = to;
+        }
+        List<Message> rest = rows.subList(fullChunks * chunk, rows.size());
+
+        // 2) fanout개씩 상위 노드로 합침
+        for (int level = 0; ; level++) {
+            List<SummaryChunk> open = open(nodes, level);
+            if (open.isEmpty() && maxLevel(nodes) <= level) break;
+
+            while (open.size() >= policy.fanout()) {
+                List<SummaryChunk> children = open.subList(0, policy.fanout());
+                String merged = call(mergeRequest(children, List.of()));
+                if (merged == null) return null;
+
+                SummaryChunk parent = new SummaryChunk(sessionId, level + 1,
+                    children.get(0).fromSeq(), children.get(children.size() - 1).toSeq(), merged);
+                chunkStore.save(parent);
+                nodes.add(parent);
+                open = open.subList(policy.fanout(), open.size());
+            }
+        }
+
+        // 3) 합쳐지지 않은 노드(오래된 구간 -> 최근 구간) + 남은 메시지 -> 최종 요약
+        List<SummaryChunk> roots = new ArrayList<>();
+        for (int level = maxLevel(nodes); level >= 0; level--) roots.addAll(open(nodes, level));
+        roots.sort(Comparator.comparingLong(SummaryChunk::fromSeq));
+
+        if (rest.isEmpty() && roots.size() == 1) return roots.get(0).summary();
+        if (rest.isEmpty() && roots.isEmpty()) return "";
+        return call(mergeRequest(roots, rest));
+    }
+
+    // level에서 아직 상위 노드에 포함되지 않은 노드 (상위 노드는 항상 앞쪽부터 연속으로 만들어짐)
+    private static List<SummaryChunk> open(List<SummaryChunk> nodes, int level) {
+        long coveredUpTo = nodes.stream()
+            .filter(n -> n.level() == level + 1)
+            .mapToLong(SummaryChunk::toSeq)
+            .max()
+            .orElse(Long.MIN_VALUE);
+
+        return nodes.stream()
+            .filter(n -> n.level() == level && n.fromSeq() >= coveredUpTo)
+            .sorted(Comparator.comparingLong(SummaryChunk::fromSeq))
+            .toList();
+    }
+
+    private static int maxLevel(List<SummaryChunk> nodes) {
+        return nodes.stream().mapToInt(SummaryChunk::level).max().orElse(0);
+    }
+
+    // 요약 대상 정책: SYSTEM 제외, FAILED 제외
+    private static List<Message> eligible(List<Message> rows) {
+        return rows.stream()
+            .filter(m -> m.getRole() != MessageRole.SYSTEM && m.getStatus() == MessageStatus.SUCCESS)
+            .toList();
+    }
+
+    private LlmRequest leafRequest(List<Message> group) {
+        String systemPrompt = """
+            너는 DevTalk 대화 구간 요약기다.
+            아래 대화 구간만 보고 요약하라. (앞뒤 맥락은 다른 요약이 담당한다)
+
+            규칙:
+            - Resolved를 판단하거나 변경하지 마라.
+            - 사실과 추론을 구분하라.
+            - 불확실한 내용은 단정하지 말고 '불확실'로 표기하라.
+            - 요약은 %d자 이내로 작성하라.
+            """.formatted(promptMaxChars);
+
+        List<LlmMessage> msgs = new ArrayList<>(group.size() + 1);
+        msgs.add(new LlmMessage(LlmRole.USER, "[대화 구간]"));
+        for (Message m : group) msgs.add(toLlmMessage(m));
+        return new LlmRequest(systemPrompt, List.copyOf(msgs), LlmOptions.defaults().withCache().inBackground().routedTo(LlmOptions.ROUTE_SUMMARY));
+    }
+
+    private LlmRequest mergeRequest(List<SummaryChunk> parts, List<Message> recent) {
+        String systemPrompt = """
+            너는 DevTalk 세션 요약 생성기다.
+            목적: 시간 순서대로 나뉜 구간 요약들(과 최근 대화)을 합쳐 하나의 "세션 상태 요약"을 만든다.
+
+            규칙:
+            - Resolved를 판단하거나 변경하지 마라.
+            - 사실과 추론을 구분하라.
+            - 뒤 구간에서 바뀐 결정/결론이 있으면 뒤 구간을 따른다.
+            - 불확실한 내용은 단정하지 말고 '불확실'로 표기하라.
+            - 요약은 %d자 이내로 작성하라.
+
+            출력 형식(한국어):
+            - 문제:
+            - 시도:
+            - 실패/원인:
+            - 현재 결론/결정:
+            - 남은 의문/다음 액션:
+            """.formatted(promptMaxChars);
+
+        List<LlmMessage> msgs = new ArrayList<>(parts.size() + recent.size() + 1);
+        for (int i = 0; i < parts.size(); i++) {
+            msgs.add(new LlmMessage(LlmRole.USER, "[구간 요약 " + (i + 1) + "]\n" + parts.get(i).summary()));
+        }
+        if (!recent.isEmpty()) {
+            msgs.add(new LlmMessage(LlmRole.USER, "[최근 대화 구간]"));
+            for (Message m : recent) msgs.add(toLlmMessage(m));
+        }
+        return new LlmRequest(systemPrompt, List.copyOf(msgs), LlmOptions.defaults().withCache().inBackground().routedTo(LlmOptions.ROUTE_SUMMARY));
+    }
+
+    private String call(LlmRequest request) {
+        return switch (llmClient.generate(request)) {
+            case LlmResult.Success s -> (s.text() == null) ? "" : s.text().trim();
+            case LlmResult.Failure f -> null;
+        };
+    }
+
+    private static LlmMessage toLlmMessage(Message m) {
+        LlmRole role = (m.getRole() == MessageRole.USER) ? LlmRole.USER : LlmRole.AI;
+        return new LlmMessage(role, (m.getContent() == null) ? "" : m.getContent());
+    }
+}
@@ -3,12 +3,15 @@ package com.devtalk.devtalk.service.llm.context;
 import com.devtalk.devtalk.domain.llm.context.SessionSummaryStore;
 import com.devtalk.devtalk.domain.llm.context.SummaryPolicy;
 import com.devtalk.devtalk.domain.llm.context.SummaryState;
+import com.devtalk.devtalk.domain.llm.context.TokenEstimator;
 import com.devtalk.devtalk.domain.message.Message;
 import com.devtalk.devtalk.domain.message.MessageMetadata;
 import com.devtalk.devtalk.domain.message.MessageRepository;
 import com.devtalk.devtalk.domain.message.MessageRole;
 import com.devtalk.devtalk.domain.message.MessageStatus;
+import com.devtalk.devtalk.domain.llm.LlmAvailability;
 import com.devtalk.devtalk.domain.llm.LlmClient;
+import com.devtalk.devtalk.domain.llm.LlmFailureCode;
 import com.devtalk.devtalk.domain.llm.LlmMessage;
 import com.devtalk.devtalk.domain.llm.LlmOptions;
 import com.devtalk.devtalk.domain.llm.LlmRequest;
@@ -17,6 +20,7 @@ import com.devtalk.devtalk.domain.llm.LlmRole;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -26,62 +30,86 @@ public class SessionSummaryService {
     private final LlmClient llmClient;
     private final SessionSummaryStore summaryStore;
     private final SummaryPolicy policy;
+    private final HierarchicalSummarizer hierarchicalSummarizer;
+    private final TokenEstimator tokenEstimator;
+    private final LlmAvailability llmAvailability;
 
-    public SessionSummaryService(MessageRepository messageRepository, LlmClient llmClient, SessionSummaryStore summaryStore, SummaryPolicy policy) {
+    // circuit breaker가 꺼져 있으면 항상 호출
+    public SessionSummaryService(MessageRepository messageRepository, LlmClient llmClient, SessionSummaryStore summaryStore, SummaryPolicy policy, HierarchicalSummarizer hierarchicalSummarizer, TokenEstimator tokenEstimator, ObjectProvider<LlmAvailability> llmAvailability) {
         this.messageRepository = Objects.requireNonNull(messageRepository);
         this.llmClient = Objects.requireNonNull(llmClient);
         this.summaryStore = Objects.requireNonNull(summaryStore);
         this.policy = Objects.requireNonNull(policy);
+        this.hierarchicalSummarizer = Objects.requireNonNull(hierarchicalSummarizer);
+        this.tokenEstimator = Objects.requireNonNull(tokenEstimator);
+        this.llmAvailability = llmAvailability.getIfAvailable(LlmAvailability::always);
     }
 
     /**
      * 요약 갱신 규칙:
-     * - 요약 진행 지점(lastSummarizedIndex) 이후의 메시지 중
+     * - 요약 진행 지점(lastSummarizedSeq) 이후의 메시지 중
      *   최신 tail(policy.keepTailMessages)은 제외하고 요약에 반영
+     * - 전체 히스토리를 읽지 않고 seq 범위 (lastSummarizedSeq, targetSeq]만 조회
+     * - 구간이 policy.minDeltaMessages보다 짧으면 다음 기회로 미룸
+     * - 응답 경로에서는 직접 부르지 않고 SummaryScheduler가 백그라운드에서 호출
      * - 프롬프트: 1000자 이내 유도
-     * - 서버: 1200자 하드 상한 (초과 시 재압축 1회)
+     * - 서버: 1200자 하드 상한 (초과 시 재압축 1회), policy.hardMaxTokens가 있으면 추정 토큰 수도 함께 확인
      * - 실패는 SYSTEM FAILED 메시지로 기록하고, 요약 상태는 유지
+     * - 계층 요약이 켜져 있으면 기존 요약 + delta 대신 HierarchicalSummarizer의 chunk 트리로 요약
+     * - LLM circuit breaker가 열려 있으면 호출하지 않고 건너뜀 (SYSTEM FAILED도 남기지 않음, 다음 요청 때 다시 시도)
      */
     public void updateIfNeeded(String sessionId) {
         Objects.requireNonNull(sessionId, "sessionId must not be null");
 
-        List<Message> history = messageRepository.findAllBySessionId(sessionId);
-        if (history.isEmpty()) return;
-
         SummaryState state = summaryStore.getState(sessionId);
 
         int keepTail = Math.max(0, policy.keepTailMessages());
-        int targetEndExclusive = Math.max(0, history.size() - keepTail);
-
-        int start = Math.max(0, state.lastSummarizedIndex());
-        if (targetEndExclusive <= start) return; // 새로 반영할 구간 없음
+        long targetSeq = messageRepository.findSeqBeforeLatest(sessionId, keepTail);
+
+        long start = Math.max(0, state.lastSummarizedSeq());
+        if (targetSeq - start < Math.max(1, policy.minDeltaMessages())) return; // 새로 반영할 구간이 없거나 아직 짧음
+        if (!llmAvailability.acceptingCalls()) return;
+
+        if (hierarchicalSummarizer.enabled()) {
+            String summary = hierarchicalSummarizer.summarize(sessionId, targetSeq);
+            if (summary == null) {
+                if (!llmAvailability.acceptingCalls()) return;   // 도중에 breaker가 열림
+                appendSystemFailed(sessionId, "계층 요약 생성에 실패했습니다.");
+                return;
+            }
+            commit(sessionId, normalize(summary), targetSeq);
+            return;
+        }
 
-        List<Message> delta = history.subList(start, targetEndExclusive);
+        List<Message> delta = messageRepository.findBySeqRange(sessionId, start, targetSeq);
 
         LlmRequest req = buildUpdateRequest(state.summaryText(), delta, policy.promptMaxChars());
         LlmResult res = llmClient.generate(req);
 
         switch (res) {
-            case LlmResult.Success s -> {
-                String newSummary = normalize(s.text());
-
-                if (newSummary.length() > policy.hardMaxChars()) {
-                    String compressed = compressOnce(newSummary, policy.hardMaxChars());
-                    if (compressed == null) {
-                        appendSystemFailed(sessionId, "요약 재압축에 실패했습니다.");
-                        return;
-                    }
-                    newSummary = compressed;
-                }
-
-                summaryStore.putState(sessionId, new SummaryState(newSummary, targetEndExclusive));
-            }
+            case LlmResult.Success s -> commit(sessionId, normalize(s.text()), targetSeq);
             case LlmResult.Failure f -> {
+                if (f.code() == LlmFailureCode.CIRCUIT_OPEN) return;
                 appendSystemFailed(sessionId, "요약 생성에 실패했습니다. (code=" + f.code() + ")");
             }
         }
     }
 
+    // 하드 상한 초과 시 재압축 1회 후 저장
+    private void commit(String sessionId, String newSummary, long targetSeq) {
+        if (overHardMax(newSummary)) {
+            String compressed = compressOnce(newSummary, policy.hardMaxChars());
+            if (compressed == null) {
+                if (!llmAvailability.acceptingCalls()) return;
+                appendSystemFailed(sessionId, "요약 재압축에 실패했습니다.");
+                return;
+            }
+            newSummary = compressed;
+        }
+
+        summaryStore.putState(sessionId, new SummaryState(newSummary, targetSeq));
+    }
+
     private LlmRequest buildUpdateRequest(String existingSummary, List<Message> delta, int promptMaxChars) {
         String systemPrompt = """
             너는 DevTalk 세션 요약 생성기다.
@@ -118,7 +146,12 @@ public class SessionSummaryService {
             msgs.add(new LlmMessage(role, safe(m.getContent())));
         }
 
-        return new LlmRequest(systemPrompt, List.copyOf(msgs), LlmOptions.defaults());
+        return new LlmRequest(systemPrompt, List.copyOf(msgs), LlmOptions.defaults().withCache().inBackground().routedTo(LlmOptions.ROUTE_SUMMARY));
+    }
+
+    private boolean overHardMax(String summary) {
+        if (summary.length() > policy.hardMaxChars()) return true;
+        return policy.hardMaxTokens() > 0 && tokenEstimator.estimate(summary) > policy.hardMaxTokens();
     }
 
     private String compressOnce(String over, int hardMaxChars) {
@@ -134,7 +167,7 @@ public class SessionSummaryService {
         LlmRequest req = new LlmRequest(
             systemPrompt,
             List.of(new LlmMessage(LlmRole.USER, over)),
-            LlmOptions.defaults()
+            LlmOptions.defaults().withCache().inBackground().routedTo(LlmOptions.ROUTE_SUMMARY)
         );
 
         LlmResult res = llmClient.generate(req);
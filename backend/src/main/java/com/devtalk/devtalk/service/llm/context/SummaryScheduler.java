@@ -0,0 +1,96 @@
+package com.devtalk.devtalk.service.llm.context;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * 세션 요약을 응답 경로 밖(전용 executor)에서 갱신
+ * - request: 메시지가 추가될 때 호출, 바로 리턴 (응답 경로는 마지막으로 커밋된 요약을 그대로 사용)
+ * - 세션별 중복 제거: 대기 중이면 무시, 실행 중이면 끝난 뒤 한 번 더 실행
+ * - 실제로 요약할지(구간이 임계치를 넘었는지)는 SessionSummaryService.updateIfNeeded가 판단
+ * - executor 큐가 가득 차면 버림 (다음 메시지 추가 때 다시 요청됨)
+ *
+ * 메트릭: devtalk.summary.async.pending / .runs / .coalesced / .rejected
+ */
+public final class SummaryScheduler implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(SummaryScheduler.class);
+
+    private enum State { QUEUED, RUNNING, RUNNING_DIRTY }
+
+    private final SessionSummaryService summaryService;
+    private final ThreadPoolTaskExecutor executor;
+    private final ConcurrentHashMap<String, State> states = new ConcurrentHashMap<>();
+
+    private final Counter runs;
+    private final Counter coalesced;
+    private final Counter rejected;
+
+    public SummaryScheduler(SessionSummaryService summaryService, ThreadPoolTaskExecutor executor, MeterRegistry meterRegistry) {
+        this.summaryService = Objects.requireNonNull(summaryService);
+        this.executor = Objects.requireNonNull(executor);
+
+        Gauge.builder("devtalk.summary.async.pending", states, ConcurrentHashMap::size)
+            .description("sessions with a queued or running background summary")
+            .register(meterRegistry);
+        this.runs = Counter.builder("devtalk.summary.async.runs")
+            .description("background summary checks executed")
+            .register(meterRegistry);
+        this.coalesced = Counter.builder("devtalk.summary.async.coalesced")
+            .description("summary requests merged into an already queued or running one")
+            .register(meterRegistry);
+        this.rejected = Counter.builder("devtalk.summary.async.rejected")
+            .description("summary requests dropped because the summary queue was full")
+            .register(meterRegistry);
+    }
+
+    public void request(String sessionId) {
+        Objects.requireNonNull(sessionId, "sessionId must not be null");
+
+        boolean[] created = {false};
+        states.compute(sessionId, (k, s) -> {
+            if (s == null) {
+                created[0] = true;
+                return State.QUEUED;
+            }
+            coalesced.increment();
+            return (s == State.RUNNING) ? State.RUNNING_DIRTY : s;
+        });
+        if (created[0]) submit(sessionId);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private void submit(String sessionId) {
+        try {
+            executor.execute(() -> run(sessionId));
+        } catch (TaskRejectedException e) {
+            states.remove(sessionId, State.QUEUED);
+            rejected.increment();
+        }
+    }
+
+    private void run(String sessionId) {
+        states.replace(sessionId, State.QUEUED, State.RUNNING);
+        try {
+            runs.increment();
+            summaryService.updateIfNeeded(sessionId);
+        } catch (RuntimeException e) {
+            log.warn("background summary failed for session {}", sessionId, e);
+        } finally {
+            // 실행 중 새 요청이 왔으면 다시 대기열로
+            State after = states.compute(sessionId, (k, s) -> (s == State.RUNNING_DIRTY) ? State.QUEUED : null);
+            if (after == State.QUEUED) submit(sessionId);
+        }
+    }
+}
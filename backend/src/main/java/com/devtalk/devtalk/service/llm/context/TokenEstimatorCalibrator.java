@@ -0,0 +1,101 @@
+package com.devtalk.devtalk.service.llm.context;
+
+import com.devtalk.devtalk.domain.llm.context.ScriptTokenEstimator;
+import com.devtalk.devtalk.infra.persistence.JdbcTokenCalibrationSamples;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * 저장된 AI 답변의 실제 토큰 수로 ScriptTokenEstimator 가중치를 주기적으로 보정
+ * - 시작 직후 1회, 이후 interval마다 (전용 데몬 스레드 1개, 요청 경로와 무관)
+ * - 보정 실패(DB 오류 등)는 로그만 남기고 기존 가중치 유지
+ *
+ * 메트릭: devtalk.token.estimator.error (마지막 보정의 평균 상대 오차) / .samples / .calibrations
+ */
+public final class TokenEstimatorCalibrator implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenEstimatorCalibrator.class);
+
+    private final ScriptTokenEstimator estimator;
+    private final JdbcTokenCalibrationSamples samples;
+    private final int sampleSize;
+    private final Duration interval;
+
+    private final AtomicReference<ScriptTokenEstimator.Calibration> last = new AtomicReference<>();
+    private final Counter calibrations;
+
+    private ScheduledExecutorService scheduler;
+
+    public TokenEstimatorCalibrator(ScriptTokenEstimator estimator, JdbcTokenCalibrationSamples samples, int sampleSize, Duration interval, MeterRegistry meterRegistry) {
+        this.estimator = Objects.requireNonNull(estimator, "estimator must not be null");
+        this.samples = Objects.requireNonNull(samples, "samples must not be null");
+        if (sampleSize < 1) throw new IllegalArgumentException("sampleSize must be positive");
+        this.sampleSize = sampleSize;
+        this.interval = Objects.requireNonNull(interval, "interval must not be null");
+
+        Gauge.builder("devtalk.token.estimator.error", last, r -> (r.get() == null) ? Double.NaN : r.get().errorAfter())
+            .description("mean relative error of the token estimator on held-out samples")
+            .register(meterRegistry);
+        Gauge.builder("devtalk.token.estimator.samples", last, r -> (r.get() == null) ? 0 : r.get().samples())
+            .description("samples used by the last token estimator calibration")
+            .register(meterRegistry);
+        this.calibrations = Counter.builder("devtalk.token.estimator.calibrations")
+            .description("token estimator calibrations that replaced the weights")
+            .register(meterRegistry);
+    }
+
+    public void calibrateNow() {
+        List<ScriptTokenEstimator.Sample> loaded = samples.load(sampleSize);
+        ScriptTokenEstimator.Calibration result = estimator.calibrate(loaded);
+        last.set(result);
+        if (result.applied()) {
+            calibrations.increment();
+            log.info("token estimator calibrated: samples={} error {} -> {}",
+                result.samples(), result.errorBefore(), result.errorAfter());
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (scheduler != null) return;
+
+        ScheduledExecutorService ses = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "token-calibration");
+            t.setDaemon(true);
+            return t;
+        });
+        ses.scheduleWithFixedDelay(this::runSafely, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+        this.scheduler = ses;
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (scheduler == null) return;
+        scheduler.shutdownNow();
+        scheduler = null;
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return scheduler != null;
+    }
+
+    private void runSafely() {
+        try {
+            calibrateNow();
+        } catch (RuntimeException e) {
+            log.warn("token estimator calibration failed", e);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.devtalk.devtalk.service.llm.stream;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * 스트림 1개의 delta를 모아서 한 번에 내보내는 버퍼
+ * - 모인 바이트가 maxBytes 이상이면 즉시 flush
+ * - 첫 delta가 들어온 뒤 maxDelayMs가 지나면 타이머로 flush
+ * - 둘 중 먼저 오는 조건으로 flush (지연 상한 = maxDelayMs)
+ *
+ * append(업스트림 스레드)와 타이머 flush(스케줄러 스레드)가 동시에 올 수 있어 lock으로 보호
+ * (가상 스레드 고정을 피하려고 synchronized 대신 ReentrantLock 사용)
+ */
+public final class DeltaCoalescer {
+
+    private final int maxBytes;
+    private final long maxDelayMs;
+    private final Scheduler timer;
+    private final Consumer<StreamChunk> target;
+    private final Consumer<Integer> onFlush;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final StringBuilder buf = new StringBuilder();
+    private int bufBytes = 0;
+    private long lastSeq = 0;
+    private Disposable scheduledFlush;
+    private int flushCount = 0;
+    private boolean closed = false;
+
+    DeltaCoalescer(int maxBytes, long maxDelayMs, Scheduler timer, Consumer<StreamChunk> target, Consumer<Integer> onFlush) {
+        this.maxBytes = maxBytes;
+        this.maxDelayMs = maxDelayMs;
+        this.timer = Objects.requireNonNull(timer);
+        this.target = Objects.requireNonNull(target);
+        this.onFlush = Objects.requireNonNull(onFlush);
+    }
+
+    public void append(StreamChunk delta) {
+        if (delta == null || delta.data() == null || delta.data().isEmpty()) return;
+
+        lock.lock();
+        try {
+            if (closed) return;
+
+            buf.append(delta.data());
+            lastSeq = delta.seq();
+            bufBytes += utf8Length(delta.data());
+
+            if (bufBytes >= maxBytes) {
+                flushLocked();
+            } else if (scheduledFlush == null) {
+                scheduledFlush = timer.schedule(this::flush, maxDelayMs, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void flush() {
+        lock.lock();
+        try {
+            flushLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 남은 버퍼를 내보내고 종료, 이후 append는 무시
+     * @return 이 스트림에서 발생한 flush 횟수
+     */
+    public int close() {
+        lock.lock();
+        try {
+            if (!closed) {
+                flushLocked();
+                closed = true;
+            }
+            return flushCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 버퍼를 버리고 종료 (취소된 스트림)
+     */
+    public void discard() {
+        lock.lock();
+        try {
+            cancelTimer();
+            buf.setLength(0);
+            bufBytes = 0;
+            closed = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flushLocked() {
+        cancelTimer();
+        if (buf.isEmpty()) return;
+
+        String chunk = buf.toString();
+        int bytes = bufBytes;
+        buf.setLength(0);
+        bufBytes = 0;
+        flushCount++;
+
+        onFlush.accept(bytes);
+        target.accept(StreamChunk.delta(lastSeq, chunk));
+    }
+
+    private void cancelTimer() {
+        if (scheduledFlush != null) {
+            scheduledFlush.dispose();
+            scheduledFlush = null;
+        }
+    }
+
+    // UTF-8 인코딩 없이 바이트 수만 계산
+    static int utf8Length(String s) {
+        int bytes = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) bytes += 1;
+            else if (c < 0x800) bytes += 2;
+            else if (Character.isHighSurrogate(c)) { bytes += 4; i++; }
+            else bytes += 3;
+        }
+        return bytes;
+    }
+}
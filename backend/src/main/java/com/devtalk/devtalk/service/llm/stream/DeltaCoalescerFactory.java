@@ -0,0 +1,101 @@
+package com.devtalk.devtalk.service.llm.stream;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Objects;
+import java.util.function.Consumer;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * SSE delta 병합(coalescing) 설정 + 메트릭
+ * - devtalk.stream.flushes      : 스트림 1개당 flush 횟수
+ * - devtalk.stream.flush.bytes  : flush 1회당 바이트 (mean = 평균 bytes-per-flush)
+ *
+ * maxBytes <= 0 또는 maxDelayMs <= 0 이면 전역으로 비활성화 (delta마다 바로 전송)
+ */
+public final class DeltaCoalescerFactory {
+
+    private final int maxBytes;
+    private final long maxDelayMs;
+    private final Scheduler timer;
+    private final DistributionSummary flushesPerStream;
+    private final DistributionSummary bytesPerFlush;
+
+    public DeltaCoalescerFactory(int maxBytes, long maxDelayMs, MeterRegistry meterRegistry) {
+        Objects.requireNonNull(meterRegistry, "meterRegistry must not be null");
+        this.maxBytes = maxBytes;
+        this.maxDelayMs = maxDelayMs;
+        // 시간 flush는 타이머 스레드에서 바로 emitter.send(블로킹)까지 이어짐
+        // -> 공용 CPU 풀(parallel: cancel 유예 타이머, 레지스트리 청소)을 막지 않도록 boundedElastic 사용
+        this.timer = Schedulers.boundedElastic();
+        this.flushesPerStream = DistributionSummary.builder("devtalk.stream.flushes")
+            .description("SSE delta flushes per stream")
+            .register(meterRegistry);
+        this.bytesPerFlush = DistributionSummary.builder("devtalk.stream.flush.bytes")
+            .description("bytes written per SSE delta flush")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return maxBytes > 0 && maxDelayMs > 0;
+    }
+
+    /**
+     * @param coalesce 스트림별 설정 (false면 지연 민감 클라이언트용으로 delta마다 바로 전송)
+     */
+    public DeltaCoalescer create(Consumer<StreamChunk> target, boolean coalesce) {
+        // 비활성화 시에도 메트릭은 같은 경로로 기록되도록 "즉시 flush" 설정으로 생성
+        boolean on = coalesce && isEnabled();
+        return new DeltaCoalescer(
+            on ? maxBytes : 1,
+            on ? maxDelayMs : 1,
+            timer,
+            target,
+            bytesPerFlush::record
+        );
+    }
+
+    public void recordStream(int flushCount) {
+        flushesPerStream.record(flushCount);
+    }
+
+    /**
+     * 이벤트 Flux에서 delta만 병합
+     * - done/error 같은 종료 이벤트는 남은 버퍼를 먼저 flush한 뒤 그대로 통과
+     * - 업스트림 완료 시 남은 버퍼를 flush한 뒤 완료
+     * - 다운스트림 취소 시 업스트림도 취소
+     */
+    public Flux<StreamChunk> coalesce(Flux<StreamChunk> chunks, boolean coalesce) {
+        return Flux.create(sink -> {
+            DeltaCoalescer coalescer = create(sink::next, coalesce);
+
+            Disposable upstream = chunks.subscribe(
+                chunk -> {
+                    if (chunk.isDelta()) {
+                        coalescer.append(chunk);
+                    } else {
+                        coalescer.flush();
+                        sink.next(chunk);
+                    }
+                },
+                err -> {
+                    recordStream(coalescer.close());
+                    sink.error(err);
+                },
+                () -> {
+                    recordStream(coalescer.close());
+                    sink.complete();
+                }
+            );
+
+            sink.onCancel(() -> {
+                coalescer.discard();
+                upstream.dispose();
+            });
+        });
+    }
+}
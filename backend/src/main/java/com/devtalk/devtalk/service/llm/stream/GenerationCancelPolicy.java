@@ -0,0 +1,96 @@
+package com.devtalk.devtalk.service.llm.stream;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 마지막 SSE 구독자가 떠난 생성(generation)을 어떻게 처리할지
+ * - CANCEL: grace 동안 아무도 다시 붙지 않으면 업스트림(Gemini) 스트림을 끊고 저장하지 않음
+ *           (grace 안의 재연결/다른 탭 참여는 그대로 이어받음)
+ * - FINISH: 끝까지 생성하고 AI 메시지를 저장 (나중에 세션을 다시 열면 응답이 남아 있음)
+ *
+ * 메트릭: devtalk.stream.generation.cancelled
+ *        devtalk.stream.cancel.tokens-saved (완료된 생성의 평균 출력 토큰 - 취소 시점까지 받은 토큰, 추정치)
+ */
+public final class GenerationCancelPolicy {
+
+    public enum Mode { CANCEL, FINISH }
+
+    private static final int CHARS_PER_TOKEN = 3;   // 한글/영문 혼합 응답 기준 대략치
+    private static final double EWMA_ALPHA = 0.2;
+
+    private final Mode mode;
+    private final Duration grace;
+    private final Scheduler scheduler;
+    private final Counter cancelled;
+    private final DistributionSummary tokensSaved;
+
+    private volatile double avgOutputTokens = 0;
+
+    public GenerationCancelPolicy(Mode mode, Duration grace, MeterRegistry meterRegistry) {
+        this(mode, grace, Schedulers.parallel(), meterRegistry);
+    }
+
+    GenerationCancelPolicy(Mode mode, Duration grace, Scheduler scheduler, MeterRegistry meterRegistry) {
+        this.mode = Objects.requireNonNull(mode, "mode must not be null");
+        this.grace = Objects.requireNonNull(grace, "grace must not be null");
+        this.scheduler = Objects.requireNonNull(scheduler);
+        this.cancelled = Counter.builder("devtalk.stream.generation.cancelled")
+            .description("generations cancelled after every client disconnected")
+            .register(meterRegistry);
+        this.tokensSaved = DistributionSummary.builder("devtalk.stream.cancel.tokens-saved")
+            .description("estimated output tokens not generated thanks to cancellation")
+            .baseUnit("tokens")
+            .register(meterRegistry);
+    }
+
+    public static GenerationCancelPolicy finish(MeterRegistry meterRegistry) {
+        return new GenerationCancelPolicy(Mode.FINISH, Duration.ZERO, meterRegistry);
+    }
+
+    // cancel은 답변을 저장하지 않으므로 명시적으로 지정했을 때만 (그 외에는 FINISH)
+    public static Mode parseMode(String value) {
+        return "cancel".equalsIgnoreCase(value) ? Mode.CANCEL : Mode.FINISH;
+    }
+
+    public Mode mode() {
+        return mode;
+    }
+
+    /**
+     * 버퍼의 구독자가 0이 되었을 때 호출 (버퍼 lock 밖)
+     */
+    void onAbandoned(GenerationReplayBuffer buffer) {
+        if (mode != Mode.CANCEL) return;
+
+        if (grace.isZero() || grace.isNegative()) {
+            cancelIfAbandoned(buffer);
+            return;
+        }
+        scheduler.schedule(() -> cancelIfAbandoned(buffer), grace.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 정상 완료된 생성의 출력 토큰 수 (절감량 추정의 기준값)
+     */
+    public void recordCompleted(int outputTokens) {
+        if (outputTokens <= 0) return;
+        double prev = avgOutputTokens;
+        avgOutputTokens = (prev == 0) ? outputTokens : prev + EWMA_ALPHA * (outputTokens - prev);
+    }
+
+    private void cancelIfAbandoned(GenerationReplayBuffer buffer) {
+        if (buffer.listenerCount() > 0) return;   // grace 안에 누군가 다시 붙음
+        if (!buffer.cancel()) return;              // 이미 끝남
+
+        cancelled.increment();
+        long emittedTokens = buffer.emittedChars() / CHARS_PER_TOKEN;
+        tokensSaved.record(Math.max(0, avgOutputTokens - emittedTokens));
+    }
+}
@@ -0,0 +1,348 @@
+package com.devtalk.devtalk.service.llm.stream;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 생성(generation) 1건의 delta를 번호 붙여 보관하는 재전송(replay) 링 버퍼
+ * - 생성 쪽은 appendDelta / complete 만 호출
+ * - SSE 연결(최초 연결, 재연결 모두)은 subscribe(afterSeq)로 붙어서
+ *   afterSeq 이후 보관분을 먼저 받고 이어서 실시간 delta를 받음
+ * - 보관 개수는 maxEvents로, 전체 바이트는 레지스트리(GenerationReplayRegistry)가 관리
+ * - 누적 본문도 함께 보관해, 앞부분이 밀려난 뒤 붙은 새 구독자(afterSeq=0)에게는
+ *   지금까지의 본문을 delta 1건(seq=현재 마지막 번호)으로 먼저 보냄
+ * - 생성 쪽은 bindUpstream으로 LLM 구독을 걸어 두고, 구독자가 모두 떠나면
+ *   onAbandoned(GenerationCancelPolicy)가 cancel()로 업스트림까지 끊을 수 있음
+ * - 구독자 전달은 lock 밖에서 하고, 구독자마다 publishOn 큐를 두어
+ *   느린 클라이언트(블로킹 emitter.send)가 생성 쪽이나 다른 구독자를 막지 않음
+ */
+public final class GenerationReplayBuffer {
+
+    private static final int CHUNK_OVERHEAD_BYTES = 32;
+    private static final Scheduler DELIVERY = Schedulers.boundedElastic();
+
+    private final String generationId = UUID.randomUUID().toString();
+    private final String sessionId;
+    private final String replyToUserMessageId;
+    private final int maxEvents;
+    private final LongConsumer onBytesChanged;   // lock 안에서 호출 (원자적 가산만 할 것)
+    private final Runnable afterAppend;          // lock 밖에서 호출 (예산 초과 시 제거 등)
+    private final Consumer<GenerationReplayBuffer> onAbandoned;   // 구독자 0이 되면 lock 밖에서 호출
+    private final long createdAtMs = System.currentTimeMillis();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<StreamChunk> ring = new ArrayDeque<>();
+    private final StringBuilder text = new StringBuilder();
+    private final List<FluxSink<StreamChunk>> listeners = new ArrayList<>();
+    private long retainedBytes = 0;
+    private long lastSeq = 0;
+    private StreamChunk terminal;
+    private long completedAtMs = 0;
+    private boolean released = false;
+    private long emittedChars = 0;
+    private Disposable upstream;
+    private boolean cancelled = false;
+    private final List<Runnable> terminationHooks = new ArrayList<>();
+
+    GenerationReplayBuffer(String sessionId, String replyToUserMessageId, int maxEvents, LongConsumer onBytesChanged, Runnable afterAppend, Consumer<GenerationReplayBuffer> onAbandoned) {
+        this.sessionId = Objects.requireNonNull(sessionId);
+        this.replyToUserMessageId = replyToUserMessageId;
+        this.maxEvents = maxEvents;
+        this.onBytesChanged = Objects.requireNonNull(onBytesChanged);
+        this.afterAppend = Objects.requireNonNull(afterAppend);
+        this.onAbandoned = Objects.requireNonNull(onAbandoned);
+    }
+
+    public long appendDelta(String delta) {
+        if (delta == null || delta.isEmpty()) return lastSeq;
+
+        long seq;
+        StreamChunk chunk;
+        List<FluxSink<StreamChunk>> targets;
+        lock.lock();
+        try {
+            if (terminal != null) return lastSeq;
+
+            seq = ++lastSeq;
+            emittedChars += delta.length();
+            chunk = StreamChunk.delta(seq, delta);
+
+            if (!released) {
+                ring.addLast(chunk);
+                text.append(delta);
+                long bytesDelta = sizeOf(chunk) + DeltaCoalescer.utf8Length(delta);
+
+                while (ring.size() > maxEvents) {
+                    bytesDelta -= sizeOf(ring.removeFirst());
+                }
+                retainedBytes += bytesDelta;
+                onBytesChanged.accept(bytesDelta);
+            }
+
+            // 대상은 lock 안에서 확정 (이후 붙는 구독자는 ring 재전송으로 이 조각을 받음)
+            targets = listeners.isEmpty() ? List.of() : List.copyOf(listeners);
+        } finally {
+            lock.unlock();
+        }
+
+        for (FluxSink<StreamChunk> l : targets) l.next(chunk);
+        afterAppend.run();
+        return seq;
+    }
+
+    /**
+     * 생성 종료 (done 또는 error). 붙어 있는 구독자에게 종료 이벤트를 보내고 완료시킴
+     */
+    public void complete(String event, String data) {
+        StreamChunk end;
+        List<FluxSink<StreamChunk>> targets;
+        List<Runnable> hooks;
+        lock.lock();
+        try {
+            if (terminal != null) return;
+            terminal = end = StreamChunk.terminal(event, data);
+            completedAtMs = System.currentTimeMillis();
+            upstream = null;
+            targets = drainListeners();
+            hooks = drainTerminationHooks();
+        } finally {
+            lock.unlock();
+        }
+        finish(targets, end);
+        hooks.forEach(Runnable::run);
+    }
+
+    /**
+     * 생성이 끝나면(done/error/취소) 한 번 실행. 이미 끝났으면 바로 실행 (lock 밖)
+     */
+    public void onTermination(Runnable hook) {
+        Objects.requireNonNull(hook);
+        lock.lock();
+        try {
+            if (terminal == null) {
+                terminationHooks.add(hook);
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        hook.run();
+    }
+
+    /**
+     * afterSeq 다음 delta부터 받는 구독
+     * - 새 구독자(afterSeq=0)인데 앞부분이 밀려났으면 누적 본문 1건으로 대신함
+     * - 재연결인데 보관분이 이미 밀려나 afterSeq 다음 조각이 없으면 error(resume_gap)로 종료
+     * - 보관분 전송과 실시간 구독 등록을 같은 lock 안에서 처리해 누락/중복 없음
+     *   (lock 안의 sink.next는 구독자 큐에 넣기만 하고, 실제 전달은 publishOn 스레드에서)
+     */
+    public Flux<StreamChunk> subscribe(long afterSeq) {
+        return Flux.<StreamChunk>create(sink -> {
+            lock.lock();
+            try {
+                long firstRetained = ring.isEmpty() ? lastSeq + 1 : ring.peekFirst().seq();
+                boolean gap = afterSeq < lastSeq && afterSeq + 1 < firstRetained;
+
+                if (gap && afterSeq <= 0 && !released) {
+                    sink.next(StreamChunk.delta(lastSeq, text.toString()));
+                } else if (gap) {
+                    sink.next(StreamChunk.terminal(StreamChunk.ERROR, "resume_gap"));
+                    sink.complete();
+                    return;
+                } else {
+                    for (StreamChunk c : ring) {
+                        if (c.seq() > afterSeq) sink.next(c);
+                    }
+                }
+
+                if (terminal != null) {
+                    sink.next(terminal);
+                    sink.complete();
+                    return;
+                }
+
+                listeners.add(sink);
+            } finally {
+                lock.unlock();
+            }
+
+            sink.onDispose(() -> {
+                boolean abandoned;
+                lock.lock();
+                try {
+                    abandoned = listeners.remove(sink) && listeners.isEmpty() && terminal == null;
+                } finally {
+                    lock.unlock();
+                }
+                if (abandoned) onAbandoned.accept(this);
+            });
+        }).publishOn(DELIVERY);
+    }
+
+    /**
+     * 현재 진행 중인 LLM 구독 연결 (이어쓰기 라운드마다 교체)
+     * - 이미 취소된 생성이면 바로 dispose
+     */
+    public void bindUpstream(Disposable disposable) {
+        boolean disposeNow;
+        lock.lock();
+        try {
+            disposeNow = cancelled;
+            if (!cancelled) upstream = disposable;
+        } finally {
+            lock.unlock();
+        }
+        if (disposeNow) disposable.dispose();
+    }
+
+    /**
+     * 생성 취소: error(cancelled)로 종료하고 업스트림 구독을 끊음 (HTTP 교환까지 취소 전파)
+     * @return 진행 중이던 생성을 이번 호출로 취소했으면 true
+     */
+    boolean cancel() {
+        StreamChunk end;
+        List<FluxSink<StreamChunk>> targets;
+        Disposable toDispose;
+        List<Runnable> hooks;
+        lock.lock();
+        try {
+            if (terminal != null) return false;
+            cancelled = true;
+            terminal = end = StreamChunk.terminal(StreamChunk.ERROR, "cancelled");
+            completedAtMs = System.currentTimeMillis();
+            targets = drainListeners();
+            toDispose = upstream;
+            upstream = null;
+            hooks = drainTerminationHooks();
+        } finally {
+            lock.unlock();
+        }
+        finish(targets, end);
+        if (toDispose != null) toDispose.dispose();
+        hooks.forEach(Runnable::run);
+        return true;
+    }
+
+    public boolean isCancelled() {
+        lock.lock();
+        try {
+            return cancelled;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int listenerCount() {
+        lock.lock();
+        try {
+            return listeners.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long emittedChars() {
+        lock.lock();
+        try {
+            return emittedChars;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 레지스트리에서 밀려날 때 호출: 보관분을 버리고 이후로는 실시간 전달만 함
+     * @return 해제된 바이트 수
+     */
+    long release() {
+        lock.lock();
+        try {
+            released = true;
+            long freed = retainedBytes;
+            ring.clear();
+            text.setLength(0);
+            text.trimToSize();
+            retainedBytes = 0;
+            return freed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public String generationId() { return generationId; }
+
+    public String sessionId() { return sessionId; }
+
+    public String replyToUserMessageId() { return replyToUserMessageId; }
+
+    public long createdAtMs() { return createdAtMs; }
+
+    /**
+     * 같은 질문을 보는 다른 연결이 붙어도 되는지
+     * - 진행 중이거나 정상 완료(done)이면서 보관분이 남아 있는 경우만 (실패한 생성은 재시도 허용)
+     */
+    public boolean isJoinable() {
+        lock.lock();
+        try {
+            if (released) return false;
+            return terminal == null || StreamChunk.DONE.equals(terminal.event());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isCompleted() {
+        lock.lock();
+        try {
+            return terminal != null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long completedAtMs() {
+        lock.lock();
+        try {
+            return completedAtMs;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // lock 안에서 호출
+    private List<FluxSink<StreamChunk>> drainListeners() {
+        List<FluxSink<StreamChunk>> drained = List.copyOf(listeners);
+        listeners.clear();
+        return drained;
+    }
+
+    // lock 밖에서 호출 (sink 종료 -> onDispose가 lock을 다시 잡음)
+    private static void finish(List<FluxSink<StreamChunk>> targets, StreamChunk end) {
+        for (FluxSink<StreamChunk> l : targets) {
+            l.next(end);
+            l.complete();
+        }
+    }
+
+    private List<Runnable> drainTerminationHooks() {
+        List<Runnable> hooks = List.copyOf(terminationHooks);
+        terminationHooks.clear();
+        return hooks;
+    }
+
+    private static long sizeOf(StreamChunk c) {
+        return DeltaCoalescer.utf8Length(c.data()) + CHUNK_OVERHEAD_BYTES;
+    }
+}
@@ -0,0 +1,178 @@
+package com.devtalk.devtalk.service.llm.stream;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 생성별 재전송 버퍼 보관소 (Last-Event-ID 재연결 + 같은 질문 다중 시청)
+ * - generationId -> 버퍼 : 재연결
+ * - (sessionId, replyToUserMessageId) -> 버퍼 : 같은 질문에 대한 생성은 1건만 돌리고 나머지 연결은 붙기만 함
+ * - TTL: 완료된 생성은 완료 후 ttl이 지나면 제거
+ * - 바이트 예산: 전체 보관 바이트가 maxTotalBytes를 넘으면
+ *   완료된 것 중 오래된 순 -> 진행 중인 것 중 오래된 순으로 제거
+ *   (진행 중인 생성이 밀려나도 생성과 실시간 전달은 계속되고, 재연결만 불가)
+ * - 구독자가 모두 떠난 생성의 처리(취소/끝까지 생성)는 GenerationCancelPolicy가 결정
+ *
+ * 메트릭: devtalk.stream.replay.bytes / devtalk.stream.replay.generations / devtalk.stream.replay.evictions
+ *        devtalk.stream.generation.joined (새 생성 대신 기존 생성에 붙은 횟수)
+ */
+public final class GenerationReplayRegistry implements AutoCloseable {
+
+    private final ConcurrentHashMap<String, GenerationReplayBuffer> buffers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, GenerationReplayBuffer> byReply = new ConcurrentHashMap<>();
+    private final AtomicLong totalBytes = new AtomicLong();
+    // 예산 초과 제거는 한 번에 하나만 (가상 스레드 고정을 피하려고 synchronized 대신 ReentrantLock 사용)
+    private final ReentrantLock evictLock = new ReentrantLock();
+
+    private final Duration ttl;
+    private final long maxTotalBytes;
+    private final int maxEventsPerGeneration;
+    private final Counter evictions;
+    private final Counter joins;
+    private final GenerationCancelPolicy cancelPolicy;
+    private final Disposable sweeper;
+
+    public GenerationReplayRegistry(Duration ttl, long maxTotalBytes, int maxEventsPerGeneration, MeterRegistry meterRegistry) {
+        this(ttl, maxTotalBytes, maxEventsPerGeneration, GenerationCancelPolicy.finish(meterRegistry), meterRegistry);
+    }
+
+    public GenerationReplayRegistry(Duration ttl, long maxTotalBytes, int maxEventsPerGeneration, GenerationCancelPolicy cancelPolicy, MeterRegistry meterRegistry) {
+        this.ttl = Objects.requireNonNull(ttl, "ttl must not be null");
+        this.cancelPolicy = Objects.requireNonNull(cancelPolicy, "cancelPolicy must not be null");
+        this.maxTotalBytes = maxTotalBytes;
+        this.maxEventsPerGeneration = maxEventsPerGeneration;
+
+        Gauge.builder("devtalk.stream.replay.bytes", totalBytes, AtomicLong::get)
+            .description("bytes retained in SSE replay buffers")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        Gauge.builder("devtalk.stream.replay.generations", buffers, ConcurrentHashMap::size)
+            .description("generations with a replay buffer")
+            .register(meterRegistry);
+        this.evictions = Counter.builder("devtalk.stream.replay.evictions")
+            .description("replay buffers evicted by ttl or byte budget")
+            .register(meterRegistry);
+        this.joins = Counter.builder("devtalk.stream.generation.joined")
+            .description("stream requests attached to an existing generation instead of starting one")
+            .register(meterRegistry);
+
+        long sweepMs = Math.max(1000, ttl.toMillis() / 2);
+        this.sweeper = Schedulers.parallel().schedulePeriodically(this::evictExpired, sweepMs, sweepMs, TimeUnit.MILLISECONDS);
+    }
+
+    public record Attachment(GenerationReplayBuffer buffer, boolean owner) {}
+
+    /**
+     * 같은 (sessionId, replyToUserMessageId)의 붙을 수 있는 생성이 있으면 그 버퍼를, 없으면 새 버퍼를 원자적으로 반환
+     * - owner=true 인 호출자만 실제 LLM 호출/저장을 수행
+     */
+    public Attachment openOrJoin(String sessionId, String replyToUserMessageId) {
+        boolean[] created = {false};
+        GenerationReplayBuffer buffer = byReply.compute(replyKey(sessionId, replyToUserMessageId), (k, existing) -> {
+            if (existing != null && existing.isJoinable()) return existing;
+            created[0] = true;
+            return open(sessionId, replyToUserMessageId);
+        });
+
+        if (!created[0]) joins.increment();
+        return new Attachment(buffer, created[0]);
+    }
+
+    /**
+     * 이미 진행 중(또는 정상 완료)인 같은 질문의 생성 조회 (히스토리 조회 전 빠른 경로)
+     */
+    public Optional<GenerationReplayBuffer> findJoinable(String sessionId, String replyToUserMessageId) {
+        if (replyToUserMessageId == null || replyToUserMessageId.isBlank()) return Optional.empty();
+        GenerationReplayBuffer buffer = byReply.get(replyKey(sessionId, replyToUserMessageId));
+        if (buffer == null || !buffer.isJoinable()) return Optional.empty();
+        joins.increment();
+        return Optional.of(buffer);
+    }
+
+    private GenerationReplayBuffer open(String sessionId, String replyToUserMessageId) {
+        GenerationReplayBuffer buffer = new GenerationReplayBuffer(
+            sessionId,
+            replyToUserMessageId,
+            maxEventsPerGeneration,
+            totalBytes::addAndGet,
+            this::checkBudget,
+            cancelPolicy::onAbandoned
+        );
+        buffers.put(buffer.generationId(), buffer);
+        return buffer;
+    }
+
+    /**
+     * 재연결 대상 조회 (다른 세션의 generationId면 찾지 못한 것으로 취급)
+     */
+    public Optional<GenerationReplayBuffer> find(String sessionId, String generationId) {
+        if (generationId == null || generationId.isBlank()) return Optional.empty();
+        GenerationReplayBuffer buffer = buffers.get(generationId);
+        if (buffer == null || !buffer.sessionId().equals(sessionId)) return Optional.empty();
+        return Optional.of(buffer);
+    }
+
+    void evictExpired() {
+        long now = System.currentTimeMillis();
+        for (GenerationReplayBuffer b : buffers.values()) {
+            if (b.isCompleted() && now - b.completedAtMs() > ttl.toMillis()) {
+                evict(b);
+            }
+        }
+    }
+
+    private void checkBudget() {
+        if (totalBytes.get() > maxTotalBytes) {
+            evictForBudget();
+        }
+    }
+
+    private void evictForBudget() {
+        evictLock.lock();
+        try {
+            if (totalBytes.get() <= maxTotalBytes) return;
+
+            List<GenerationReplayBuffer> candidates = buffers.values().stream()
+                .sorted(Comparator
+                    .comparing((GenerationReplayBuffer b) -> !b.isCompleted())   // 완료된 것 먼저
+                    .thenComparingLong(GenerationReplayBuffer::createdAtMs))     // 오래된 것 먼저
+                .toList();
+
+            for (GenerationReplayBuffer b : candidates) {
+                if (totalBytes.get() <= maxTotalBytes) break;
+                evict(b);
+            }
+        } finally {
+            evictLock.unlock();
+        }
+    }
+
+    private void evict(GenerationReplayBuffer b) {
+        if (buffers.remove(b.generationId(), b)) {
+            byReply.remove(replyKey(b.sessionId(), b.replyToUserMessageId()), b);
+            totalBytes.addAndGet(-b.release());
+            evictions.increment();
+        }
+    }
+
+    private static String replyKey(String sessionId, String replyToUserMessageId) {
+        return sessionId + ":" + replyToUserMessageId;
+    }
+
+    @Override
+    public void close() {
+        sweeper.dispose();
+    }
+}
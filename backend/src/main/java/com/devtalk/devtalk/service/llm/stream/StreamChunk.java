@@ -0,0 +1,26 @@
+package com.devtalk.devtalk.service.llm.stream;
+
+/**
+ * 클라이언트로 나가는 SSE 이벤트 1건
+ * - delta: seq = 생성(generation) 안에서 1부터 증가하는 번호 (SSE id / Last-Event-ID)
+ *   병합된 delta는 포함된 마지막 조각의 seq를 가짐
+ * - done/error: 종료 이벤트, seq = 0
+ */
+public record StreamChunk(long seq, String event, String data) {
+
+    public static final String DELTA = "delta";
+    public static final String DONE = "done";
+    public static final String ERROR = "error";
+
+    public static StreamChunk delta(long seq, String data) {
+        return new StreamChunk(seq, DELTA, data);
+    }
+
+    public static StreamChunk terminal(String event, String data) {
+        return new StreamChunk(0, event, data);
+    }
+
+    public boolean isDelta() {
+        return DELTA.equals(event);
+    }
+}
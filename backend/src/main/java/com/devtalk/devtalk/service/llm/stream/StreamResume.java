@@ -0,0 +1,45 @@
+package com.devtalk.devtalk.service.llm.stream;
+
+/**
+ * SSE 재연결 정보
+ * - generationId: start 이벤트로 받은 생성 id (없으면 null)
+ * - lastEventId: 마지막으로 받은 delta의 id (Last-Event-ID 헤더), 없으면 0 = 처음부터
+ *
+ * EventSource 자동 재연결은 같은 URL(generationId 없음)에 Last-Event-ID만 붙여 오므로,
+ * 이 경우에도 같은 질문의 진행 중 생성에 붙을 때 lastEventId 다음부터 보냄
+ */
+public record StreamResume(String generationId, long lastEventId) {
+
+    /**
+     * generationId도 Last-Event-ID도 없으면 새 연결 -> null
+     */
+    public static StreamResume of(String generationId, String lastEventIdHeader) {
+        boolean hasGeneration = generationId != null && !generationId.isBlank();
+        long lastEventId = parseLastEventId(lastEventIdHeader);
+        if (!hasGeneration && lastEventId == 0) return null;
+        return new StreamResume(hasGeneration ? generationId : null, lastEventId);
+    }
+
+    /**
+     * generationId로 특정 생성에 다시 붙는 요청인지 (아니면 같은 질문의 생성에 붙거나 새로 시작)
+     */
+    public boolean hasGeneration() {
+        return generationId != null;
+    }
+
+    /**
+     * 진행 중인 생성에 붙을 때 받을 첫 delta 직전 seq
+     */
+    public static long afterSeq(StreamResume resume) {
+        return (resume == null) ? 0 : resume.lastEventId();
+    }
+
+    private static long parseLastEventId(String raw) {
+        if (raw == null || raw.isBlank()) return 0;
+        try {
+            return Math.max(0, Long.parseLong(raw.trim()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
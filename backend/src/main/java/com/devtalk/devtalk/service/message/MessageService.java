@@ -1,11 +1,15 @@
 package com.devtalk.devtalk.service.message;
 
 import com.devtalk.devtalk.api.dto.request.SendMessageRequest;
+import com.devtalk.devtalk.api.dto.response.MessagePageResponse;
 import com.devtalk.devtalk.api.dto.response.MessageResponse;
 import com.devtalk.devtalk.domain.message.Message;
+import com.devtalk.devtalk.domain.message.MessageCursor;
 import com.devtalk.devtalk.domain.message.MessageRepository;
+import com.devtalk.devtalk.domain.message.PageDirection;
 import com.devtalk.devtalk.domain.session.Session;
 import com.devtalk.devtalk.domain.session.SessionRepository;
+import com.devtalk.devtalk.service.llm.context.ContextSnapshotService;
 import java.util.List;
 import org.springframework.stereotype.Service;
 
@@ -13,10 +17,14 @@ import org.springframework.stereotype.Service;
 public class MessageService {
     private final MessageRepository messageRepository;
     private final SessionRepository sessionRepository;
+    private final ContextSnapshotService contextSnapshotService;
 
-    public MessageService(MessageRepository messageRepository, SessionRepository sessionRepository){
+    private static final int MAX_PAGE_SIZE = 200;
+
+    public MessageService(MessageRepository messageRepository, SessionRepository sessionRepository, ContextSnapshotService contextSnapshotService){
         this.messageRepository = messageRepository;
         this.sessionRepository = sessionRepository;
+        this.contextSnapshotService = contextSnapshotService;
     }
 
     public MessageResponse append(String sessionId, SendMessageRequest sendMessageRequest){
@@ -34,9 +42,23 @@ public class MessageService {
             .toList();
     }
 
+    // 커서 기반 페이지 조회 (커서 없으면 direction 기준 맨 끝 페이지)
+    public MessagePageResponse getPage(String sessionId, String cursor, int limit, String direction){
+        verifySession(sessionId);
+        if (limit < 1) throw new IllegalArgumentException("limit must be positive");
+
+        return MessagePageResponse.from(messageRepository.findPage(
+            sessionId,
+            MessageCursor.decode(cursor),
+            Math.min(limit, MAX_PAGE_SIZE),
+            PageDirection.from(direction)
+        ));
+    }
+
     public void deleteAll(String sessionId){
         verifySession(sessionId);
         messageRepository.deleteAllBySessionId(sessionId);
+        contextSnapshotService.invalidate(sessionId);
     }
 
     private Session verifySession(String sessionId){
@@ -7,6 +7,7 @@ import com.devtalk.devtalk.api.dto.response.SessionResponse;
 import com.devtalk.devtalk.api.dto.response.SessionSummaryResponse;
 import com.devtalk.devtalk.api.dto.response.SessionUpdateResponse;
 import com.devtalk.devtalk.domain.llm.LlmTokenUsage;
+import com.devtalk.devtalk.domain.llm.context.SessionSummaryStore;
 import com.devtalk.devtalk.domain.message.Message;
 import com.devtalk.devtalk.domain.message.MessageMetadata;
 import com.devtalk.devtalk.domain.message.MessageRepository;
@@ -14,17 +15,25 @@ import com.devtalk.devtalk.domain.message.MessageRole;
 import com.devtalk.devtalk.domain.message.MessageStatus;
 import com.devtalk.devtalk.domain.session.Session;
 import com.devtalk.devtalk.domain.session.SessionRepository;
+import com.devtalk.devtalk.service.llm.context.ContextSnapshotService;
 import java.util.List;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
 @Service
 public class SessionService {
     private final SessionRepository sessionRepository;
     private final MessageRepository messageRepository;
+    private final SessionSummaryStore sessionSummaryStore;
+    private final ContextSnapshotService contextSnapshotService;
 
-    public SessionService(SessionRepository sessionRepository, MessageRepository messageRepository){
+    public SessionService(SessionRepository sessionRepository, MessageRepository messageRepository, SessionSummaryStore sessionSummaryStore, ContextSnapshotService contextSnapshotService){
         this.sessionRepository = sessionRepository;
         this.messageRepository = messageRepository;
+        this.sessionSummaryStore = sessionSummaryStore;
+        this.contextSnapshotService = contextSnapshotService;
     }
 
     public SessionResponse create(CreateSessionRequest createSessionRequest){
@@ -40,7 +49,16 @@ public class SessionService {
         if(updateSessionRequest.description() != null){
             session.updateDescription(updateSessionRequest.description());
         }
-        return SessionUpdateResponse.from(sessionRepository.save(session));
+        return SessionUpdateResponse.from(save(session));
+    }
+
+    // 조회 이후 다른 요청이 먼저 저장했으면 덮어쓰지 않고 409
+    private Session save(Session session){
+        try {
+            return sessionRepository.save(session);
+        } catch (OptimisticLockingFailureException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "session was modified concurrently, reload and retry");
+        }
     }
 
     private Session getSession(String sessionId){
@@ -61,14 +79,19 @@ public class SessionService {
         return sessionRepository.existsById(sessionId);
     }
 
+    // DB 행은 FK cascade로 지워지지만, 메시지 삭제는 저장소 데코레이터(캐시/write-behind)를 거치게 먼저 호출
+    // 요약 캐시와 컨텍스트 스냅샷도 함께 비움
     public void delete(String sessionId){
+        messageRepository.deleteAllBySessionId(sessionId);
         sessionRepository.deleteById(sessionId);
+        sessionSummaryStore.invalidate(sessionId);
+        contextSnapshotService.invalidate(sessionId);
     }
 
     public ResolveWithMessageResponse resolve(String sessionId){
         Session session = getSession(sessionId);
         session.resolve();
-        sessionRepository.save(session);
+        save(session);
         Message systemMessage = new Message(sessionId, MessageRole.SYSTEM, "해당 세션이 Resolved로 변경되었습니다.", null, MessageStatus.SUCCESS,  MessageMetadata.empty());
         session.updateLastUpdatedAt();
         Message savedMessage = messageRepository.save(systemMessage);
@@ -79,7 +102,7 @@ public class SessionService {
     public ResolveWithMessageResponse unresolve(String sessionId){
         Session session = getSession(sessionId);
         session.unresolved();
-        sessionRepository.save(session);
+        save(session);
         Message systemMessage = new Message(sessionId, MessageRole.SYSTEM, "해당 세션이 Active로 변경되었습니다.", null, MessageStatus.SUCCESS, MessageMetadata.empty());
         session.updateLastUpdatedAt();
 
@@ -1,3 +1,4 @@
+DROP TABLE IF EXISTS session_summary_chunk;
 DROP TABLE IF EXISTS message;
 DROP TABLE IF EXISTS session;
 
@@ -7,7 +8,9 @@ CREATE TABLE session (
                          status                VARCHAR(20)  NOT NULL,
                          description           TEXT,
                          ai_summary            TEXT,
-                         last_summarized_index INT DEFAULT 0,
+                         last_summarized_seq   BIGINT       NOT NULL DEFAULT 0,
+                         last_message_seq      BIGINT       NOT NULL DEFAULT 0,
+                         version               BIGINT       NOT NULL DEFAULT 1,
                          last_analyzed_at      DATETIME(6) DEFAULT NULL,
                          created_at            DATETIME(6)  NOT NULL,
                          last_updated_at       DATETIME(6)  NOT NULL
@@ -16,6 +19,7 @@ CREATE TABLE session (
 CREATE TABLE message (
                          message_id         VARCHAR(36)  NOT NULL PRIMARY KEY,
                          session_id         VARCHAR(36)  NOT NULL,
+                         seq                BIGINT       NOT NULL,
                          role               VARCHAR(20)  NOT NULL,
                          content            LONGTEXT     NOT NULL,
                          status             VARCHAR(20)  NOT NULL,
@@ -29,7 +33,39 @@ CREATE TABLE message (
 
                          created_at         DATETIME(6)  NOT NULL,
 
+                         -- 세션 내 순번: 순서 조회/keyset 페이지/요약 구간 범위 스캔 (session_id 단독 조회와 FK도 이 인덱스를 사용)
+                         UNIQUE KEY uk_message_session_seq (session_id, seq),
+                         -- 토큰 추정기 보정 샘플: 최근 성공한 AI 답변부터 역순 스캔 (정렬 없이 LIMIT에서 멈춤)
+                         KEY idx_message_role_status_created (role, status, created_at),
+
                          CONSTRAINT fk_message_session
                              FOREIGN KEY (session_id) REFERENCES session (session_id)
                                  ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE session_summary_chunk (
+                         session_id         VARCHAR(36)  NOT NULL,
+                         tree_level         INT          NOT NULL,
+                         from_seq           BIGINT       NOT NULL,   -- 구간 (from_seq, to_seq]
+                         to_seq             BIGINT       NOT NULL,
+                         summary            TEXT         NOT NULL,
+                         created_at         DATETIME(6)  NOT NULL,
+
+                         PRIMARY KEY (session_id, tree_level, from_seq),
+
+                         CONSTRAINT fk_summary_chunk_session
+                             FOREIGN KEY (session_id) REFERENCES session (session_id)
+                                 ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- LLM 응답 캐시 (재시작 후에도 재사용하도록 위에서 DROP하지 않음)
+CREATE TABLE IF NOT EXISTS llm_response_cache (
+                         cache_key          CHAR(64)     NOT NULL PRIMARY KEY,   -- 요청 내용 SHA-256 (hex)
+                         response_text      LONGTEXT     NOT NULL,
+                         finish_reason      VARCHAR(50)  NOT NULL,
+                         input_token_count  INT          NOT NULL,
+                         output_token_count INT          NOT NULL,
+                         expires_at         DATETIME(6)  NOT NULL,
+
+                         KEY idx_llm_response_cache_expires (expires_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
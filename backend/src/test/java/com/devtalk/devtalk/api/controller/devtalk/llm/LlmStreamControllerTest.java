@@ -0,0 +1,36 @@
+package com.devtalk.devtalk.api.controller.devtalk.llm;
+
+import com.devtalk.devtalk.service.llm.AiStreamService;
+import com.devtalk.devtalk.service.llm.stream.StreamResume;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(LlmStreamController.class)
+public class LlmStreamControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private AiStreamService aiStreamService;
+
+    @Test
+    void eventsource_reconnect_without_generation_id_resumes_after_last_event_id() throws Exception {
+        // EventSource 자동 재연결: 같은 URL + Last-Event-ID (generationId 없음)
+        mockMvc.perform(get("/api/devtalk/sessions/session-1/ai/stream")
+                .param("replyToUserMessageId", "user-1")
+                .header("Last-Event-ID", "3"))
+            .andExpect(status().isOk());
+
+        // 새 생성이 아니라 같은 질문의 생성에 seq 3 다음부터 붙도록 전달
+        verify(aiStreamService).streamAi(eq("session-1"), eq("user-1"), eq(true), eq(new StreamResume(null, 3)), any());
+    }
+}
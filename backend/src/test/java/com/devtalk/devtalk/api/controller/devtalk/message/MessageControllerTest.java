@@ -10,6 +10,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.devtalk.devtalk.api.dto.request.SendMessageRequest;
+import com.devtalk.devtalk.api.dto.response.MessagePageResponse;
 import com.devtalk.devtalk.api.dto.response.MessageResponse;
 import com.devtalk.devtalk.domain.message.MessageMetadata;
 import com.devtalk.devtalk.domain.message.MessageRole;
@@ -88,4 +89,32 @@ public class MessageControllerTest {
             .andExpect(jsonPath("$[0].messageId").value("message-1"))
             .andExpect(jsonPath("$[0].content").value("테스트"));
     }
+
+    @Test
+    void getMessagePage_returns_page_with_cursor() throws Exception {
+        // given
+        MessageResponse response =
+            new MessageResponse(
+                "message-1",
+                MessageRole.USER,
+                "테스트",
+                null,
+                MessageStatus.SUCCESS,
+                MessageMetadata.empty(),
+                LocalDateTime.now()
+            );
+
+        given(messageService.getPage("session-1", "cursor-1", 20, "older"))
+            .willReturn(new MessagePageResponse(List.of(response), "cursor-0", true));
+
+        // when & then
+        mockMvc.perform(get("/api/devtalk/sessions/session-1/messages")
+                .param("limit", "20")
+                .param("cursor", "cursor-1")
+                .param("direction", "older"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.messages[0].messageId").value("message-1"))
+            .andExpect(jsonPath("$.nextCursor").value("cursor-0"))
+            .andExpect(jsonPath("$.hasMore").value(true));
+    }
 }
@@ -0,0 +1,82 @@
+package com.devtalk.devtalk.domain.llm.context;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.devtalk.devtalk.domain.message.Message;
+import com.devtalk.devtalk.domain.message.MessageCursor;
+import com.devtalk.devtalk.domain.message.MessageMetadata;
+import com.devtalk.devtalk.domain.message.MessagePage;
+import com.devtalk.devtalk.domain.message.MessageRepository;
+import com.devtalk.devtalk.domain.message.MessageRole;
+import com.devtalk.devtalk.domain.message.MessageStatus;
+import com.devtalk.devtalk.domain.message.PageDirection;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.Test;
+
+class RecentTailSelectorTest {
+
+    private static final String SESSION = "session-1";
+
+    @Test
+    void selects_same_tail_as_full_history_while_reading_only_the_budget() {
+        List<Message> history = new ArrayList<>();
+        LocalDateTime t = LocalDateTime.of(2025, 1, 1, 0, 0);
+        for (int i = 0; i < 500; i++) {
+            MessageRole role = (i % 2 == 0) ? MessageRole.USER : MessageRole.AI;
+            MessageStatus status = (i % 7 == 0) ? MessageStatus.FAILED : MessageStatus.SUCCESS;
+            history.add(message("m-" + i, role, status, "내용 " + i, t.plusSeconds(i)));
+        }
+        history.add(message("sys", MessageRole.SYSTEM, MessageStatus.SUCCESS, "요약 실패", t.plusSeconds(500)));
+        Message latestUser = message("latest", MessageRole.USER, MessageStatus.SUCCESS, "질문", t.plusSeconds(501));
+        history.add(latestUser);
+
+        TailSelectorPolicy policy = TailSelectorPolicy.defaultPolicy();
+        FakeRepository repository = new FakeRepository(history);
+
+        List<Message> expected = new DefaultTailSelector(policy).selectTail(history, latestUser);
+        List<Message> actual = new RecentTailSelector(policy, repository).selectTail(SESSION, latestUser);
+
+        assertEquals(expected, actual);
+        assertTrue(repository.rowsRead <= policy.maxMessages() + 1);
+    }
+
+    private static Message message(String id, MessageRole role, MessageStatus status, String content, LocalDateTime at) {
+        return new Message(id, SESSION, role, content, null, status, MessageMetadata.empty(), at);
+    }
+
+    // scanRecentContext만 JdbcMessageRepository와 같은 조건으로 흉내 냄
+    private static final class FakeRepository implements MessageRepository {
+        private final List<Message> history;
+        private int rowsRead = 0;
+
+        private FakeRepository(List<Message> history) {
+            this.history = history;
+        }
+
+        @Override
+        public void scanRecentContext(String sessionId, int maxRows, Predicate<Message> visitor) {
+            int returned = 0;
+            for (int i = history.size() - 1; i >= 0 && returned < maxRows; i--) {
+                Message m = history.get(i);
+                if (m.getStatus() != MessageStatus.SUCCESS || m.getRole() == MessageRole.SYSTEM) continue;
+                returned++;
+                rowsRead++;
+                if (!visitor.test(m)) return;
+            }
+        }
+
+        @Override public Message save(Message message) { throw new UnsupportedOperationException(); }
+        @Override public List<Message> findAllBySessionId(String sessionId) { throw new UnsupportedOperationException(); }
+        @Override public MessagePage findPage(String sessionId, MessageCursor afterCursor, int limit, PageDirection direction) { throw new UnsupportedOperationException(); }
+        @Override public Optional<Message> findLatestSuccessUser(String sessionId) { throw new UnsupportedOperationException(); }
+        @Override public List<Message> findBySeqRange(String sessionId, long afterSeq, long upToSeq) { throw new UnsupportedOperationException(); }
+        @Override public long findSeqBeforeLatest(String sessionId, int skipLatest) { throw new UnsupportedOperationException(); }
+        @Override public Optional<Message> findUserById(String sessionId, String messageId) { throw new UnsupportedOperationException(); }
+        @Override public void deleteAllBySessionId(String sessionId) { throw new UnsupportedOperationException(); }
+    }
+}
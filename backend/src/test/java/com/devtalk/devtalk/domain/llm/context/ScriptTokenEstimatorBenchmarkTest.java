@@ -0,0 +1,110 @@
+package com.devtalk.devtalk.domain.llm.context;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+// 실행: ./gradlew test --tests '*ScriptTokenEstimatorBenchmarkTest' -Ddevtalk.bench=true
+// 추정기 처리량(MB/s)과 보정 전/후 평균 상대 오차를 출력한다.
+class ScriptTokenEstimatorBenchmarkTest {
+
+    private static final String[] HANGUL = {"세션", "요약", "컨텍스트", "메시지를", "저장하고", "토큰", "예산을", "계산한다", "실패했습니다", "재시도"};
+    private static final String[] LATIN = {"session", "summary", "context", "message", "token", "budget", "retry", "stream", "the", "and"};
+    private static final String[] CODE = {
+        "for (int i = 0; i < n; i++) {",
+        "    sum += values[i];",
+        "}",
+        "return List.copyOf(selected);",
+        "if (x == null) throw new IllegalArgumentException(\"x\");"
+    };
+
+    @Test
+    void calibration_reduces_error_against_a_different_tokenizer() {
+        List<ScriptTokenEstimator.Sample> samples = corpus(new Random(42), 400);
+        ScriptTokenEstimator estimator = new ScriptTokenEstimator();
+
+        double before = estimator.error(samples);
+        ScriptTokenEstimator.Calibration result = estimator.calibrate(samples);
+
+        assertTrue(result.applied());
+        assertTrue(result.errorAfter() < result.errorBefore());
+        assertTrue(estimator.error(samples) < before);
+    }
+
+    @Test
+    void features_follow_scripts_and_code_blocks() {
+        double[] f = ScriptTokenEstimator.features("세션 abc1 ok!\n```\n  x = y;\n```");
+
+        assertEquals(2, f[ScriptTokenEstimator.Feature.HANGUL.ordinal()]);
+        assertEquals(2, f[ScriptTokenEstimator.Feature.LATIN_WORD.ordinal()]);
+        assertEquals(2, f[ScriptTokenEstimator.Feature.CODE_WORD.ordinal()]);
+        assertEquals(1, f[ScriptTokenEstimator.Feature.DIGIT.ordinal()]);
+        assertEquals(2, f[ScriptTokenEstimator.Feature.CODE_SYMBOL.ordinal()]);
+        assertEquals(0, new ScriptTokenEstimator().estimate(""));
+    }
+
+    @Test
+    void throughput_and_error() {
+        Assumptions.assumeTrue(Boolean.getBoolean("devtalk.bench"));
+
+        List<ScriptTokenEstimator.Sample> samples = corpus(new Random(7), 2000);
+        long chars = samples.stream().mapToLong(s -> s.text().length()).sum();
+        ScriptTokenEstimator estimator = new ScriptTokenEstimator();
+
+        for (int i = 0; i < 5; i++) run(estimator, samples);
+        long start = System.nanoTime();
+        int rounds = 20;
+        long sink = 0;
+        for (int i = 0; i < rounds; i++) sink += run(estimator, samples);
+        long nanos = System.nanoTime() - start;
+
+        double before = estimator.error(samples);
+        ScriptTokenEstimator.Calibration result = estimator.calibrate(samples);
+
+        System.out.printf(
+            "samples=%d chars=%d throughput=%.1fMB/s ns/sample=%d error.before=%.3f error.heldout=%.3f -> %.3f sink=%d%n",
+            samples.size(), chars, (chars * 2.0 * rounds) / (nanos / 1e9) / 1e6, nanos / (rounds * samples.size()),
+            before, result.errorBefore(), result.errorAfter(), sink
+        );
+    }
+
+    private static long run(ScriptTokenEstimator estimator, List<ScriptTokenEstimator.Sample> samples) {
+        long sum = 0;
+        for (ScriptTokenEstimator.Sample s : samples) sum += estimator.estimate(s.text());
+        return sum;
+    }
+
+    // 기본 가중치와 일부러 다른 "실제" 토크나이저 흉내: 한글 음절 1.0, 단어 0.2 + 글자 0.25, 코드 기호 1.2
+    private static List<ScriptTokenEstimator.Sample> corpus(Random random, int n) {
+        List<ScriptTokenEstimator.Sample> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            StringBuilder sb = new StringBuilder();
+            int words = 5 + random.nextInt(60);
+            for (int w = 0; w < words; w++) {
+                sb.append(random.nextBoolean() ? HANGUL[random.nextInt(HANGUL.length)] : LATIN[random.nextInt(LATIN.length)]);
+                sb.append(random.nextInt(8) == 0 ? ".\n" : " ");
+            }
+            if (random.nextInt(3) == 0) {
+                sb.append("\n```\n");
+                for (int l = 0; l < 1 + random.nextInt(6); l++) sb.append(CODE[random.nextInt(CODE.length)]).append('\n');
+                sb.append("```\n");
+            }
+            String text = sb.toString();
+            out.add(new ScriptTokenEstimator.Sample(text, truth(text)));
+        }
+        return out;
+    }
+
+    private static int truth(String text) {
+        double[] f = ScriptTokenEstimator.features(text);
+        double[] w = {1.0, 0.2, 0.25, 0.5, 0.9, 0.6, 1.2, 0.3, 1.0};
+        double sum = 0;
+        for (int k = 0; k < f.length; k++) sum += f[k] * w[k];
+        return Math.max(1, (int) Math.round(sum));
+    }
+}
@@ -0,0 +1,145 @@
+package com.devtalk.devtalk.infra.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.devtalk.devtalk.service.llm.stream.DeltaCoalescerFactory;
+import com.devtalk.devtalk.service.llm.stream.GenerationReplayBuffer;
+import com.devtalk.devtalk.service.llm.stream.GenerationReplayRegistry;
+import com.devtalk.devtalk.service.llm.stream.StreamChunk;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+// 실행: ./gradlew test --tests '*VirtualThreadPinningBenchmarkTest' -Ddevtalk.bench=true
+// 가상 스레드 executor 위에서 스트리밍 경로(재전송 버퍼, delta 병합, 래치 대기)를 돌려도
+// jdk.VirtualThreadPinned 이벤트가 하나도 없어야 한다 (threshold 0).
+class VirtualThreadPinningBenchmarkTest {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String THREAD_PREFIX = "bench-vt-";
+    private static final int GENERATIONS = 200;
+    private static final int DELTAS = 50;
+
+    @Test
+    void streaming_path_on_virtual_executor_does_not_pin() throws Exception {
+        Assumptions.assumeTrue(Boolean.getBoolean("devtalk.bench"));
+
+        List<String> pinned = new CopyOnWriteArrayList<>();
+        AtomicInteger flushes = new AtomicInteger();
+        try (RecordingStream rs = new RecordingStream()) {
+            rs.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace();
+            rs.onEvent(PINNED_EVENT, e -> {
+                if (e.getThread() != null && e.getThread().getJavaName().startsWith(THREAD_PREFIX)) {
+                    pinned.add(String.valueOf(e.getStackTrace()));
+                }
+            });
+            rs.onFlush(flushes::incrementAndGet);
+            rs.startAsync();
+
+            runWorkload();
+
+            // 워크로드 이후의 flush가 두 번 지나야 그 사이 이벤트가 모두 전달됨
+            int after = flushes.get();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (flushes.get() < after + 2 && System.nanoTime() < deadline) Thread.sleep(50);
+            assertTrue(flushes.get() >= after + 2, "JFR stream did not flush");
+        }
+
+        assertEquals(List.of(), pinned);
+    }
+
+    // 대조군: synchronized 안에서 블로킹하면 모니터가 잡아야 함 (JDK 24+는 synchronized에서 고정되지 않음)
+    @Test
+    void monitor_reports_pinning_inside_synchronized() throws Exception {
+        Assumptions.assumeTrue(Boolean.getBoolean("devtalk.bench"));
+        Assumptions.assumeTrue(Runtime.version().feature() < 24);
+
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        VirtualThreadPinnedMonitor monitor = new VirtualThreadPinnedMonitor(meters, Duration.ZERO);
+        monitor.start();
+        try {
+            Object monitorLock = new Object();
+            Thread.ofVirtual().name(THREAD_PREFIX + "control").start(() -> {
+                synchronized (monitorLock) {
+                    sleep(20);
+                }
+            }).join();
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (meters.get("devtalk.vthread.pinned").counter().count() < 1 && System.nanoTime() < deadline) Thread.sleep(50);
+            assertTrue(meters.get("devtalk.vthread.pinned").counter().count() >= 1);
+        } finally {
+            monitor.stop();
+        }
+    }
+
+    // 운영과 같은 구성: 입장 제한 + 가상 스레드, 생성마다 구독자 2개(delta 병합 1개 포함)
+    private static void runWorkload() throws Exception {
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        AdmissionLimitedTaskExecutor executor = new AdmissionLimitedTaskExecutor(
+            new VirtualThreadTaskExecutor(THREAD_PREFIX), new AdmissionLimiter(GENERATIONS));
+        DeltaCoalescerFactory coalescers = new DeltaCoalescerFactory(64, 5, meters);
+
+        try (GenerationReplayRegistry registry = new GenerationReplayRegistry(Duration.ofMinutes(1), 64L << 20, 1000, meters)) {
+            CountDownLatch done = new CountDownLatch(GENERATIONS);
+            List<Throwable> failures = new CopyOnWriteArrayList<>();
+
+            for (int g = 0; g < GENERATIONS; g++) {
+                String user = "user-" + g;
+                executor.execute(() -> {
+                    try {
+                        generate(registry, coalescers, user);
+                    } catch (Throwable t) {
+                        failures.add(t);
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+
+            assertTrue(done.await(60, TimeUnit.SECONDS), "workload timed out");
+            assertEquals(List.of(), failures);
+        }
+    }
+
+    private static void generate(GenerationReplayRegistry registry, DeltaCoalescerFactory coalescers, String user) throws Exception {
+        GenerationReplayBuffer buffer = registry.openOrJoin("bench-session", user).buffer();
+        CompletableFuture<List<StreamChunk>> raw = buffer.subscribe(0).collectList().toFuture();
+        CompletableFuture<List<StreamChunk>> coalesced = coalescers.coalesce(buffer.subscribe(0), true).collectList().toFuture();
+
+        // streamOnce처럼 업스트림 완료를 래치로 기다림
+        CountDownLatch upstream = new CountDownLatch(1);
+        Thread.ofVirtual().name(THREAD_PREFIX + "upstream").start(() -> {
+            for (int i = 0; i < DELTAS; i++) {
+                buffer.appendDelta("조각" + i);
+                if (i % 10 == 0) sleep(1);
+            }
+            upstream.countDown();
+        });
+        assertTrue(upstream.await(10, TimeUnit.SECONDS));
+        buffer.complete(StreamChunk.DONE, "{}");
+
+        List<StreamChunk> received = new ArrayList<>(raw.get(10, TimeUnit.SECONDS));
+        assertEquals(DELTAS + 1, received.size());
+        assertEquals(StreamChunk.DONE, coalesced.get(10, TimeUnit.SECONDS).getLast().event());
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
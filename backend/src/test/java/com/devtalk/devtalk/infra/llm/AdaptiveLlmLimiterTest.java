@@ -0,0 +1,80 @@
+package com.devtalk.devtalk.infra.llm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.devtalk.devtalk.domain.llm.LlmPriority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveLlmLimiterTest {
+
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private AdaptiveLlmLimiter limiter;
+
+    @AfterEach
+    void tearDown() {
+        if (limiter != null) limiter.close();
+    }
+
+    @Test
+    void rate_limited_responses_halve_the_limit_once_per_cooldown() throws Exception {
+        limiter = new AdaptiveLlmLimiter(settings(8, Duration.ofMillis(200), Duration.ofSeconds(1)), meters);
+
+        AdaptiveLlmLimiter.Permit a = limiter.acquire(LlmPriority.INTERACTIVE).get();
+        AdaptiveLlmLimiter.Permit b = limiter.acquire(LlmPriority.INTERACTIVE).get();
+        a.release(AdaptiveLlmLimiter.Outcome.RATE_LIMITED);
+        b.release(AdaptiveLlmLimiter.Outcome.RATE_LIMITED);   // 같은 cooldown 안: 한 번만 반영
+
+        assertEquals(4.0, meters.get("devtalk.llm.limiter.limit").gauge().value());
+        assertEquals(2.0, meters.get("devtalk.llm.limiter.rate-limited").counter().count());
+    }
+
+    @Test
+    void interactive_waiters_are_served_before_background_waiters() throws Exception {
+        limiter = new AdaptiveLlmLimiter(settings(1, Duration.ofSeconds(5), Duration.ofSeconds(5)), meters);
+
+        AdaptiveLlmLimiter.Permit running = limiter.acquire(LlmPriority.INTERACTIVE).get();
+        CompletableFuture<AdaptiveLlmLimiter.Permit> background = limiter.acquire(LlmPriority.BACKGROUND);
+        CompletableFuture<AdaptiveLlmLimiter.Permit> interactive = limiter.acquire(LlmPriority.INTERACTIVE);
+        assertFalse(background.isDone());
+        assertFalse(interactive.isDone());
+
+        running.release(AdaptiveLlmLimiter.Outcome.SUCCESS);
+        AdaptiveLlmLimiter.Permit first = interactive.get(1, TimeUnit.SECONDS);
+        assertFalse(background.isDone());
+
+        first.release(AdaptiveLlmLimiter.Outcome.SUCCESS);
+
+        assertTrue(background.get(1, TimeUnit.SECONDS) != null);
+    }
+
+    @Test
+    void waiter_is_rejected_after_max_wait() throws Exception {
+        limiter = new AdaptiveLlmLimiter(settings(1, Duration.ofMillis(50), Duration.ofMillis(50)), meters);
+
+        limiter.acquire(LlmPriority.INTERACTIVE).get();
+        CompletableFuture<AdaptiveLlmLimiter.Permit> waiting = limiter.acquire(LlmPriority.INTERACTIVE);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> waiting.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(LlmRateLimitException.class, e.getCause());
+        assertEquals(1.0, meters.get("devtalk.llm.limiter.rejected").tag("priority", "interactive").counter().count());
+    }
+
+    private static AdaptiveLlmLimiter.Settings settings(int limit, Duration interactiveWait, Duration cooldown) {
+        return new AdaptiveLlmLimiter.Settings(
+            limit, 1, limit, 1.0,   // maxLimit = limit: 성공해도 한도가 늘지 않게
+            100, 1, 100,
+            0.5, 2.0, cooldown,
+            interactiveWait, interactiveWait, 100
+        );
+    }
+}
@@ -0,0 +1,92 @@
+package com.devtalk.devtalk.infra.llm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.devtalk.devtalk.domain.llm.LlmClient;
+import com.devtalk.devtalk.domain.llm.LlmFinishReason;
+import com.devtalk.devtalk.domain.llm.LlmMessage;
+import com.devtalk.devtalk.domain.llm.LlmOptions;
+import com.devtalk.devtalk.domain.llm.LlmRequest;
+import com.devtalk.devtalk.domain.llm.LlmResponseStore;
+import com.devtalk.devtalk.domain.llm.LlmResult;
+import com.devtalk.devtalk.domain.llm.LlmRole;
+import com.devtalk.devtalk.domain.llm.LlmTokenUsage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class CachingLlmClientTest {
+
+    private final LlmClient delegate = mock(LlmClient.class);
+
+    CachingLlmClientTest() {
+        when(delegate.generate(any())).thenReturn(
+            LlmResult.Success.of("요약", LlmFinishReason.STOP, new LlmTokenUsage(100, 20)));
+    }
+
+    @Test
+    void identical_cacheable_requests_call_provider_once() {
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        CachingLlmClient client = new CachingLlmClient(delegate, "model", Duration.ofMinutes(1), 1 << 20, LlmResponseStore.none(), meters);
+
+        client.generate(request("질문", LlmOptions.defaults().withCache()));
+        client.generate(request("질문", LlmOptions.defaults().withCache()));
+        client.generate(request("질문", LlmOptions.defaults()));   // opt-in 안 한 요청은 항상 호출
+
+        verify(delegate, times(2)).generate(any());
+        assertEquals(120.0, meters.get("devtalk.llm.cache.tokens-saved").counter().count());
+        assertEquals(0.5, meters.get("devtalk.llm.cache.hit-ratio").gauge().value());
+    }
+
+    @Test
+    void persistent_tier_survives_a_new_client_instance() {
+        Map<String, LlmResult.Success> table = new HashMap<>();
+        LlmResponseStore store = new LlmResponseStore() {
+            @Override
+            public Optional<LlmResult.Success> find(String key, Instant now) {
+                return Optional.ofNullable(table.get(key));
+            }
+
+            @Override
+            public void save(String key, LlmResult.Success result, Instant expiresAt) {
+                table.put(key, result);
+            }
+        };
+
+        new CachingLlmClient(delegate, "model", Duration.ofMinutes(1), 1 << 20, store, new SimpleMeterRegistry())
+            .generate(request("질문", LlmOptions.defaults().withCache()));
+
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        new CachingLlmClient(delegate, "model", Duration.ofMinutes(1), 1 << 20, store, meters)
+            .generate(request("질문", LlmOptions.defaults().withCache()));
+
+        verify(delegate, times(1)).generate(any());
+        assertEquals(1.0, meters.get("devtalk.llm.cache.hits").tag("tier", "persistent").counter().count());
+    }
+
+    @Test
+    void key_changes_with_model_and_message_boundaries() {
+        LlmOptions options = LlmOptions.defaults().withCache();
+        LlmRequest ab = new LlmRequest("s", List.of(new LlmMessage(LlmRole.USER, "a"), new LlmMessage(LlmRole.USER, "b")), options);
+        LlmRequest a_b = new LlmRequest("s", List.of(new LlmMessage(LlmRole.USER, "ab")), options);
+
+        assertNotEquals(CachingLlmClient.key("m", ab), CachingLlmClient.key("m", a_b));
+        assertNotEquals(CachingLlmClient.key("m1", ab), CachingLlmClient.key("m2", ab));
+        assertEquals(CachingLlmClient.key("m", ab), CachingLlmClient.key("m", ab));
+    }
+
+    private static LlmRequest request(String content, LlmOptions options) {
+        return new LlmRequest("시스템", List.of(new LlmMessage(LlmRole.USER, content)), options);
+    }
+}
@@ -0,0 +1,123 @@
+package com.devtalk.devtalk.infra.llm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.devtalk.devtalk.domain.llm.LlmFinishReason;
+import com.devtalk.devtalk.domain.llm.LlmStreamEvent;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import tools.jackson.databind.ObjectMapper;
+
+// 실행: ./gradlew test --tests '*GeminiStreamClientBenchmarkTest' -Ddevtalk.bench=true
+// 응답 길이(원소 수)가 늘어나도 첫 delta까지의 시간과 delta당 보관 바이트가 일정해야 한다.
+class GeminiStreamClientBenchmarkTest {
+
+    private static final int CHUNK_BYTES = 256;
+    private static final int WARMUP = 20;
+    private static final int ROUNDS = 50;
+
+    private final GeminiStreamClient client =
+        new GeminiStreamClient(WebClient.create(), new ObjectMapper(), "bench-key", "bench-model");
+
+    @Test
+    void parser_correctness() {
+        byte[] body = geminiBody(3);
+        List<LlmStreamEvent> events = client.parseGeminiJsonChunksToEvents(chunked(body, 7)).collectList().block();
+
+        assertEquals(4, events.size());
+        assertEquals("조각-00000 {\"escaped\"} [x]", events.get(0).delta());
+        assertEquals(LlmFinishReason.STOP, events.get(3).finishReason());
+        assertEquals(30, events.get(3).tokenUsage().outputTokenCount());
+    }
+
+    @Test
+    void time_to_first_delta_and_bytes_per_delta_stay_flat() {
+        Assumptions.assumeTrue(Boolean.getBoolean("devtalk.bench"));
+
+        int[] sizes = {50, 200, 800, 3200};
+        long[] retained = new long[sizes.length];
+
+        for (int s = 0; s < sizes.length; s++) {
+            byte[] body = geminiBody(sizes[s]);
+            List<byte[]> chunks = split(body, CHUNK_BYTES);
+
+            for (int i = 0; i < WARMUP; i++) firstDelta(chunks);
+
+            long[] ttfd = new long[ROUNDS];
+            for (int i = 0; i < ROUNDS; i++) ttfd[i] = firstDelta(chunks);
+            Arrays.sort(ttfd);
+
+            long totalStart = System.nanoTime();
+            long deltas = client.parseGeminiJsonChunksToEvents(Flux.fromIterable(chunks).map(this::wrap)).count().block();
+            long totalNanos = System.nanoTime() - totalStart;
+
+            retained[s] = maxRetainedBytes(chunks);
+
+            System.out.printf(
+                "elements=%5d bodyBytes=%8d ttfd.p50=%7dns ttfd.p90=%7dns total=%9dns ns/delta=%6d maxRetainedBytes/delta=%d%n",
+                sizes[s], body.length, ttfd[ROUNDS / 2], ttfd[ROUNDS * 9 / 10], totalNanos, totalNanos / deltas, retained[s]
+            );
+        }
+
+        // 원소 하나 크기가 같으면 응답 길이와 무관하게 보관 바이트가 같아야 함
+        for (long r : retained) assertEquals(retained[0], r);
+        assertTrue(retained[0] < CHUNK_BYTES * 4L);
+    }
+
+    private long firstDelta(List<byte[]> chunks) {
+        long start = System.nanoTime();
+        client.parseGeminiJsonChunksToEvents(Flux.fromIterable(chunks).map(this::wrap)).blockFirst();
+        return System.nanoTime() - start;
+    }
+
+    private long maxRetainedBytes(List<byte[]> chunks) {
+        GeminiJsonArrayFramer framer = new GeminiJsonArrayFramer();
+        long max = 0;
+        for (byte[] c : chunks) {
+            for (byte[] element : framer.feed(c)) max = Math.max(max, element.length);
+            max = Math.max(max, framer.pendingBytes());
+        }
+        return max;
+    }
+
+    private Flux<DataBuffer> chunked(byte[] body, int size) {
+        return Flux.fromIterable(split(body, size)).map(this::wrap);
+    }
+
+    private DataBuffer wrap(byte[] bytes) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(bytes);
+    }
+
+    private static List<byte[]> split(byte[] body, int size) {
+        List<byte[]> out = new ArrayList<>();
+        for (int i = 0; i < body.length; i += size) {
+            out.add(Arrays.copyOfRange(body, i, Math.min(body.length, i + size)));
+        }
+        return out;
+    }
+
+    // streamGenerateContent 형태: [{"candidates":[...]}, ..., {"candidates":[{"finishReason":"STOP"}],"usageMetadata":{...}}]
+    private static byte[] geminiBody(int elements) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < elements; i++) {
+            if (i > 0) sb.append(",\r\n");
+            sb.append("{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"")
+                .append(String.format("조각-%05d", i))
+                .append(i == 0 ? " {\\\"escaped\\\"} [x]" : "")
+                .append("\"}],\"role\":\"model\"},\"index\":0}]}");
+        }
+        sb.append(",\r\n{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"\"}],\"role\":\"model\"},\"finishReason\":\"STOP\",\"index\":0}],")
+            .append("\"usageMetadata\":{\"promptTokenCount\":10,\"candidatesTokenCount\":30,\"totalTokenCount\":40}}");
+        sb.append("]");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
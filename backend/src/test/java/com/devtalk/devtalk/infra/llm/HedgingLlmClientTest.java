@@ -0,0 +1,86 @@
+package com.devtalk.devtalk.infra.llm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.devtalk.devtalk.domain.llm.LlmClient;
+import com.devtalk.devtalk.domain.llm.LlmFinishReason;
+import com.devtalk.devtalk.domain.llm.LlmMessage;
+import com.devtalk.devtalk.domain.llm.LlmOptions;
+import com.devtalk.devtalk.domain.llm.LlmRequest;
+import com.devtalk.devtalk.domain.llm.LlmResult;
+import com.devtalk.devtalk.domain.llm.LlmRole;
+import com.devtalk.devtalk.domain.llm.LlmTokenUsage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class HedgingLlmClientTest {
+
+    private final LlmClient delegate = mock(LlmClient.class);
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+
+    @Test
+    void slow_first_attempt_is_answered_by_the_hedge() {
+        AtomicInteger calls = new AtomicInteger();
+        when(delegate.generate(any())).thenAnswer(inv -> {
+            if (calls.getAndIncrement() == 0) Thread.sleep(5_000);   // 첫 시도만 느림 (취소되면 interrupt)
+            return LlmResult.Success.of("답변", LlmFinishReason.STOP, new LlmTokenUsage(10, 5));
+        });
+        HedgingLlmClient client = client(1.0);
+        warmUp(client, 20);
+
+        long start = System.nanoTime();
+        LlmResult result = client.generate(request());
+
+        assertInstanceOf(LlmResult.Success.class, result);
+        assertTrue(System.nanoTime() - start < 2_000_000_000L);
+        assertEquals(1.0, meters.get("devtalk.llm.hedge.sent").counter().count());
+        assertEquals(1.0, meters.get("devtalk.llm.hedge.wins").counter().count());
+    }
+
+    @Test
+    void no_hedge_while_warming_up_or_without_budget() {
+        when(delegate.generate(any())).thenAnswer(inv -> {
+            Thread.sleep(100);
+            return LlmResult.Success.of("답변", LlmFinishReason.STOP, new LlmTokenUsage(10, 5));
+        });
+
+        HedgingLlmClient cold = client(1.0);
+        cold.generate(request());                // 샘플 부족 -> hedge 없음
+
+        HedgingLlmClient noBudget = client(0.0);
+        warmUp(noBudget, 20);
+        noBudget.generate(request());            // 예산 0 -> hedge 없음
+
+        verify(delegate, times(2)).generate(any());
+        assertEquals(0.0, meters.get("devtalk.llm.hedge.sent").counter().count());
+        assertEquals(1.0, meters.get("devtalk.llm.hedge.budget-exhausted").counter().count());
+    }
+
+    private HedgingLlmClient client(double budgetRatio) {
+        return new HedgingLlmClient(
+            delegate, 0.9,
+            Duration.ofMillis(20), Duration.ofMillis(200),
+            budgetRatio, 10, Duration.ofMinutes(1),
+            meters
+        );
+    }
+
+    // 20ms 안팎의 성공 지연을 미리 채워 둠
+    private static void warmUp(HedgingLlmClient client, int samples) {
+        for (int i = 0; i < samples; i++) client.record(Duration.ofMillis(20).toNanos());
+    }
+
+    private static LlmRequest request() {
+        return new LlmRequest("시스템", List.of(new LlmMessage(LlmRole.USER, "질문")), LlmOptions.defaults());
+    }
+}
@@ -0,0 +1,64 @@
+package com.devtalk.devtalk.infra.llm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.devtalk.devtalk.domain.llm.LlmMessage;
+import com.devtalk.devtalk.domain.llm.LlmOptions;
+import com.devtalk.devtalk.domain.llm.LlmRequest;
+import com.devtalk.devtalk.domain.llm.LlmRole;
+import com.devtalk.devtalk.domain.llm.LlmStreamClient;
+import com.devtalk.devtalk.domain.llm.LlmStreamEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+class LimitedLlmStreamClientTest {
+
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private final LlmStreamClient delegate = mock(LlmStreamClient.class);
+    private AdaptiveLlmLimiter limiter;
+
+    @AfterEach
+    void tearDown() {
+        if (limiter != null) limiter.close();
+    }
+
+    @Test
+    void long_running_streams_do_not_hold_the_concurrency_limit() throws Exception {
+        // 한도 1, 대기 100ms: 스트림이 끝날 때까지 자리를 잡고 있으면 두 번째부터 거절됨
+        limiter = new AdaptiveLlmLimiter(new AdaptiveLlmLimiter.Settings(
+            1, 1, 1, 1.0,
+            100, 1, 100,
+            0.5, 2.0, Duration.ofSeconds(1),
+            Duration.ofMillis(100), Duration.ofMillis(100), 100
+        ), meters);
+        // 첫 delta 뒤로 계속 생성 중인 스트림
+        when(delegate.stream(any())).thenAnswer(inv -> Flux.just(LlmStreamEvent.delta("첫")).concatWith(Flux.never()));
+        LimitedLlmStreamClient client = new LimitedLlmStreamClient(delegate, limiter);
+
+        List<Disposable> streams = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            CompletableFuture<LlmStreamEvent> first = new CompletableFuture<>();
+            streams.add(client.stream(request()).subscribe(first::complete, first::completeExceptionally));
+            assertEquals("첫", first.get(1, TimeUnit.SECONDS).delta());
+        }
+
+        assertEquals(0.0, meters.get("devtalk.llm.limiter.in-flight").gauge().value());
+        assertEquals(0.0, meters.get("devtalk.llm.limiter.rejected").tag("priority", "interactive").counter().count());
+        streams.forEach(Disposable::dispose);
+    }
+
+    private static LlmRequest request() {
+        return new LlmRequest("시스템", List.of(new LlmMessage(LlmRole.USER, "질문")), LlmOptions.defaults());
+    }
+}
@@ -0,0 +1,78 @@
+package com.devtalk.devtalk.infra.llm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.devtalk.devtalk.domain.llm.LlmClient;
+import com.devtalk.devtalk.domain.llm.LlmFailureCode;
+import com.devtalk.devtalk.domain.llm.LlmFinishReason;
+import com.devtalk.devtalk.domain.llm.LlmMessage;
+import com.devtalk.devtalk.domain.llm.LlmOptions;
+import com.devtalk.devtalk.domain.llm.LlmRequest;
+import com.devtalk.devtalk.domain.llm.LlmResult;
+import com.devtalk.devtalk.domain.llm.LlmRole;
+import com.devtalk.devtalk.domain.llm.LlmTokenUsage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class LlmCircuitBreakerTest {
+
+    private final LlmClient delegate = mock(LlmClient.class);
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private final LlmCircuitBreaker breaker = new LlmCircuitBreaker(new LlmCircuitBreaker.Settings(
+        0.5, 4, 4, Duration.ofMillis(50), 1,
+        Set.of(LlmFailureCode.NETWORK_ERROR, LlmFailureCode.PROVIDER_ERROR)
+    ), meters);
+    private final CircuitBreakingLlmClient client = new CircuitBreakingLlmClient(delegate, breaker);
+
+    @Test
+    void opens_on_provider_failures_and_fails_fast() {
+        when(delegate.generate(any())).thenReturn(LlmResult.Failure.of(LlmFailureCode.NETWORK_ERROR, "timeout"));
+
+        for (int i = 0; i < 4; i++) client.generate(request());
+        LlmResult fast = client.generate(request());
+
+        verify(delegate, times(4)).generate(any());
+        assertEquals(LlmFailureCode.CIRCUIT_OPEN, ((LlmResult.Failure) fast).code());
+        assertFalse(breaker.acceptingCalls());
+        assertEquals(1.0, meters.get("devtalk.llm.circuit.state").gauge().value());
+        assertEquals(1.0, meters.get("devtalk.llm.circuit.rejected").counter().count());
+    }
+
+    @Test
+    void caller_errors_do_not_open_the_circuit() {
+        when(delegate.generate(any())).thenReturn(LlmResult.Failure.of(LlmFailureCode.INVALID_REQUEST, "bad"));
+
+        for (int i = 0; i < 10; i++) client.generate(request());
+
+        assertEquals(LlmCircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void half_open_trial_success_closes_the_circuit() throws Exception {
+        when(delegate.generate(any())).thenReturn(LlmResult.Failure.of(LlmFailureCode.PROVIDER_ERROR, "503"));
+        for (int i = 0; i < 4; i++) client.generate(request());
+        assertEquals(LlmCircuitBreaker.State.OPEN, breaker.state());
+
+        Thread.sleep(80);
+        assertTrue(breaker.acceptingCalls());
+        when(delegate.generate(any())).thenReturn(LlmResult.Success.of("ok", LlmFinishReason.STOP, new LlmTokenUsage(1, 1)));
+        client.generate(request());
+
+        assertEquals(LlmCircuitBreaker.State.CLOSED, breaker.state());
+        assertEquals(1.0, meters.get("devtalk.llm.circuit.transitions").tag("from", "half_open").tag("to", "closed").counter().count());
+    }
+
+    private static LlmRequest request() {
+        return new LlmRequest("시스템", List.of(new LlmMessage(LlmRole.USER, "질문")), LlmOptions.defaults());
+    }
+}
@@ -0,0 +1,90 @@
+package com.devtalk.devtalk.infra.llm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.devtalk.devtalk.domain.llm.LlmClient;
+import com.devtalk.devtalk.domain.llm.LlmFailureCode;
+import com.devtalk.devtalk.domain.llm.LlmFinishReason;
+import com.devtalk.devtalk.domain.llm.LlmMessage;
+import com.devtalk.devtalk.domain.llm.LlmOptions;
+import com.devtalk.devtalk.domain.llm.LlmRequest;
+import com.devtalk.devtalk.domain.llm.LlmResult;
+import com.devtalk.devtalk.domain.llm.LlmRole;
+import com.devtalk.devtalk.domain.llm.LlmTokenUsage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class RoutingLlmClientTest {
+
+    private final LlmClient large = mock(LlmClient.class);
+    private final LlmClient small = mock(LlmClient.class);
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+
+    @Test
+    void summary_route_goes_to_its_own_backend() {
+        when(small.generate(any())).thenReturn(success());
+        RoutingLlmClient client = client(
+            new LlmBackendSelector.Backend<>("large", Set.of(LlmOptions.ROUTE_DEFAULT), large),
+            new LlmBackendSelector.Backend<>("small", Set.of(LlmOptions.ROUTE_SUMMARY), small)
+        );
+
+        client.generate(request(LlmOptions.defaults().routedTo(LlmOptions.ROUTE_SUMMARY)));
+
+        verify(small).generate(any());
+        verify(large, never()).generate(any());
+    }
+
+    @Test
+    void retryable_failure_fails_over_and_demotes_the_backend() {
+        when(large.generate(any())).thenReturn(LlmResult.Failure.of(LlmFailureCode.PROVIDER_ERROR, "503"));
+        when(small.generate(any())).thenReturn(success());
+        RoutingLlmClient client = client(
+            new LlmBackendSelector.Backend<>("large", Set.of(LlmOptions.ROUTE_DEFAULT), large),
+            new LlmBackendSelector.Backend<>("small", Set.of(LlmOptions.ROUTE_DEFAULT), small)
+        );
+
+        assertInstanceOf(LlmResult.Success.class, client.generate(request(LlmOptions.defaults())));
+        assertInstanceOf(LlmResult.Success.class, client.generate(request(LlmOptions.defaults())));
+
+        // 첫 요청만 large를 거쳐 넘어가고, 이후에는 실패한 백엔드를 뒤로 미룸
+        verify(large, times(1)).generate(any());
+        verify(small, times(2)).generate(any());
+        assertEquals(1.0, meters.get("devtalk.llm.router.failovers").counter().count());
+    }
+
+    @Test
+    void caller_errors_are_not_retried_on_another_backend() {
+        when(large.generate(any())).thenReturn(LlmResult.Failure.of(LlmFailureCode.INVALID_REQUEST, "bad"));
+        RoutingLlmClient client = client(
+            new LlmBackendSelector.Backend<>("large", Set.of(LlmOptions.ROUTE_DEFAULT), large),
+            new LlmBackendSelector.Backend<>("small", Set.of(LlmOptions.ROUTE_DEFAULT), small)
+        );
+
+        LlmResult result = client.generate(request(LlmOptions.defaults()));
+
+        assertEquals(LlmFailureCode.INVALID_REQUEST, ((LlmResult.Failure) result).code());
+        verify(small, never()).generate(any());
+    }
+
+    @SafeVarargs
+    private RoutingLlmClient client(LlmBackendSelector.Backend<LlmClient>... backends) {
+        return new RoutingLlmClient(new LlmBackendSelector<>(List.of(backends), 0.0, "blocking", meters), 2);
+    }
+
+    private static LlmResult success() {
+        return LlmResult.Success.of("답변", LlmFinishReason.STOP, new LlmTokenUsage(10, 5));
+    }
+
+    private static LlmRequest request(LlmOptions options) {
+        return new LlmRequest("시스템", List.of(new LlmMessage(LlmRole.USER, "질문")), options);
+    }
+}
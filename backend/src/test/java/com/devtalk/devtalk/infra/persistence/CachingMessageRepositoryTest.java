@@ -0,0 +1,175 @@
+package com.devtalk.devtalk.infra.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.devtalk.devtalk.domain.message.Message;
+import com.devtalk.devtalk.domain.message.MessageCursor;
+import com.devtalk.devtalk.domain.message.MessageMetadata;
+import com.devtalk.devtalk.domain.message.MessagePage;
+import com.devtalk.devtalk.domain.message.MessageRepository;
+import com.devtalk.devtalk.domain.message.MessageRole;
+import com.devtalk.devtalk.domain.message.MessageStatus;
+import com.devtalk.devtalk.domain.message.PageDirection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.Test;
+
+class CachingMessageRepositoryTest {
+
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private final InMemoryRepository db = new InMemoryRepository();
+
+    @Test
+    void hot_session_is_served_from_memory_and_sees_its_own_writes() {
+        CachingMessageRepository cache = new CachingMessageRepository(db, 1_000_000, 1_000_000, 50, meters);
+        for (int i = 0; i < 10; i++) cache.save(message("s1", (i % 2 == 0) ? MessageRole.USER : MessageRole.AI, "m" + i));
+
+        assertEquals(10, cache.findAllBySessionId("s1").size());
+        int queries = db.queries;
+
+        Message question = cache.save(message("s1", MessageRole.USER, "new question"));
+        assertEquals(question, cache.findLatestSuccessUser("s1").orElseThrow());
+        assertEquals(11, cache.findAllBySessionId("s1").size());
+        MessagePage page = cache.findPage("s1", null, 4, PageDirection.OLDER);
+        assertEquals(List.of(8L, 9L, 10L, 11L), page.messages().stream().map(Message::getSeq).toList());
+        assertTrue(page.hasMore());
+        assertEquals(queries, db.queries);
+
+        cache.deleteAllBySessionId("s1");
+        assertTrue(cache.findAllBySessionId("s1").isEmpty());
+        assertEquals(0.0, meters.get("devtalk.message.cache.resident.bytes").gauge().value());
+    }
+
+    @Test
+    void evicts_least_recently_used_session_by_content_bytes() {
+        String big = "x".repeat(10_000);   // 약 20KB
+        CachingMessageRepository cache = new CachingMessageRepository(db, 50_000, 50_000, 50, meters);
+        cache.save(message("s1", MessageRole.USER, big));
+        cache.save(message("s2", MessageRole.USER, big));
+        cache.findAllBySessionId("s1");
+        cache.findAllBySessionId("s2");
+        assertEquals(0.0, meters.get("devtalk.message.cache.evictions").counter().count());
+
+        cache.save(message("s3", MessageRole.USER, big));
+        cache.findAllBySessionId("s3");
+
+        assertEquals(1.0, meters.get("devtalk.message.cache.evictions").counter().count());
+        assertTrue(meters.get("devtalk.message.cache.resident.bytes").gauge().value() <= 50_000);
+        int queries = db.queries;
+        cache.findAllBySessionId("s2");
+        assertEquals(queries, db.queries);
+        cache.findAllBySessionId("s1");
+        assertTrue(db.queries > queries);
+    }
+
+    @Test
+    void long_session_reads_older_part_from_database_without_duplicates() {
+        for (int i = 0; i < 30; i++) db.save(message("s1", (i % 2 == 0) ? MessageRole.USER : MessageRole.AI, "m" + i));
+        CachingMessageRepository cache = new CachingMessageRepository(db, 1_000_000, 1_000_000, 10, meters);
+
+        List<Long> scanned = new ArrayList<>();
+        cache.scanRecentContext("s1", 25, m -> scanned.add(m.getSeq()));
+        List<Long> expected = new ArrayList<>();
+        for (long seq = 30; seq > 5; seq--) expected.add(seq);
+        assertEquals(expected, scanned);
+
+        MessagePage older = cache.findPage("s1", new MessageCursor(15), 5, PageDirection.OLDER);
+        assertEquals(List.of(10L, 11L, 12L, 13L, 14L), older.messages().stream().map(Message::getSeq).toList());
+        assertEquals(List.of(21L, 22L), cache.findBySeqRange("s1", 20, 22).stream().map(Message::getSeq).toList());
+    }
+
+    private static Message message(String sessionId, MessageRole role, String content) {
+        return new Message(sessionId, role, content, null, MessageStatus.SUCCESS, MessageMetadata.empty());
+    }
+
+    // JdbcMessageRepository와 같은 결과를 내는 메모리 저장소 (조회 횟수 기록)
+    private static final class InMemoryRepository implements MessageRepository {
+        private final Map<String, TreeMap<Long, Message>> sessions = new HashMap<>();
+        private int queries = 0;
+
+        private TreeMap<Long, Message> rows(String sessionId) {
+            return sessions.computeIfAbsent(sessionId, k -> new TreeMap<>());
+        }
+
+        @Override
+        public Message save(Message message) {
+            TreeMap<Long, Message> rows = rows(message.getSessionId());
+            message.assignSeq(rows.isEmpty() ? 1 : rows.lastKey() + 1);
+            rows.put(message.getSeq(), message);
+            return message;
+        }
+
+        @Override
+        public List<Message> findAllBySessionId(String sessionId) {
+            queries++;
+            return new ArrayList<>(rows(sessionId).values());
+        }
+
+        @Override
+        public MessagePage findPage(String sessionId, MessageCursor afterCursor, int limit, PageDirection direction) {
+            queries++;
+            TreeMap<Long, Message> rows = rows(sessionId);
+            List<Message> candidates;
+            if (direction == PageDirection.OLDER) {
+                candidates = new ArrayList<>((afterCursor == null ? rows : rows.headMap(afterCursor.seq(), false)).descendingMap().values());
+            } else {
+                candidates = new ArrayList<>((afterCursor == null ? rows : rows.tailMap(afterCursor.seq(), false)).values());
+            }
+            boolean hasMore = candidates.size() > limit;
+            List<Message> page = new ArrayList<>(candidates.subList(0, Math.min(limit, candidates.size())));
+            return MessagePage.of(direction == PageDirection.OLDER ? page.reversed() : page, direction, hasMore);
+        }
+
+        @Override
+        public Optional<Message> findLatestSuccessUser(String sessionId) {
+            queries++;
+            return rows(sessionId).descendingMap().values().stream()
+                .filter(m -> m.getRole() == MessageRole.USER && m.getStatus() == MessageStatus.SUCCESS)
+                .findFirst();
+        }
+
+        @Override
+        public List<Message> findBySeqRange(String sessionId, long afterSeq, long upToSeq) {
+            queries++;
+            return new ArrayList<>(rows(sessionId).subMap(afterSeq, false, upToSeq, true).values());
+        }
+
+        @Override
+        public long findSeqBeforeLatest(String sessionId, int skipLatest) {
+            queries++;
+            return rows(sessionId).descendingKeySet().stream().skip(skipLatest).findFirst().orElse(0L);
+        }
+
+        @Override
+        public Optional<Message> findUserById(String sessionId, String messageId) {
+            queries++;
+            return rows(sessionId).values().stream()
+                .filter(m -> m.getMessageId().equals(messageId) && m.getRole() == MessageRole.USER)
+                .findFirst();
+        }
+
+        @Override
+        public void scanRecentContext(String sessionId, int maxRows, Predicate<Message> visitor) {
+            queries++;
+            int returned = 0;
+            for (Message m : rows(sessionId).descendingMap().values()) {
+                if (returned >= maxRows) return;
+                if (m.getStatus() != MessageStatus.SUCCESS || m.getRole() == MessageRole.SYSTEM) continue;
+                returned++;
+                if (!visitor.test(m)) return;
+            }
+        }
+
+        @Override
+        public void deleteAllBySessionId(String sessionId) {
+            sessions.remove(sessionId);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.devtalk.devtalk.infra.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.devtalk.devtalk.domain.message.MessageCursor;
+import com.devtalk.devtalk.domain.message.MessagePage;
+import com.devtalk.devtalk.domain.message.MessageRole;
+import com.devtalk.devtalk.domain.message.MessageStatus;
+import com.devtalk.devtalk.domain.message.PageDirection;
+import com.devtalk.devtalk.domain.session.Session;
+import com.devtalk.devtalk.domain.session.SessionRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+// 실행: ./gradlew test --tests '*JdbcMessageRepositoryPageBenchmarkTest' -Ddevtalk.bench=true (MySQL 필요)
+// 세션 길이가 늘어나도 페이지 1개 조회 시간은 일정해야 한다. (findAllBySessionId는 비교용)
+@SpringBootTest
+@ActiveProfiles("test")
+class JdbcMessageRepositoryPageBenchmarkTest {
+
+    private static final int PAGE_SIZE = 50;
+    private static final int CONTENT_BYTES = 4096;
+    private static final int ROUNDS = 30;
+
+    @Autowired
+    private JdbcMessageRepository messageRepository;
+    @Autowired
+    private SessionRepository sessionRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void page_latency_stays_flat_as_session_grows() {
+        Assumptions.assumeTrue(Boolean.getBoolean("devtalk.bench"));
+
+        int[] sizes = {500, 5_000, 20_000};
+        long[] pageP50 = new long[sizes.length];
+
+        for (int s = 0; s < sizes.length; s++) {
+            String sessionId = seedSession(sizes[s]);
+
+            // 세션 중간 지점에서 위로 스크롤하는 상황
+            MessagePage latest = messageRepository.findPage(sessionId, null, sizes[s] / 2, PageDirection.OLDER);
+            MessageCursor middle = latest.nextCursor();
+
+            long[] page = new long[ROUNDS];
+            for (int i = 0; i < ROUNDS; i++) {
+                long start = System.nanoTime();
+                MessagePage p = messageRepository.findPage(sessionId, middle, PAGE_SIZE, PageDirection.OLDER);
+                page[i] = System.nanoTime() - start;
+                assertEquals(PAGE_SIZE, p.messages().size());
+            }
+            Arrays.sort(page);
+            pageP50[s] = page[ROUNDS / 2];
+
+            long fullStart = System.nanoTime();
+            int all = messageRepository.findAllBySessionId(sessionId).size();
+            long full = System.nanoTime() - fullStart;
+
+            System.out.printf("messages=%6d page.p50=%8dus page.p90=%8dus findAll=%9dus%n",
+                all, pageP50[s] / 1000, page[ROUNDS * 9 / 10] / 1000, full / 1000);
+
+            sessionRepository.deleteById(sessionId);
+        }
+
+        // 40배 긴 세션에서도 페이지 조회는 같은 자릿수
+        assertTrue(pageP50[sizes.length - 1] < pageP50[0] * 5);
+    }
+
+    private String seedSession(int messages) {
+        Session session = sessionRepository.save(new Session("page-bench"));
+        String sessionId = session.getSessionId();
+        String content = "x".repeat(CONTENT_BYTES);
+        LocalDateTime base = LocalDateTime.now().minusDays(1);
+
+        List<Object[]> rows = new ArrayList<>(messages);
+        for (int i = 0; i < messages; i++) {
+            MessageRole role = (i % 2 == 0) ? MessageRole.USER : MessageRole.AI;
+            rows.add(new Object[]{
+                UUID.randomUUID().toString(), sessionId, i + 1L, role.name(), content, MessageStatus.SUCCESS.name(), base.plusNanos(i * 1000L)
+            });
+        }
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO message (message_id, session_id, seq, role, content, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)",
+            rows
+        );
+        jdbcTemplate.update("UPDATE session SET last_message_seq = ? WHERE session_id = ?", messages, sessionId);
+        return sessionId;
+    }
+}
@@ -0,0 +1,131 @@
+package com.devtalk.devtalk.infra.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.devtalk.devtalk.domain.session.Session;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+// 실행: ./gradlew test --tests '*JdbcSessionRepositoryRoundTripBenchmarkTest' -Ddevtalk.bench=true (MySQL 필요)
+// 세션 저장/존재 확인 1회당 DB 왕복 수와 지연을 이전 방식(COUNT(*) 후 UPDATE/INSERT)과 비교
+@SpringBootTest
+@ActiveProfiles("test")
+class JdbcSessionRepositoryRoundTripBenchmarkTest {
+
+    private static final int ROUNDS = 500;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void save_and_exists_take_one_round_trip() {
+        Assumptions.assumeTrue(Boolean.getBoolean("devtalk.bench"));
+
+        AtomicInteger statements = new AtomicInteger();
+        JdbcTemplate counted = new JdbcTemplate(new CountingDataSource(dataSource, statements));
+        JdbcSessionRepository repository = new JdbcSessionRepository(counted);
+
+        // 이전 방식
+        Session legacy = new Session("round-trip-legacy");
+        statements.set(0);
+        long legacyStart = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            legacySave(counted, legacy);
+            legacyExists(counted, legacy.getSessionId());
+        }
+        long legacyNanos = System.nanoTime() - legacyStart;
+        double legacyTrips = statements.get() / (double) ROUNDS;
+
+        // 현재 방식
+        Session current = repository.save(new Session("round-trip-current"));
+        statements.set(0);
+        long currentStart = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            current.updateTitle("round-trip-" + i);
+            repository.save(current);
+            repository.existsById(current.getSessionId());
+        }
+        long currentNanos = System.nanoTime() - currentStart;
+        double currentTrips = statements.get() / (double) ROUNDS;
+
+        System.out.printf("legacy : %.1f round trips/request  %6dus/request%n", legacyTrips, legacyNanos / ROUNDS / 1000);
+        System.out.printf("current: %.1f round trips/request  %6dus/request%n", currentTrips, currentNanos / ROUNDS / 1000);
+
+        assertEquals(3.0, legacyTrips);
+        assertEquals(2.0, currentTrips);
+
+        // 낡은 version으로 저장하면 덮어쓰지 않고 충돌
+        Session stale = repository.findById(current.getSessionId()).orElseThrow();
+        current.updateTitle("winner");
+        repository.save(current);
+        stale.updateTitle("loser");
+        assertThrows(OptimisticLockingFailureException.class, () -> repository.save(stale));
+        assertEquals("winner", repository.findById(current.getSessionId()).orElseThrow().getTitle());
+
+        repository.deleteById(legacy.getSessionId());
+        repository.deleteById(current.getSessionId());
+        assertFalse(repository.existsById(current.getSessionId()));
+    }
+
+    // 기존 JdbcSessionRepository.save
+    private static void legacySave(JdbcTemplate jdbcTemplate, Session session) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM session WHERE session_id = ?", Integer.class, session.getSessionId());
+        if (count != null && count > 0) {
+            jdbcTemplate.update("UPDATE session SET title = ?, status = ?, description = ?, ai_summary = ?, last_updated_at = ? WHERE session_id = ?",
+                session.getTitle(), session.getStatus().name(), session.getDescription(), session.getAiSummary(), session.getLastUpdatedAt(), session.getSessionId());
+            return;
+        }
+        jdbcTemplate.update("INSERT INTO session (session_id, title, status, description, ai_summary, last_summarized_seq, created_at, last_updated_at) VALUES(?, ?, ?, ?, ?, ?, ?, ?)",
+            session.getSessionId(), session.getTitle(), session.getStatus().name(), session.getDescription(), session.getAiSummary(), 0, session.getCreatedAt(), session.getLastUpdatedAt());
+    }
+
+    // 기존 JdbcSessionRepository.existsById
+    private static boolean legacyExists(JdbcTemplate jdbcTemplate, String sessionId) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM session WHERE session_id = ?", Integer.class, sessionId);
+        return count != null && count > 0;
+    }
+
+    // 커넥션에서 만든 Statement 수 = DB 왕복 수 (autocommit, 배치 없음 기준)
+    private static final class CountingDataSource extends DelegatingDataSource {
+
+        private final AtomicInteger statements;
+
+        CountingDataSource(DataSource target, AtomicInteger statements) {
+            super(target);
+            this.statements = statements;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection target = super.getConnection();
+            return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.equals("prepareStatement") || name.equals("createStatement") || name.equals("prepareCall")) {
+                        statements.incrementAndGet();
+                    }
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+        }
+    }
+}
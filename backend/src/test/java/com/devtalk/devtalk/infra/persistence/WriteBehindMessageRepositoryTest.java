@@ -0,0 +1,64 @@
+package com.devtalk.devtalk.infra.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.devtalk.devtalk.domain.message.Message;
+import com.devtalk.devtalk.domain.message.MessageMetadata;
+import com.devtalk.devtalk.domain.message.MessageRole;
+import com.devtalk.devtalk.domain.message.MessageStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class WriteBehindMessageRepositoryTest {
+
+    // message_id -> session_id (커밋된 행)
+    private final Map<String, String> committed = new ConcurrentHashMap<>();
+    private final JdbcMessageRepository jdbc = mock(JdbcMessageRepository.class);
+
+    @Test
+    void delete_racing_the_flusher_never_resurrects_queued_rows() {
+        AtomicLong seq = new AtomicLong();
+        when(jdbc.reserveSeqs(anyString(), anyInt())).thenAnswer(inv -> seq.addAndGet(inv.<Integer>getArgument(1)));
+        doAnswer(inv -> {
+            List<Message> batch = inv.getArgument(0);
+            for (Message m : batch) committed.put(m.getMessageId(), m.getSessionId());
+            return null;
+        }).when(jdbc).insertBatch(anyList());
+        doAnswer(inv -> {
+            String sessionId = inv.getArgument(0);
+            committed.values().removeIf(sessionId::equals);
+            return null;
+        }).when(jdbc).deleteAllBySessionId(anyString());
+
+        // batch 1건, 1ms 간격: 플러셔가 계속 꺼내고 쓰는 동안 삭제가 끼어들도록
+        WriteBehindMessageRepository repository =
+            new WriteBehindMessageRepository(jdbc, 1000, 1, Duration.ofMillis(1), 16, new SimpleMeterRegistry());
+        try {
+            for (int i = 0; i < 500; i++) {
+                String sessionId = "s" + i;
+                for (int j = 0; j < 3; j++) repository.save(message(sessionId, "m" + j));
+                repository.deleteAllBySessionId(sessionId);
+            }
+        } finally {
+            repository.close();
+        }
+
+        // 삭제 전에 저장한 행은 꺼낸 뒤 기록 중이었더라도 모두 지워져 있어야 함
+        assertEquals(Map.of(), committed);
+    }
+
+    private static Message message(String sessionId, String content) {
+        return new Message(sessionId, MessageRole.USER, content, null, MessageStatus.SUCCESS, MessageMetadata.empty());
+    }
+}
@@ -0,0 +1,93 @@
+package com.devtalk.devtalk.service.llm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.devtalk.devtalk.domain.llm.LlmFinishReason;
+import com.devtalk.devtalk.domain.llm.LlmStreamClient;
+import com.devtalk.devtalk.domain.llm.LlmStreamEvent;
+import com.devtalk.devtalk.domain.llm.LlmTokenUsage;
+import com.devtalk.devtalk.domain.message.Message;
+import com.devtalk.devtalk.domain.message.MessageMetadata;
+import com.devtalk.devtalk.domain.message.MessageRepository;
+import com.devtalk.devtalk.domain.message.MessageRole;
+import com.devtalk.devtalk.domain.message.MessageStatus;
+import com.devtalk.devtalk.service.llm.context.ContextSnapshot;
+import com.devtalk.devtalk.service.llm.context.ContextSnapshotService;
+import com.devtalk.devtalk.service.llm.context.LlmPromptComposer;
+import com.devtalk.devtalk.service.llm.context.SummaryScheduler;
+import com.devtalk.devtalk.service.llm.stream.DeltaCoalescerFactory;
+import com.devtalk.devtalk.service.llm.stream.GenerationCancelPolicy;
+import com.devtalk.devtalk.service.llm.stream.GenerationReplayRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.publisher.Flux;
+
+class AiStreamServiceTest {
+
+    private static final String SESSION = "session-1";
+
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private final MessageRepository messageRepository = mock(MessageRepository.class);
+    private final LlmStreamClient llmStreamClient = mock(LlmStreamClient.class);
+    private final ContextSnapshotService contextSnapshotService = mock(ContextSnapshotService.class);
+    private final SessionGenerationGuard guard = new SessionGenerationGuard(meters);
+    private final GenerationReplayRegistry registry = new GenerationReplayRegistry(Duration.ofMinutes(1), 1_000_000, 100, meters);
+
+    private final AiStreamService service = new AiStreamService(
+        messageRepository,
+        llmStreamClient,
+        contextSnapshotService,
+        mock(SummaryScheduler.class),
+        new LlmPromptComposer(),
+        new SyncTaskExecutor(),
+        new DeltaCoalescerFactory(0, 0, meters),
+        registry,
+        GenerationCancelPolicy.finish(meters),
+        guard
+    );
+
+    @AfterEach
+    void tearDown() {
+        registry.close();
+    }
+
+    @Test
+    void failed_ai_save_terminates_generation_and_releases_the_session() {
+        Message user = new Message(SESSION, MessageRole.USER, "질문", null, MessageStatus.SUCCESS, MessageMetadata.empty());
+        when(messageRepository.findLatestSuccessUser(SESSION)).thenReturn(Optional.of(user));
+        when(messageRepository.findUserById(SESSION, user.getMessageId())).thenReturn(Optional.of(user));
+        when(messageRepository.save(any())).thenThrow(new DataAccessResourceFailureException("db down"));
+        when(contextSnapshotService.get(eq(SESSION), any())).thenReturn(new ContextSnapshot(
+            SESSION, user, List.of(), 0, "", 0, new LlmPromptComposer.ComposedPrompt("", List.of())));
+        when(llmStreamClient.stream(any())).thenAnswer(inv -> Flux.just(
+            LlmStreamEvent.delta("답변"),
+            LlmStreamEvent.finish(LlmFinishReason.STOP, new LlmTokenUsage(10, 5))
+        ));
+
+        service.streamAi(SESSION, null, false, null, new SseEmitter());
+
+        // 저장 실패 -> 버퍼가 error로 끝나고 종료 훅이 single-flight를 해제
+        assertTrue(guard.runningStream(SESSION).isEmpty());
+        assertFalse(registry.findJoinable(SESSION, user.getMessageId()).isPresent());
+
+        // 다음 요청은 409 없이 새 생성을 시작
+        service.streamAi(SESSION, user.getMessageId(), false, null, new SseEmitter());
+        verify(llmStreamClient, times(2)).stream(any());
+        assertEquals(0.0, meters.get("devtalk.ai.singleflight.rejected").counter().count());
+    }
+}
@@ -0,0 +1,85 @@
+package com.devtalk.devtalk.service.llm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.devtalk.devtalk.service.llm.stream.GenerationReplayBuffer;
+import com.devtalk.devtalk.service.llm.stream.GenerationReplayRegistry;
+import com.devtalk.devtalk.service.llm.stream.StreamChunk;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+class SessionGenerationGuardTest {
+
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private final SessionGenerationGuard guard = new SessionGenerationGuard(meters);
+
+    @Test
+    void duplicate_blocking_request_joins_in_flight_result() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        Object answer = new Object();
+
+        CompletableFuture<Object> first = CompletableFuture.supplyAsync(() -> guard.runBlocking("session-1", () -> {
+            calls.incrementAndGet();
+            started.countDown();
+            await(release);
+            return answer;
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Object> second = CompletableFuture.supplyAsync(() -> guard.runBlocking("session-1", () -> {
+            calls.incrementAndGet();
+            return new Object();
+        }));
+
+        // 두 번째 요청이 합류한 뒤에 첫 생성을 끝냄
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meters.get("devtalk.ai.singleflight.joined").counter().count() < 1 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertSame(answer, first.get(5, TimeUnit.SECONDS));
+        assertSame(answer, second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void blocking_and_streaming_exclude_each_other_until_stream_terminates() {
+        try (GenerationReplayRegistry registry =
+                 new GenerationReplayRegistry(Duration.ofMinutes(1), 1_000_000, 100, new SimpleMeterRegistry())) {
+            GenerationReplayBuffer stream = registry.openOrJoin("session-1", "user-1").buffer();
+            assertTrue(guard.tryStartStream("session-1", stream));
+            stream.onTermination(() -> guard.finishStream("session-1", stream));
+
+            ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> guard.runBlocking("session-1", Object::new));
+            assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+            assertFalse(guard.tryStartStream("session-1", registry.openOrJoin("session-1", "user-2").buffer()));
+
+            stream.complete(StreamChunk.DONE, "{}");
+            assertTrue(guard.runningStream("session-1").isEmpty());
+            guard.runBlocking("session-1", Object::new);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.devtalk.devtalk.service.llm.context;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.devtalk.devtalk.domain.llm.context.RecentTailSelector;
+import com.devtalk.devtalk.domain.llm.context.SessionSummaryStore;
+import com.devtalk.devtalk.domain.llm.context.SummaryState;
+import com.devtalk.devtalk.domain.llm.context.TailSelectorPolicy;
+import com.devtalk.devtalk.domain.message.Message;
+import com.devtalk.devtalk.domain.message.MessageMetadata;
+import com.devtalk.devtalk.domain.message.MessageRepository;
+import com.devtalk.devtalk.domain.message.MessageRole;
+import com.devtalk.devtalk.domain.message.MessageStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.Test;
+
+class ContextSnapshotServiceTest {
+
+    private static final String SESSION = "session-1";
+
+    private final List<Message> history = new ArrayList<>();
+    private final MessageRepository repository = mock(MessageRepository.class);
+    private final SessionSummaryStore summaryStore = mock(SessionSummaryStore.class);
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private final RecentTailSelector tailSelector = new RecentTailSelector(new TailSelectorPolicy(6, 400), repository);
+    private final ContextSnapshotService service =
+        new ContextSnapshotService(repository, tailSelector, summaryStore, new LlmPromptComposer(), 100, meters);
+
+    ContextSnapshotServiceTest() {
+        when(repository.findSeqBeforeLatest(anyString(), anyInt()))
+            .thenAnswer(inv -> history.isEmpty() ? 0L : history.get(history.size() - 1).getSeq());
+        when(repository.findBySeqRange(anyString(), anyLong(), anyLong())).thenAnswer(inv -> {
+            long after = inv.getArgument(1);
+            long upTo = inv.getArgument(2);
+            return history.stream().filter(m -> m.getSeq() > after && m.getSeq() <= upTo).toList();
+        });
+        doAnswer(inv -> {
+            int maxRows = inv.getArgument(1);
+            Predicate<Message> visitor = inv.getArgument(2);
+            int returned = 0;
+            for (int i = history.size() - 1; i >= 0 && returned < maxRows; i--) {
+                Message m = history.get(i);
+                if (m.getStatus() != MessageStatus.SUCCESS || m.getRole() == MessageRole.SYSTEM) continue;
+                returned++;
+                if (!visitor.test(m)) break;
+            }
+            return null;
+        }).when(repository).scanRecentContext(anyString(), anyInt(), any());
+        when(summaryStore.getState(SESSION)).thenReturn(new SummaryState("요약", 0));
+    }
+
+    @Test
+    void appended_messages_update_snapshot_incrementally_with_same_tail_as_full_selection() {
+        for (int i = 0; i < 20; i++) append(i % 2 == 0 ? MessageRole.USER : MessageRole.AI, MessageStatus.SUCCESS, "내용 " + i);
+        Message user = append(MessageRole.USER, MessageStatus.SUCCESS, "질문 1");
+
+        ContextSnapshot first = service.get(SESSION, user);
+        assertSame(first, service.get(SESSION, user));   // 재시도/이어쓰기: 그대로 재사용
+
+        for (int round = 2; round <= 4; round++) {
+            append(MessageRole.AI, MessageStatus.SUCCESS, "답변 ".repeat(round * 10));
+            append(MessageRole.SYSTEM, MessageStatus.FAILED, "요약 실패");
+            user = append(MessageRole.USER, MessageStatus.SUCCESS, "질문 " + round);
+
+            ContextSnapshot snapshot = service.get(SESSION, user);
+            assertEquals(tailSelector.selectTail(SESSION, user), snapshot.tail());
+        }
+
+        assertEquals(1.0, meters.get("devtalk.context.snapshot.rebuilds").counter().count());
+        assertEquals(3.0, meters.get("devtalk.context.snapshot.incremental").counter().count());
+        assertEquals(1.0, meters.get("devtalk.context.snapshot.hits").counter().count());
+    }
+
+    @Test
+    void summary_change_recomposes_prompt_without_reselecting_tail() {
+        Message user = append(MessageRole.USER, MessageStatus.SUCCESS, "질문");
+        ContextSnapshot before = service.get(SESSION, user);
+
+        when(summaryStore.getState(SESSION)).thenReturn(new SummaryState("새 요약", 1));
+        ContextSnapshot after = service.get(SESSION, user);
+
+        assertSame(before.tail(), after.tail());
+        assertEquals("[SUMMARY]\n새 요약", after.prompt().systemPrompt());
+        assertEquals(1.0, meters.get("devtalk.context.snapshot.summary-refreshes").counter().count());
+    }
+
+    private Message append(MessageRole role, MessageStatus status, String content) {
+        Message m = new Message(SESSION, role, content, null, status, MessageMetadata.empty());
+        m.assignSeq(history.size() + 1);
+        history.add(m);
+        return m;
+    }
+}
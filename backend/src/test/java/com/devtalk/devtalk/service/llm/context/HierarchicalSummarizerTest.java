@@ -0,0 +1,115 @@
+package com.devtalk.devtalk.service.llm.context;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.devtalk.devtalk.domain.llm.LlmClient;
+import com.devtalk.devtalk.domain.llm.LlmFinishReason;
+import com.devtalk.devtalk.domain.llm.LlmRequest;
+import com.devtalk.devtalk.domain.llm.LlmResult;
+import com.devtalk.devtalk.domain.llm.context.HierarchicalSummaryPolicy;
+import com.devtalk.devtalk.domain.llm.context.SummaryChunk;
+import com.devtalk.devtalk.domain.llm.context.SummaryChunkStore;
+import com.devtalk.devtalk.domain.message.Message;
+import com.devtalk.devtalk.domain.message.MessageMetadata;
+import com.devtalk.devtalk.domain.message.MessageRepository;
+import com.devtalk.devtalk.domain.message.MessageRole;
+import com.devtalk.devtalk.domain.message.MessageStatus;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+class HierarchicalSummarizerTest {
+
+    private static final String SESSION = "session-1";
+
+    private final List<Message> history = new ArrayList<>();
+    private final List<SummaryChunk> chunks = new CopyOnWriteArrayList<>();
+    private final AtomicInteger llmCalls = new AtomicInteger();
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    private final HierarchicalSummarizer summarizer;
+
+    HierarchicalSummarizerTest() {
+        MessageRepository repository = mock(MessageRepository.class);
+        when(repository.findBySeqRange(anyString(), anyLong(), anyLong())).thenAnswer(inv -> {
+            long after = inv.getArgument(1);
+            long upTo = inv.getArgument(2);
+            return history.stream().filter(m -> m.getSeq() > after && m.getSeq() <= upTo).toList();
+        });
+
+        LlmClient llmClient = mock(LlmClient.class);
+        when(llmClient.generate(any(LlmRequest.class))).thenAnswer(inv -> {
+            llmCalls.incrementAndGet();
+            LlmRequest req = inv.getArgument(0);
+            return LlmResult.Success.of("요약(" + req.messages().size() + ")", LlmFinishReason.STOP, null);
+        });
+
+        SummaryChunkStore store = new SummaryChunkStore() {
+            @Override
+            public List<SummaryChunk> findBySessionId(String sessionId) {
+                return List.copyOf(chunks);
+            }
+
+            @Override
+            public void save(SummaryChunk chunk) {
+                chunks.add(chunk);
+            }
+        };
+
+        executor.setCorePoolSize(2);
+        executor.initialize();
+        summarizer = new HierarchicalSummarizer(repository, llmClient, store,
+            new HierarchicalSummaryPolicy(true, 2, 2, 2), 1000, executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        summarizer.close();
+    }
+
+    @Test
+    void full_chunks_become_leaves_and_merge_by_fanout() {
+        for (int i = 0; i < 9; i++) append(i % 2 == 0 ? MessageRole.USER : MessageRole.AI, "내용 " + i);
+
+        summarizer.summarize(SESSION, 9);
+
+        // leaf 4개 (메시지 8개) -> level 1 노드 2개 -> level 2 노드 1개, 남은 메시지 1개와 최종 합성 1회
+        assertEquals(4, chunks.stream().filter(c -> c.level() == 0).count());
+        assertEquals(2, chunks.stream().filter(c -> c.level() == 1).count());
+        assertEquals(1, chunks.stream().filter(c -> c.level() == 2).count());
+        assertEquals(4 + 2 + 1 + 1, llmCalls.get());
+    }
+
+    @Test
+    void next_update_only_summarizes_new_chunks() {
+        for (int i = 0; i < 4; i++) append(i % 2 == 0 ? MessageRole.USER : MessageRole.AI, "내용 " + i);
+        summarizer.summarize(SESSION, 4);
+        int before = llmCalls.get();
+
+        append(MessageRole.USER, "질문");
+        append(MessageRole.SYSTEM, "요약 실패");   // 요약 대상 아님
+        append(MessageRole.AI, "답변");
+        summarizer.summarize(SESSION, 7);
+
+        // 새 leaf 1개 + 최종 합성 1회 (기존 leaf/상위 노드는 다시 요약하지 않음)
+        assertEquals(2, llmCalls.get() - before);
+        SummaryChunk newest = chunks.get(chunks.size() - 1);
+        assertEquals(4, newest.fromSeq());
+        assertEquals(7, newest.toSeq());
+    }
+
+    private void append(MessageRole role, String content) {
+        MessageStatus status = (role == MessageRole.SYSTEM) ? MessageStatus.FAILED : MessageStatus.SUCCESS;
+        Message m = new Message(SESSION, role, content, null, status, MessageMetadata.empty());
+        m.assignSeq(history.size() + 1);
+        history.add(m);
+    }
+}
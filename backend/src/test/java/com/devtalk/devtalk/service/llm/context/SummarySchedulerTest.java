@@ -0,0 +1,56 @@
+package com.devtalk.devtalk.service.llm.context;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+class SummarySchedulerTest {
+
+    @Test
+    void requests_during_a_run_collapse_into_one_rerun() throws Exception {
+        SessionSummaryService summaryService = mock(SessionSummaryService.class);
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch secondDone = new CountDownLatch(2);
+        AtomicInteger runs = new AtomicInteger();
+        doAnswer(inv -> {
+            if (runs.incrementAndGet() == 1) {
+                firstStarted.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            secondDone.countDown();
+            return null;
+        }).when(summaryService).updateIfNeeded(anyString());
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.initialize();
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+
+        try (SummaryScheduler scheduler = new SummaryScheduler(summaryService, executor, meters)) {
+            scheduler.request("session-1");
+            assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+
+            // 실행 중에 들어온 요청은 몇 번이든 재실행 1회로 합쳐짐
+            for (int i = 0; i < 5; i++) scheduler.request("session-1");
+            release.countDown();
+
+            assertTrue(secondDone.await(5, TimeUnit.SECONDS));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (meters.get("devtalk.summary.async.pending").gauge().value() > 0 && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            assertEquals(2, runs.get());
+            assertEquals(5.0, meters.get("devtalk.summary.async.coalesced").counter().count());
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.devtalk.devtalk.service.llm.stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class GenerationReplayRegistryTest {
+
+    private GenerationReplayRegistry registry;
+
+    @AfterEach
+    void tearDown() {
+        if (registry != null) registry.close();
+    }
+
+    @Test
+    void resume_replays_only_missing_deltas_then_done() {
+        registry = new GenerationReplayRegistry(Duration.ofMinutes(1), 1_000_000, 100, new SimpleMeterRegistry());
+        GenerationReplayBuffer buffer = registry.openOrJoin("session-1", "user-1").buffer();
+
+        for (int i = 1; i <= 5; i++) buffer.appendDelta("d" + i);
+        buffer.complete(StreamChunk.DONE, "{}");
+
+        List<StreamChunk> resumed = registry.find("session-1", buffer.generationId())
+            .orElseThrow()
+            .subscribe(3)
+            .collectList()
+            .block();
+
+        assertEquals(List.of(
+            StreamChunk.delta(4, "d4"),
+            StreamChunk.delta(5, "d5"),
+            StreamChunk.terminal(StreamChunk.DONE, "{}")
+        ), resumed);
+    }
+
+    @Test
+    void live_subscriber_receives_deltas_appended_after_attach() throws Exception {
+        registry = new GenerationReplayRegistry(Duration.ofMinutes(1), 1_000_000, 100, new SimpleMeterRegistry());
+        GenerationReplayBuffer buffer = registry.openOrJoin("session-1", "user-1").buffer();
+        buffer.appendDelta("a");
+
+        // 전달은 구독자별 스레드에서 일어나므로 완료까지 기다려서 확인
+        CompletableFuture<List<StreamChunk>> received = buffer.subscribe(0).collectList().toFuture();
+
+        buffer.appendDelta("b");
+        buffer.complete(StreamChunk.DONE, "{}");
+
+        assertEquals(List.of("a", "b", "{}"), received.get(5, TimeUnit.SECONDS).stream().map(StreamChunk::data).toList());
+    }
+
+    @Test
+    void slow_subscriber_does_not_block_generation_or_other_subscribers() throws Exception {
+        registry = new GenerationReplayRegistry(Duration.ofMinutes(1), 1_000_000, 100, new SimpleMeterRegistry());
+        GenerationReplayBuffer buffer = registry.openOrJoin("session-1", "user-1").buffer();
+
+        CountDownLatch release = new CountDownLatch(1);
+        var slow = buffer.subscribe(0).subscribe(chunk -> {
+            try { release.await(); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+        });
+        CompletableFuture<List<StreamChunk>> fast = buffer.subscribe(0).collectList().toFuture();
+
+        // 느린 구독자가 막혀 있어도 생성 쪽 append/complete는 바로 반환
+        buffer.appendDelta("a");
+        buffer.appendDelta("b");
+        buffer.complete(StreamChunk.DONE, "{}");
+
+        assertEquals(3, fast.get(5, TimeUnit.SECONDS).size());
+        release.countDown();
+        slow.dispose();
+    }
+
+    @Test
+    void other_session_cannot_attach_and_trimmed_history_reports_gap() {
+        registry = new GenerationReplayRegistry(Duration.ofMinutes(1), 1_000_000, 2, new SimpleMeterRegistry());
+        GenerationReplayBuffer buffer = registry.openOrJoin("session-1", "user-1").buffer();
+        for (int i = 1; i <= 5; i++) buffer.appendDelta("d" + i);
+
+        assertTrue(registry.find("session-2", buffer.generationId()).isEmpty());
+
+        StreamChunk first = buffer.subscribe(1).blockFirst();
+        assertEquals(StreamChunk.terminal(StreamChunk.ERROR, "resume_gap"), first);
+    }
+
+    @Test
+    void late_joiner_gets_accumulated_text_when_early_deltas_were_trimmed() {
+        registry = new GenerationReplayRegistry(Duration.ofMinutes(1), 1_000_000, 2, new SimpleMeterRegistry());
+        GenerationReplayBuffer buffer = registry.openOrJoin("session-1", "user-1").buffer();
+        for (int i = 1; i <= 5; i++) buffer.appendDelta("d" + i);
+        buffer.complete(StreamChunk.DONE, "{}");
+
+        List<StreamChunk> joined = buffer.subscribe(0).collectList().block();
+
+        assertEquals(List.of(
+            StreamChunk.delta(5, "d1d2d3d4d5"),
+            StreamChunk.terminal(StreamChunk.DONE, "{}")
+        ), joined);
+    }
+
+    @Test
+    void same_question_joins_running_generation_and_failed_one_is_retried() {
+        registry = new GenerationReplayRegistry(Duration.ofMinutes(1), 1_000_000, 100, new SimpleMeterRegistry());
+
+        GenerationReplayRegistry.Attachment first = registry.openOrJoin("session-1", "user-1");
+        GenerationReplayRegistry.Attachment second = registry.openOrJoin("session-1", "user-1");
+
+        assertTrue(first.owner());
+        assertFalse(second.owner());
+        assertSame(first.buffer(), second.buffer());
+        assertSame(first.buffer(), registry.findJoinable("session-1", "user-1").orElseThrow());
+
+        first.buffer().complete(StreamChunk.ERROR, "llm_stream_failed");
+
+        GenerationReplayRegistry.Attachment retry = registry.openOrJoin("session-1", "user-1");
+        assertTrue(retry.owner());
+        assertNotSame(first.buffer(), retry.buffer());
+    }
+
+    @Test
+    void last_subscriber_leaving_cancels_upstream_under_cancel_policy() {
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        GenerationCancelPolicy policy = new GenerationCancelPolicy(GenerationCancelPolicy.Mode.CANCEL, Duration.ZERO, meters);
+        registry = new GenerationReplayRegistry(Duration.ofMinutes(1), 1_000_000, 100, policy, meters);
+
+        GenerationReplayBuffer buffer = registry.openOrJoin("session-1", "user-1").buffer();
+        AtomicBoolean upstreamDisposed = new AtomicBoolean();
+        buffer.bindUpstream(() -> upstreamDisposed.set(true));
+
+        var tab1 = buffer.subscribe(0).subscribe();
+        var tab2 = buffer.subscribe(0).subscribe();
+        buffer.appendDelta("a");
+
+        tab1.dispose();
+        assertFalse(upstreamDisposed.get());   // 아직 보고 있는 연결이 있음
+
+        tab2.dispose();
+        assertTrue(upstreamDisposed.get());
+        assertTrue(buffer.isCancelled());
+        assertEquals(1, meters.get("devtalk.stream.generation.cancelled").counter().count());
+
+        // 취소된 생성에는 붙지 않고 새로 생성
+        assertTrue(registry.openOrJoin("session-1", "user-1").owner());
+    }
+
+    @Test
+    void byte_budget_evicts_completed_generations_first() {
+        registry = new GenerationReplayRegistry(Duration.ofMinutes(1), 400, 100, new SimpleMeterRegistry());
+        GenerationReplayBuffer done = registry.openOrJoin("session-1", "user-1").buffer();
+        done.appendDelta("x".repeat(60));
+        done.complete(StreamChunk.DONE, "{}");
+
+        GenerationReplayBuffer running = registry.openOrJoin("session-1", "user-2").buffer();
+        running.appendDelta("y".repeat(60));
+        running.appendDelta("y".repeat(60));
+
+        assertTrue(registry.find("session-1", done.generationId()).isEmpty());
+        assertTrue(registry.find("session-1", running.generationId()).isPresent());
+    }
+}